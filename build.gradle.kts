@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.10"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.college"
@@ -76,6 +77,59 @@ tasks.register<JavaExec>("importGrievanceVectors") {
 	project.findProperty("grievanceImportReplaceExisting")?.toString()?.takeIf { it.isNotBlank() }?.let {
 		systemProperty("grievanceImportReplaceExisting", it)
 	}
+	project.findProperty("grievanceImportParallelism")?.toString()?.takeIf { it.isNotBlank() }?.let {
+		systemProperty("grievanceImportParallelism", it)
+	}
+}
+
+jmh {
+	includes.add("RetrieveSimilarBenchmark")
+	resultFormat.set("JSON")
+	project.findProperty("grievanceBenchmarkFile")?.toString()?.takeIf { it.isNotBlank() }?.let {
+		jvmArgsAppend.add("-DgrievanceBenchmarkFile=${file(it).absolutePath}")
+	}
+}
+
+tasks.register<JavaExec>("benchmarkGrievanceVectorWrites") {
+	group = "application"
+	description = "Compares single-document, whole-file and batched vector write throughput"
+	classpath = sourceSets["main"].runtimeClasspath
+	mainClass.set("com.college.icrs.tools.GrievanceVectorWriteBenchmarkMain")
+	javaLauncher.set(javaToolchains.launcherFor {
+		languageVersion = JavaLanguageVersion.of(25)
+	})
+	dependsOn(tasks.named("classes"))
+
+	listOf("grievanceBenchmarkFile", "grievanceBenchmarkBatchSize").forEach { propertyName ->
+		project.findProperty(propertyName)?.toString()?.takeIf { it.isNotBlank() }?.let {
+			systemProperty(propertyName, it)
+		}
+	}
+}
+
+tasks.register<JavaExec>("reportVectorQuantization") {
+	group = "application"
+	description = "Reports recall@k, latency and index size for float32 and halfvec pgvector search"
+	classpath = sourceSets["main"].runtimeClasspath
+	mainClass.set("com.college.icrs.tools.VectorQuantizationReportMain")
+	javaLauncher.set(javaToolchains.launcherFor {
+		languageVersion = JavaLanguageVersion.of(25)
+	})
+	dependsOn(tasks.named("classes"))
+
+	listOf(
+		"quantizationReportHistoricalFile",
+		"quantizationReportLiveFile",
+		"quantizationReportOutputDir",
+		"quantizationReportK",
+		"quantizationReportCandidateMultiplier",
+		"quantizationReportCorpusCopies",
+		"quantizationReportJitter"
+	).forEach { propertyName ->
+		project.findProperty(propertyName)?.toString()?.takeIf { it.isNotBlank() }?.let {
+			systemProperty(propertyName, it)
+		}
+	}
 }
 
 tasks.register<JavaExec>("runOperationalEvaluation") {
@@ -103,7 +157,9 @@ tasks.register<JavaExec>("runOperationalEvaluation") {
 		"operationalEvaluationStudentId",
 		"operationalEvaluationEarlyFailureWindow",
 		"operationalEvaluationEarlyFailureThreshold",
-		"icrs.ai.rag.enabled"
+		"operationalEvaluationBaselineResultsFile",
+		"icrs.ai.rag.enabled",
+		"icrs.ai.decision-mode"
 	).forEach { propertyName ->
 		project.findProperty(propertyName)?.toString()?.takeIf { it.isNotBlank() }?.let {
 			systemProperty(propertyName, it)
@@ -137,7 +193,8 @@ tasks.register<JavaExec>("runOperationalEvaluationNoRag") {
 		"operationalEvaluationStudentDepartment",
 		"operationalEvaluationStudentId",
 		"operationalEvaluationEarlyFailureWindow",
-		"operationalEvaluationEarlyFailureThreshold"
+		"operationalEvaluationEarlyFailureThreshold",
+		"operationalEvaluationBaselineResultsFile"
 	).forEach { propertyName ->
 		project.findProperty(propertyName)?.toString()?.takeIf { it.isNotBlank() }?.let {
 			systemProperty(propertyName, it)
@@ -0,0 +1,121 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.IcrsApplication;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.tools.GrievanceVectorImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pgvector against the in-process HNSW index. {@link #searchStage()} times the vector search
+ * alone, with query vectors embedded during setup; {@link #retrieveSimilar()} times the whole
+ * {@link RagService#retrieveSimilar(Long, String)} call. The latter reads references from vector
+ * metadata, which after setup touches no table for hits the indexing queue has not flagged, so the
+ * two stores differ only in the search itself. Queries are the texts of the benchmark file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RetrieveSimilarBenchmark {
+
+    @Param({"pgvector", "local"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private RagService ragService;
+    private PgVectorSimilaritySearch vectorSearch;
+    private LocalVectorStore localVectorStore;
+    private List<String> queries;
+    private List<float[]> queryVectors;
+    private List<SearchRequest> searchRequests;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(IcrsApplication.class)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "logging.level.com.college.icrs=WARN",
+                        "icrs.ai.sentiment.auto-start=false",
+                        "icrs.ai.rag.context-source=metadata",
+                        "icrs.ai.rag.local-index.enabled=" + "local".equals(store)
+                )
+                .run();
+        ragService = context.getBean(RagService.class);
+        String file = System.getProperty("grievanceBenchmarkFile", "tools/grievance-vector-import/sample-grievances.json");
+        queries = context.getBean(GrievanceVectorImportService.class).readDocuments(Path.of(file)).stream()
+                .map(Document::getText)
+                .toList();
+        if (queries.isEmpty()) {
+            throw new IllegalStateException("No benchmark queries in " + file);
+        }
+
+        vectorSearch = context.getBean(PgVectorSimilaritySearch.class);
+        if ("local".equals(store)) {
+            localVectorStore = context.getBean(LocalVectorStore.class);
+            if (!localVectorStore.isWarm()) {
+                // RagService would silently fall back to pgvector and the run would measure the wrong store.
+                throw new IllegalStateException("Local vector index failed to warm; see rag.local-index.warm.failed");
+            }
+        }
+        QueryVectorCache queryVectorCache = context.getBean(QueryVectorCache.class);
+        IcrsProperties properties = context.getBean(IcrsProperties.class);
+        int topK = context.getBean(RerankStage.class).candidateCount(Math.max(1, properties.getAi().getRag().getTopK())) + 1;
+        List<float[]> vectors = new ArrayList<>(queries.size());
+        List<SearchRequest> requests = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            vectors.add(queryVectorCache.vectorFor(queryId(i), queries.get(i)));
+            requests.add(ragService.searchRequest(queries.get(i), topK, null));
+        }
+        queryVectors = vectors;
+        searchRequests = requests;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Document> searchStage() {
+        int next = cursor++ % queries.size();
+        return localVectorStore != null
+                ? localVectorStore.similaritySearch(queryVectors.get(next), searchRequests.get(next))
+                : vectorSearch.search(queryVectors.get(next), searchRequests.get(next));
+    }
+
+    @Benchmark
+    public List<RagService.GrievanceContext> retrieveSimilar() {
+        int next = cursor++ % queries.size();
+        return ragService.retrieveSimilar(queryId(next), queries.get(next));
+    }
+
+    /** Stable negative ids, so the query vector cache keeps each query's embedding across iterations. */
+    private static long queryId(int index) {
+        return -(index + 1L);
+    }
+}
@@ -1,18 +1,21 @@
 package com.college.icrs;
 
 import com.college.icrs.bootstrap.SentimentServiceLauncher;
+import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.logging.IcrsLog;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 @Slf4j
 public class IcrsApplication {
 
@@ -39,4 +42,75 @@ public class IcrsApplication {
 				"queueCapacity", 50));
 		return executor;
 	}
+
+	@Bean(name = "aiWorkflowBranchExecutor")
+	public Executor aiWorkflowBranchExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("ai-branch-");
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(8);
+		executor.setQueueCapacity(50);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(15);
+		executor.initialize();
+		log.info(IcrsLog.event("executor.initialized",
+				"name", "aiWorkflowBranchExecutor",
+				"corePoolSize", 4,
+				"maxPoolSize", 8,
+				"queueCapacity", 50));
+		return executor;
+	}
+
+	@Bean(name = "ragSearchExecutor")
+	public Executor ragSearchExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("rag-search-");
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(4);
+		executor.setQueueCapacity(50);
+		executor.initialize();
+		log.info(IcrsLog.event("executor.initialized",
+				"name", "ragSearchExecutor",
+				"corePoolSize", 2,
+				"maxPoolSize", 4,
+				"queueCapacity", 50));
+		return executor;
+	}
+
+	@Bean(name = "rerankExecutor")
+	public Executor rerankExecutor() {
+		// Kept apart from ragSearchExecutor: a scoring call past its budget keeps its thread until
+		// the model returns and must not hold up lexical searches.
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("rag-rerank-");
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(2);
+		executor.setQueueCapacity(4);
+		executor.initialize();
+		log.info(IcrsLog.event("executor.initialized",
+				"name", "rerankExecutor",
+				"corePoolSize", 1,
+				"maxPoolSize", 2,
+				"queueCapacity", 4));
+		return executor;
+	}
+
+	@Bean(name = "vectorIndexExecutor")
+	public Executor vectorIndexExecutor(IcrsProperties icrsProperties) {
+		int queueCapacity = Math.max(icrsProperties.getAi().getRag().getIndexQueue().getCapacity(), 1);
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("vector-index-");
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(2);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(15);
+		executor.initialize();
+		log.info(IcrsLog.event("executor.initialized",
+				"name", "vectorIndexExecutor",
+				"corePoolSize", 1,
+				"maxPoolSize", 2,
+				"queueCapacity", queueCapacity));
+		return executor;
+	}
 }
@@ -0,0 +1,8 @@
+package com.college.icrs.ai.agent;
+
+public record CachedDecisionMatch(
+        Long sourceGrievanceId,
+        double similarity,
+        CombinedDecision decision
+) {
+}
@@ -0,0 +1,53 @@
+package com.college.icrs.ai.agent;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CombinedDecision implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String priority;
+    private String aiTitle;
+    private Double classificationConfidence;
+    private Boolean autoResolve;
+    private String resolutionText;
+    private String internalComment;
+    private Double resolutionConfidence;
+
+    public ClassificationDecision classification() {
+        ClassificationDecision decision = new ClassificationDecision();
+        decision.setPriority(priority);
+        decision.setAiTitle(aiTitle);
+        decision.setConfidence(classificationConfidence);
+        return decision;
+    }
+
+    public ResolutionDecision resolution() {
+        ResolutionDecision decision = new ResolutionDecision();
+        decision.setAutoResolve(autoResolve);
+        decision.setResolutionText(resolutionText);
+        decision.setInternalComment(internalComment);
+        decision.setConfidence(resolutionConfidence);
+        return decision;
+    }
+
+    public static CombinedDecision of(ClassificationDecision classification, ResolutionDecision resolution) {
+        CombinedDecision decision = new CombinedDecision();
+        decision.setPriority(classification.getPriority());
+        decision.setAiTitle(classification.getAiTitle());
+        decision.setClassificationConfidence(classification.getConfidence());
+        decision.setAutoResolve(resolution.getAutoResolve());
+        decision.setResolutionText(resolution.getResolutionText());
+        decision.setInternalComment(resolution.getInternalComment());
+        decision.setResolutionConfidence(resolution.getConfidence());
+        return decision;
+    }
+}
@@ -0,0 +1,23 @@
+package com.college.icrs.ai.agent;
+
+/**
+ * Where a workflow decision came from when it was not produced by the decision LLM calls: a routine
+ * fast-path rule or the cached decision of a near-duplicate grievance.
+ */
+public record DecisionProvenance(
+        String fastPathRule,
+        Long cachedFromGrievanceId
+) {
+
+    public static DecisionProvenance fastPath(String rule) {
+        return new DecisionProvenance(rule, null);
+    }
+
+    public static DecisionProvenance cachedFrom(Long grievanceId) {
+        return new DecisionProvenance(null, grievanceId);
+    }
+
+    public boolean llmDecision() {
+        return fastPathRule == null && cachedFromGrievanceId == null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.ai.config.PromptCacheUsageListener;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import dev.langchain4j.model.output.TokenUsage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Records token usage and latency of every decision LLM call in {@code ai_decision_usage}, which
+ * the operational evaluation reads to compare the separate and combined decision modes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DecisionUsageRecorder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IcrsProperties icrsProperties;
+
+    public void record(Long grievanceId, String stage, TokenUsage tokenUsage, long latencyMs) {
+        Integer inputTokens = tokenUsage != null ? tokenUsage.inputTokenCount() : null;
+        Integer cachedInputTokens = PromptCacheUsageListener.cachedTokens(tokenUsage);
+        Integer outputTokens = tokenUsage != null ? tokenUsage.outputTokenCount() : null;
+        String decisionMode = icrsProperties.getAi().getDecisionMode().name();
+        log.info(IcrsLog.event("ai.decision.usage",
+                "grievanceId", grievanceId,
+                "decisionMode", decisionMode,
+                "stage", stage,
+                "inputTokens", inputTokens,
+                "cachedInputTokens", cachedInputTokens,
+                "outputTokens", outputTokens,
+                "latencyMs", latencyMs));
+        if (grievanceId == null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO ai_decision_usage (grievance_id, decision_mode, stage, input_tokens, cached_input_tokens, output_tokens, latency_ms, recorded_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    grievanceId,
+                    decisionMode,
+                    stage,
+                    inputTokens,
+                    cachedInputTokens,
+                    outputTokens,
+                    latencyMs,
+                    Timestamp.valueOf(LocalDateTime.now())
+            );
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("ai.decision.usage.record-failed", "grievanceId", grievanceId, "stage", stage), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.college.icrs.ai.agent;
+
+public record FastPathDecision(
+        String rule,
+        CombinedDecision decision
+) {
+}
@@ -23,6 +23,9 @@ import java.util.Locale;
 @Slf4j
 public class GrievanceAgentActionService {
 
+    public static final String FAST_PATH_MODEL_PREFIX = "rule-fast-path:";
+    public static final String DECISION_CACHE_SOURCE_SUFFIX = "+DECISION_CACHE:";
+
     private final GrievanceService grievanceService;
     private final IcrsProperties icrsProperties;
     private final AutoResolutionPolicyService autoResolutionPolicyService;
@@ -31,26 +34,26 @@ public class GrievanceAgentActionService {
     private String modelName;
 
     public Grievance applyClassificationMetadata(
-            Long grievanceId,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String sentimentModelName,
             String priorityValue,
             String aiTitleValue,
-            Double confidenceValue
+            Double confidenceValue,
+            DecisionProvenance provenance
     ) {
-        Grievance grievance = grievanceService.getGrievanceById(grievanceId);
         Priority priority = parsePriority(priorityValue);
         Double classificationConfidence = clampConfidence(confidenceValue);
-        String classificationTitle = normalizeTitle(aiTitleValue, grievance.getTitle());
+        String classificationTitle = normalizeTitle(aiTitleValue, grievance.title());
 
         return grievanceService.applyAiDecisionMetadata(
-                grievanceId,
+                grievance.id(),
                 priority,
                 sentiment,
                 classificationTitle,
                 classificationConfidence,
-                mergeModelNames(modelName, sentimentModelName),
-                decisionSource(),
+                mergeModelNames(decisionModelName(provenance), sentimentModelName),
+                decisionSource(provenance),
                 LocalDateTime.now()
         );
     }
@@ -62,22 +65,27 @@ public class GrievanceAgentActionService {
             Boolean resolutionAutoResolve,
             String resolutionTextValue,
             String resolutionInternalCommentValue,
-            Double resolutionConfidenceValue
+            Double resolutionConfidenceValue,
+            DecisionProvenance provenance
     ) {
         Grievance grievance = grievanceService.getGrievanceById(grievanceId);
         Double classificationConfidence = clampConfidence(classificationConfidenceValue);
         Double resolutionConfidence = clampConfidence(resolutionConfidenceValue);
         Double metadataConfidence = clampConfidence(combineConfidence(classificationConfidence, resolutionConfidence));
-        boolean autoResolve = shouldAutoResolve(grievance, resolutionAutoResolve, resolutionTextValue, metadataConfidence);
+        boolean autoResolve = shouldAutoResolve(grievance, resolutionAutoResolve, resolutionTextValue, metadataConfidence, provenance);
 
         log.info(IcrsLog.event("ai.workflow.decision.completed",
                 "grievanceId", grievance.getId(),
                 "priority", grievance.getPriority(),
                 "autoResolve", autoResolve,
-                "confidence", metadataConfidence));
+                "confidence", metadataConfidence,
+                "fastPathRule", provenance != null ? provenance.fastPathRule() : null,
+                "cachedFromGrievanceId", provenance != null ? provenance.cachedFromGrievanceId() : null));
 
+        String modelNames = mergeModelNames(decisionModelName(provenance), sentimentModelName);
+        String source = decisionSource(provenance);
         if (autoResolve) {
-            return finalizeAutoResolution(grievanceId, grievance, sentimentModelName, resolutionTextValue, resolutionInternalCommentValue, metadataConfidence);
+            return finalizeAutoResolution(grievanceId, grievance, modelNames, source, resolutionTextValue, resolutionInternalCommentValue, metadataConfidence);
         }
 
         String manualReviewComment = buildManualReviewComment(resolutionInternalCommentValue);
@@ -86,8 +94,8 @@ public class GrievanceAgentActionService {
                 normalizeNullable(resolutionTextValue),
                 manualReviewComment,
                 metadataConfidence,
-                mergeModelNames(modelName, sentimentModelName),
-                decisionSource(),
+                modelNames,
+                source,
                 LocalDateTime.now()
         );
         log.info(IcrsLog.event("ai.workflow.completed", "grievanceId", grievance.getId(), "outcome", "manual-review"));
@@ -97,7 +105,8 @@ public class GrievanceAgentActionService {
     private Grievance finalizeAutoResolution(
             Long grievanceId,
             Grievance grievance,
-            String sentimentModelName,
+            String modelNames,
+            String source,
             String resolutionTextValue,
             String resolutionInternalCommentValue,
             Double metadataConfidence
@@ -116,8 +125,8 @@ public class GrievanceAgentActionService {
                 resolutionText,
                 internalComment,
                 metadataConfidence,
-                mergeModelNames(modelName, sentimentModelName),
-                decisionSource()
+                modelNames,
+                source
         );
 
         grievanceService.addSystemComment(
@@ -129,8 +138,17 @@ public class GrievanceAgentActionService {
         return updated;
     }
 
-    private boolean shouldAutoResolve(Grievance grievance, Boolean autoResolveRequested, String resolutionText, Double confidence) {
+    private boolean shouldAutoResolve(
+            Grievance grievance,
+            Boolean autoResolveRequested,
+            String resolutionText,
+            Double confidence,
+            DecisionProvenance provenance
+    ) {
         if (grievance.getStatus() == Status.RESOLVED) return false;
+        // The fast-path confidence is configured, not measured, so it cannot pass the gate on its own.
+        if (provenance != null && provenance.fastPathRule() != null
+                && !icrsProperties.getAi().getFastPath().isAutoResolve()) return false;
         if (isSensitiveCategory(grievance)) return false;
         if (!StringUtils.hasText(resolutionText)) return false;
         if (confidence == null) return false;
@@ -169,6 +187,18 @@ public class GrievanceAgentActionService {
                 : "ai.system@icrs.local";
     }
 
+    private String decisionModelName(DecisionProvenance provenance) {
+        return provenance != null && StringUtils.hasText(provenance.fastPathRule())
+                ? FAST_PATH_MODEL_PREFIX + provenance.fastPathRule()
+                : modelName;
+    }
+
+    private String decisionSource(DecisionProvenance provenance) {
+        return provenance != null && provenance.cachedFromGrievanceId() != null
+                ? decisionSource() + DECISION_CACHE_SOURCE_SUFFIX + provenance.cachedFromGrievanceId()
+                : decisionSource();
+    }
+
     private String mergeModelNames(String llmModelName, String sentimentModelName) {
         if (!StringUtils.hasText(sentimentModelName)) {
             return llmModelName;
@@ -2,10 +2,10 @@ package com.college.icrs.ai.agent;
 
 import com.college.icrs.ai.knowledge.ResolutionGuidanceService;
 import com.college.icrs.ai.service.SentimentAnalysisService;
-import com.college.icrs.model.Category;
 import com.college.icrs.model.Comment;
 import com.college.icrs.model.Grievance;
 import com.college.icrs.model.StatusHistory;
+import com.college.icrs.rag.EmbeddingService;
 import com.college.icrs.rag.RagService;
 import com.college.icrs.repository.CommentRepository;
 import com.college.icrs.repository.StatusHistoryRepository;
@@ -23,6 +23,7 @@ public class GrievanceAgentContextService {
     private final GrievanceService grievanceService;
     private final SentimentAnalysisService sentimentAnalysisService;
     private final RagService ragService;
+    private final EmbeddingService embeddingService;
     private final CommentRepository commentRepository;
     private final StatusHistoryRepository statusHistoryRepository;
     private final ResolutionGuidanceService resolutionGuidanceService;
@@ -31,31 +32,40 @@ public class GrievanceAgentContextService {
         return grievanceService.getGrievanceById(grievanceId);
     }
 
-    public SentimentAnalysisService.SentimentDecision analyzeSentiment(Grievance grievance) {
-        return sentimentAnalysisService.analyze(grievance != null ? grievance.getDescription() : null);
+    public GrievanceSnapshot loadSnapshot(Long grievanceId) {
+        return snapshotOf(grievanceService.getGrievanceById(grievanceId));
     }
 
-    public List<RagService.GrievanceContext> retrieveSimilar(Grievance grievance) {
-        return ragService.retrieveSimilar(grievance);
+    public GrievanceSnapshot snapshotOf(Grievance grievance) {
+        return GrievanceSnapshot.from(grievance, embeddingService.buildEmbeddingText(grievance));
+    }
+
+    public SentimentAnalysisService.SentimentDecision analyzeSentiment(GrievanceSnapshot grievance) {
+        return sentimentAnalysisService.analyze(grievance != null ? grievance.description() : null);
+    }
+
+    public List<RagService.GrievanceContext> retrieveSimilar(GrievanceSnapshot grievance) {
+        if (grievance == null) {
+            return List.of();
+        }
+        return ragService.retrieveSimilar(grievance.id(), grievance.embeddingText(), grievance.categoryName());
     }
 
     public String buildContextSection(List<RagService.GrievanceContext> contexts) {
         return ragService.buildContextSection(contexts);
     }
 
-    public String buildPolicyContext(Long grievanceId) {
-        Grievance grievance = grievanceService.getGrievanceById(grievanceId);
-        Category category = grievance.getCategory();
+    public String buildPolicyContext(GrievanceSnapshot grievance) {
         return """
                 - currentStatus: %s
                 - sensitiveCategory: %s
                 - hideIdentity: %s
                 - assignedTo: %s
                 """.formatted(
-                grievance.getStatus(),
-                category != null && Boolean.TRUE.equals(category.getSensitive()),
-                category != null && Boolean.TRUE.equals(category.getHideIdentity()),
-                grievance.getAssignedTo() != null ? safe(grievance.getAssignedTo().getEmail()) : "UNASSIGNED"
+                grievance.status(),
+                grievance.sensitiveCategory(),
+                grievance.hideIdentity(),
+                grievance.assignedToEmail() != null ? grievance.assignedToEmail() : "UNASSIGNED"
         ).trim();
     }
 
@@ -90,8 +100,8 @@ public class GrievanceAgentContextService {
                 .orElse("No prior status transitions.");
     }
 
-    public String buildResolutionGuidanceContext(Long grievanceId) {
-        return resolutionGuidanceService.buildContext(grievanceService.getGrievanceById(grievanceId));
+    public String buildResolutionGuidanceContext(GrievanceSnapshot grievance) {
+        return resolutionGuidanceService.buildContext(grievance.categoryName(), grievance.subcategoryName());
     }
 
     private String truncate(String value, int maxLength) {
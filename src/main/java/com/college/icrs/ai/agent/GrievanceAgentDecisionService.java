@@ -2,15 +2,23 @@ package com.college.icrs.ai.agent;
 
 import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.logging.IcrsLog;
-import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Sentiment;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.TokenStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -19,42 +27,75 @@ public class GrievanceAgentDecisionService {
 
     private static final int DECISION_TIMEOUT_BUFFER_SECONDS = 10;
     private static final double FALLBACK_CONFIDENCE = 0.35d;
+    private static final String RETRIEVED_CASES = "Retrieved cases";
+    private static final String POLICY_SIGNALS = "Policy signals";
+    private static final String COMMENT_THREAD = "Comment thread";
+    private static final String STATUS_HISTORY = "Status history";
+    private static final String RESOLUTION_GUIDANCE = "Resolution guidance";
+    // Every field the workflow reads from a decision; streaming returns once these are parsed.
+    private static final List<String> CLASSIFICATION_FIELDS = List.of("priority", "aiTitle", "confidence");
+    private static final List<String> RESOLUTION_FIELDS = List.of("autoResolve", "confidence", "resolutionText", "internalComment");
 
     private final IcrsProperties icrsProperties;
     private final GrievanceClassifierAiService classifierAiService;
     private final GrievanceResolverAiService resolverAiService;
+    private final GrievanceCombinedDecisionAiService combinedDecisionAiService;
+    private final PromptContextAssembler contextAssembler;
+    private final PromptReferenceMaterial referenceMaterial;
+    private final DecisionUsageRecorder usageRecorder;
 
     public ClassificationDecision classify(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext,
             String policyContext,
             String commentContext,
             String statusHistoryContext
     ) throws Exception {
-        log.info(IcrsLog.event("ai.classification.requested", "grievanceId", grievance.getId()));
+        log.info(IcrsLog.event("ai.classification.requested", "grievanceId", grievance.id()));
+        Map<String, String> context = contextAssembler.assemble("classification", grievance.id(), List.of(
+                PromptContextAssembler.Section.head(POLICY_SIGNALS, policyContext),
+                PromptContextAssembler.Section.head(RETRIEVED_CASES, ragContext),
+                PromptContextAssembler.Section.tail(COMMENT_THREAD, commentContext),
+                PromptContextAssembler.Section.head(STATUS_HISTORY, statusHistoryContext)
+        ));
         try {
-            return CompletableFuture.supplyAsync(() -> classifierAiService.classify(
-                    safe(grievance.getTitle()),
-                    safe(truncate(grievance.getDescription(), icrsProperties.getAi().getMaxDescriptionChars())),
-                    grievance.getCategory() != null ? safe(grievance.getCategory().getName()) : "UNKNOWN",
-                    grievance.getSubcategory() != null ? safe(grievance.getSubcategory().getName()) : "UNKNOWN",
+            if (streamingEnabled()) {
+                return classification(stream(grievance.id(), "classification", CLASSIFICATION_FIELDS, () -> classifierAiService.classifyStreaming(
+                        referenceMaterial.getCatalog(),
+                        safe(grievance.title()),
+                        safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
+                        grievance.categoryLabel(),
+                        grievance.subcategoryLabel(),
+                        sentiment != null ? sentiment.name() : "UNKNOWN",
+                        context.get(RETRIEVED_CASES),
+                        context.get(POLICY_SIGNALS),
+                        context.get(COMMENT_THREAD),
+                        context.get(STATUS_HISTORY)
+                )));
+            }
+            return call(grievance.id(), "classification", () -> classifierAiService.classify(
+                    referenceMaterial.getCatalog(),
+                    safe(grievance.title()),
+                    safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
+                    grievance.categoryLabel(),
+                    grievance.subcategoryLabel(),
                     sentiment != null ? sentiment.name() : "UNKNOWN",
-                    formatPromptSection("Retrieved cases", ragContext),
-                    formatPromptSection("Policy signals", policyContext),
-                    formatPromptSection("Comment thread", commentContext),
-                    formatPromptSection("Status history", statusHistoryContext)
-            )).orTimeout(decisionTimeoutSeconds(), TimeUnit.SECONDS).join();
+                    context.get(RETRIEVED_CASES),
+                    context.get(POLICY_SIGNALS),
+                    context.get(COMMENT_THREAD),
+                    context.get(STATUS_HISTORY)
+            ));
         } catch (Exception e) {
             log.warn(IcrsLog.event("ai.classification.fallback",
-                    "grievanceId", grievance.getId(),
+                    "grievanceId", grievance.id(),
                     "reason", e.getClass().getSimpleName()));
             return fallbackClassification(grievance);
         }
     }
 
     public ResolutionDecision resolve(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext,
             String policyContext,
@@ -62,30 +103,222 @@ public class GrievanceAgentDecisionService {
             String statusHistoryContext,
             String resolutionGuidanceContext
     ) throws Exception {
-        log.info(IcrsLog.event("ai.resolution.requested", "grievanceId", grievance.getId()));
-        String classificationTitle = normalizeTitle(grievance.getAiTitle(), grievance.getTitle());
+        log.info(IcrsLog.event("ai.resolution.requested", "grievanceId", grievance.id()));
+        String classificationTitle = normalizeTitle(grievance.aiTitle(), grievance.title());
+        Map<String, String> context = contextAssembler.assemble("resolution", grievance.id(), List.of(
+                PromptContextAssembler.Section.head(POLICY_SIGNALS, policyContext),
+                PromptContextAssembler.Section.head(RESOLUTION_GUIDANCE, resolutionGuidanceContext),
+                PromptContextAssembler.Section.head(RETRIEVED_CASES, ragContext),
+                PromptContextAssembler.Section.tail(COMMENT_THREAD, commentContext),
+                PromptContextAssembler.Section.head(STATUS_HISTORY, statusHistoryContext)
+        ));
         try {
-            return CompletableFuture.supplyAsync(() -> resolverAiService.resolve(
-                    safe(grievance.getTitle()),
-                    safe(truncate(grievance.getDescription(), icrsProperties.getAi().getMaxDescriptionChars())),
-                    grievance.getCategory() != null ? safe(grievance.getCategory().getName()) : "UNKNOWN",
-                    grievance.getSubcategory() != null ? safe(grievance.getSubcategory().getName()) : "UNKNOWN",
+            if (streamingEnabled()) {
+                return resolution(stream(grievance.id(), "resolution", RESOLUTION_FIELDS, () -> resolverAiService.resolveStreaming(
+                        referenceMaterial.getCatalog(),
+                        safe(grievance.title()),
+                        safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
+                        grievance.categoryLabel(),
+                        grievance.subcategoryLabel(),
+                        sentiment != null ? sentiment.name() : "UNKNOWN",
+                        classificationTitle,
+                        context.get(RETRIEVED_CASES),
+                        context.get(POLICY_SIGNALS),
+                        context.get(COMMENT_THREAD),
+                        context.get(STATUS_HISTORY),
+                        context.get(RESOLUTION_GUIDANCE)
+                )));
+            }
+            return call(grievance.id(), "resolution", () -> resolverAiService.resolve(
+                    referenceMaterial.getCatalog(),
+                    safe(grievance.title()),
+                    safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
+                    grievance.categoryLabel(),
+                    grievance.subcategoryLabel(),
                     sentiment != null ? sentiment.name() : "UNKNOWN",
                     classificationTitle,
-                    formatPromptSection("Retrieved cases", ragContext),
-                    formatPromptSection("Policy signals", policyContext),
-                    formatPromptSection("Comment thread", commentContext),
-                    formatPromptSection("Status history", statusHistoryContext),
-                    formatPromptSection("Resolution guidance", resolutionGuidanceContext)
-            )).orTimeout(decisionTimeoutSeconds(), TimeUnit.SECONDS).join();
+                    context.get(RETRIEVED_CASES),
+                    context.get(POLICY_SIGNALS),
+                    context.get(COMMENT_THREAD),
+                    context.get(STATUS_HISTORY),
+                    context.get(RESOLUTION_GUIDANCE)
+            ));
         } catch (Exception e) {
             log.warn(IcrsLog.event("ai.resolution.fallback",
-                    "grievanceId", grievance.getId(),
+                    "grievanceId", grievance.id(),
                     "reason", e.getClass().getSimpleName()));
             return fallbackResolution();
         }
     }
 
+    public CombinedDecision decide(
+            GrievanceSnapshot grievance,
+            Sentiment sentiment,
+            String ragContext,
+            String policyContext,
+            String commentContext,
+            String statusHistoryContext,
+            String resolutionGuidanceContext
+    ) throws Exception {
+        log.info(IcrsLog.event("ai.decision.requested", "grievanceId", grievance.id()));
+        Map<String, String> context = contextAssembler.assemble("combined", grievance.id(), List.of(
+                PromptContextAssembler.Section.head(POLICY_SIGNALS, policyContext),
+                PromptContextAssembler.Section.head(RESOLUTION_GUIDANCE, resolutionGuidanceContext),
+                PromptContextAssembler.Section.head(RETRIEVED_CASES, ragContext),
+                PromptContextAssembler.Section.tail(COMMENT_THREAD, commentContext),
+                PromptContextAssembler.Section.head(STATUS_HISTORY, statusHistoryContext)
+        ));
+        try {
+            return call(grievance.id(), "combined", () -> combinedDecisionAiService.decide(
+                    referenceMaterial.getCatalog(),
+                    safe(grievance.title()),
+                    safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
+                    grievance.categoryLabel(),
+                    grievance.subcategoryLabel(),
+                    sentiment != null ? sentiment.name() : "UNKNOWN",
+                    context.get(RETRIEVED_CASES),
+                    context.get(POLICY_SIGNALS),
+                    context.get(COMMENT_THREAD),
+                    context.get(STATUS_HISTORY),
+                    context.get(RESOLUTION_GUIDANCE)
+            ));
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("ai.decision.fallback",
+                    "grievanceId", grievance.id(),
+                    "reason", e.getClass().getSimpleName()));
+            return CombinedDecision.of(fallbackClassification(grievance), fallbackResolution());
+        }
+    }
+
+    private <T> T call(Long grievanceId, String stage, Supplier<Result<T>> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startedAt = System.nanoTime();
+            Result<T> result = request.get();
+            usageRecorder.record(grievanceId, stage, result.tokenUsage(), elapsedMillis(startedAt));
+            return result.content();
+        }).orTimeout(decisionTimeoutSeconds(), TimeUnit.SECONDS).join();
+    }
+
+    /**
+     * Streams a decision and returns its fields as soon as every required field has been parsed, so the
+     * next workflow node starts before the closing brace and usage frame arrive. The rest of the generation
+     * finishes in the background and its usage is recorded on completion; the stream is only cancelled
+     * when the caller gives up on it through a timeout or error.
+     */
+    private Map<String, Object> stream(Long grievanceId, String stage, List<String> requiredFields, Supplier<TokenStream> request) {
+        long startedAt = System.nanoTime();
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+        CompletableFuture<Map<String, Object>> fields = new CompletableFuture<>();
+        AtomicReference<StreamingHandle> handle = new AtomicReference<>();
+        AtomicLong firstFieldMs = new AtomicLong(-1L);
+        AtomicLong decisionMs = new AtomicLong(-1L);
+        request.get()
+                .onPartialResponseWithContext((partial, context) -> {
+                    handle.set(context.streamingHandle());
+                    if (!parser.feed(partial.text()).isEmpty()) {
+                        firstFieldMs.compareAndSet(-1L, elapsedMillis(startedAt));
+                    }
+                    if (!fields.isDone() && parser.hasAll(requiredFields)) {
+                        decisionMs.set(elapsedMillis(startedAt));
+                        fields.complete(parser.fields());
+                    }
+                })
+                .onCompleteResponse(response -> {
+                    handle.set(null);
+                    completeStream(grievanceId, stage, parser, response.tokenUsage(), startedAt, firstFieldMs.get(), decisionMs.get());
+                    fields.complete(parser.fields());
+                })
+                .onError(error -> {
+                    if (!fields.completeExceptionally(error)) {
+                        log.warn(IcrsLog.event("ai.decision.stream.tail.failed",
+                                "grievanceId", grievanceId,
+                                "stage", stage,
+                                "reason", error.getClass().getSimpleName()));
+                    }
+                })
+                .start();
+        try {
+            return fields.orTimeout(decisionTimeoutSeconds(), TimeUnit.SECONDS).join();
+        } catch (RuntimeException e) {
+            StreamingHandle streamingHandle = handle.get();
+            if (streamingHandle != null && !streamingHandle.isCancelled()) {
+                streamingHandle.cancel();
+            }
+            throw e;
+        }
+    }
+
+    private void completeStream(
+            Long grievanceId,
+            String stage,
+            StreamingJsonFieldParser parser,
+            TokenUsage tokenUsage,
+            long startedAt,
+            long firstFieldMs,
+            long decisionMs
+    ) {
+        long latencyMs = elapsedMillis(startedAt);
+        log.info(IcrsLog.event("ai.decision.stream.completed",
+                "grievanceId", grievanceId,
+                "stage", stage,
+                "firstFieldMs", firstFieldMs >= 0 ? firstFieldMs : null,
+                "decisionMs", decisionMs >= 0 ? decisionMs : null,
+                "completedMs", latencyMs,
+                "fields", parser.fields().size()));
+        if (tokenUsage == null) {
+            log.warn(IcrsLog.event("ai.decision.usage.missing", "grievanceId", grievanceId, "stage", stage));
+            return;
+        }
+        usageRecorder.record(grievanceId, stage, tokenUsage, latencyMs);
+    }
+
+    private ClassificationDecision classification(Map<String, Object> fields) {
+        ClassificationDecision decision = new ClassificationDecision();
+        decision.setPriority(textField(fields.get("priority")));
+        decision.setAiTitle(textField(fields.get("aiTitle")));
+        decision.setConfidence(numberField(fields.get("confidence")));
+        return decision;
+    }
+
+    private ResolutionDecision resolution(Map<String, Object> fields) {
+        ResolutionDecision decision = new ResolutionDecision();
+        decision.setAutoResolve(booleanField(fields.get("autoResolve")));
+        decision.setResolutionText(textField(fields.get("resolutionText")));
+        decision.setInternalComment(textField(fields.get("internalComment")));
+        decision.setConfidence(numberField(fields.get("confidence")));
+        return decision;
+    }
+
+    private String textField(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private Double numberField(Object value) {
+        if (value instanceof Number number) return number.doubleValue();
+        if (value instanceof String text) {
+            try {
+                return Double.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Boolean booleanField(Object value) {
+        if (value instanceof Boolean flag) return flag;
+        if (value instanceof String text) return Boolean.valueOf(text.trim());
+        return null;
+    }
+
+    private boolean streamingEnabled() {
+        return icrsProperties.getAi().getDecisionStreaming().isEnabled();
+    }
+
+    private long elapsedMillis(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
     private String normalizeTitle(String candidate, String fallback) {
         String title = normalizeText(candidate, fallback);
         return truncate(title, 120);
@@ -106,21 +339,14 @@ public class GrievanceAgentDecisionService {
         return value == null ? "" : value;
     }
 
-    private String formatPromptSection(String title, String content) {
-        if (!StringUtils.hasText(content)) {
-            return "";
-        }
-        return title + ":\n" + content;
-    }
-
     private long decisionTimeoutSeconds() {
         return Math.max(15, icrsProperties.getAi().getTimeoutSeconds() + DECISION_TIMEOUT_BUFFER_SECONDS);
     }
 
-    private ClassificationDecision fallbackClassification(Grievance grievance) {
+    private ClassificationDecision fallbackClassification(GrievanceSnapshot grievance) {
         ClassificationDecision decision = new ClassificationDecision();
         decision.setPriority("MEDIUM");
-        decision.setAiTitle(normalizeTitle(grievance.getTitle(), grievance.getTitle()));
+        decision.setAiTitle(normalizeTitle(grievance.title(), grievance.title()));
         decision.setConfidence(FALLBACK_CONFIDENCE);
         return decision;
     }
@@ -4,11 +4,13 @@ import com.college.icrs.model.Sentiment;
 import org.bsc.langgraph4j.state.AgentState;
 import org.springframework.util.StringUtils;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class GrievanceAgentState extends AgentState {
 
     public static final String GRIEVANCE_ID = "grievanceId";
+    public static final String GRIEVANCE_SNAPSHOT = "grievanceSnapshot";
     public static final String SENTIMENT = "sentiment";
     public static final String SENTIMENT_MODEL_NAME = "sentimentModelName";
     public static final String RAG_CONTEXT_SECTION = "ragContextSection";
@@ -22,6 +24,8 @@ public class GrievanceAgentState extends AgentState {
     public static final String STATUS_HISTORY_CONTEXT_FETCHED = "statusHistoryContextFetched";
     public static final String RESOLUTION_GUIDANCE_CONTEXT_SECTION = "resolutionGuidanceContextSection";
     public static final String RESOLUTION_GUIDANCE_CONTEXT_FETCHED = "resolutionGuidanceContextFetched";
+    public static final String FAST_PATH_RULE = "fastPathRule";
+    public static final String CACHED_DECISION_SOURCE_ID = "cachedDecisionSourceId";
     public static final String CLASSIFICATION_PRIORITY = "classificationPriority";
     public static final String CLASSIFICATION_AI_TITLE = "classificationAiTitle";
     public static final String CLASSIFICATION_CONFIDENCE = "classificationConfidence";
@@ -29,6 +33,7 @@ public class GrievanceAgentState extends AgentState {
     public static final String RESOLUTION_TEXT = "resolutionText";
     public static final String RESOLUTION_INTERNAL_COMMENT = "resolutionInternalComment";
     public static final String RESOLUTION_CONFIDENCE = "resolutionConfidence";
+    public static final String NODE_LATENCY_PREFIX = "nodeLatencyMs.";
 
     public GrievanceAgentState(Map<String, Object> data) {
         super(data);
@@ -38,6 +43,10 @@ public class GrievanceAgentState extends AgentState {
         return value(GRIEVANCE_ID).map(Long.class::cast).orElse(null);
     }
 
+    public GrievanceSnapshot grievance() {
+        return value(GRIEVANCE_SNAPSHOT).map(GrievanceSnapshot.class::cast).orElse(null);
+    }
+
     public Sentiment sentiment() {
         String value = value(SENTIMENT).map(String.class::cast).orElse(null);
         if (!StringUtils.hasText(value)) {
@@ -98,6 +107,18 @@ public class GrievanceAgentState extends AgentState {
         return value(RESOLUTION_GUIDANCE_CONTEXT_FETCHED).map(Boolean.class::cast).orElse(false);
     }
 
+    public String fastPathRule() {
+        return value(FAST_PATH_RULE).map(String.class::cast).orElse(null);
+    }
+
+    public Long cachedDecisionSourceId() {
+        return value(CACHED_DECISION_SOURCE_ID).map(Long.class::cast).orElse(null);
+    }
+
+    public DecisionProvenance provenance() {
+        return new DecisionProvenance(fastPathRule(), cachedDecisionSourceId());
+    }
+
     public String classificationPriority() {
         return value(CLASSIFICATION_PRIORITY).map(String.class::cast).orElse(null);
     }
@@ -125,4 +146,18 @@ public class GrievanceAgentState extends AgentState {
     public Double resolutionConfidence() {
         return value(RESOLUTION_CONFIDENCE).map(Double.class::cast).orElse(null);
     }
+
+    public static String nodeLatencyKey(String nodeName) {
+        return NODE_LATENCY_PREFIX + nodeName;
+    }
+
+    public Map<String, Long> nodeLatencies() {
+        Map<String, Long> latencies = new LinkedHashMap<>();
+        data().forEach((key, value) -> {
+            if (key.startsWith(NODE_LATENCY_PREFIX) && value instanceof Number number) {
+                latencies.put(key.substring(NODE_LATENCY_PREFIX.length()), number.longValue());
+            }
+        });
+        return latencies;
+    }
 }
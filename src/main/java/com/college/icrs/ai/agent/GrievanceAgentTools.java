@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -17,16 +18,26 @@ public class GrievanceAgentTools {
     private final GrievanceContextPlannerAgent contextPlannerAgent;
     private final GrievanceAgentDecisionService decisionService;
     private final GrievanceAgentActionService actionService;
+    private final GrievanceFastPathService fastPathService;
+    private final GrievanceDecisionCache decisionCache;
 
     public Grievance loadGrievance(Long grievanceId) {
         return contextService.loadGrievance(grievanceId);
     }
 
-    public SentimentAnalysisService.SentimentDecision analyzeSentiment(Grievance grievance) {
+    public GrievanceSnapshot loadSnapshot(Long grievanceId) {
+        return contextService.loadSnapshot(grievanceId);
+    }
+
+    public GrievanceSnapshot snapshotOf(Grievance grievance) {
+        return contextService.snapshotOf(grievance);
+    }
+
+    public SentimentAnalysisService.SentimentDecision analyzeSentiment(GrievanceSnapshot grievance) {
         return contextService.analyzeSentiment(grievance);
     }
 
-    public List<RagService.GrievanceContext> retrieveSimilar(Grievance grievance) {
+    public List<RagService.GrievanceContext> retrieveSimilar(GrievanceSnapshot grievance) {
         return contextService.retrieveSimilar(grievance);
     }
 
@@ -34,8 +45,8 @@ public class GrievanceAgentTools {
         return contextService.buildContextSection(contexts);
     }
 
-    public String buildPolicyContext(Long grievanceId) {
-        return contextService.buildPolicyContext(grievanceId);
+    public String buildPolicyContext(GrievanceSnapshot grievance) {
+        return contextService.buildPolicyContext(grievance);
     }
 
     public String buildCommentContext(Long grievanceId) {
@@ -46,12 +57,24 @@ public class GrievanceAgentTools {
         return contextService.buildStatusHistoryContext(grievanceId);
     }
 
-    public String buildResolutionGuidanceContext(Long grievanceId) {
-        return contextService.buildResolutionGuidanceContext(grievanceId);
+    public String buildResolutionGuidanceContext(GrievanceSnapshot grievance) {
+        return contextService.buildResolutionGuidanceContext(grievance);
+    }
+
+    public Optional<FastPathDecision> matchFastPath(GrievanceSnapshot grievance) {
+        return fastPathService.match(grievance);
+    }
+
+    public Optional<CachedDecisionMatch> matchCachedDecision(GrievanceSnapshot grievance) {
+        return decisionCache.find(grievance);
+    }
+
+    public void cacheDecision(GrievanceSnapshot grievance, CombinedDecision decision) {
+        decisionCache.put(grievance, decision);
     }
 
     public ContextCollectionResult collectContext(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext
     ) {
@@ -59,7 +82,7 @@ public class GrievanceAgentTools {
     }
 
     public ClassificationDecision classify(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext,
             String policyContext,
@@ -69,26 +92,28 @@ public class GrievanceAgentTools {
         return decisionService.classify(grievance, sentiment, ragContext, policyContext, commentContext, statusHistoryContext);
     }
 
-    public void applyClassificationMetadata(
-            Long grievanceId,
+    public Grievance applyClassificationMetadata(
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String sentimentModelName,
             String priorityValue,
             String aiTitleValue,
-            Double confidenceValue
+            Double confidenceValue,
+            DecisionProvenance provenance
     ) {
-        actionService.applyClassificationMetadata(
-                grievanceId,
+        return actionService.applyClassificationMetadata(
+                grievance,
                 sentiment,
                 sentimentModelName,
                 priorityValue,
                 aiTitleValue,
-                confidenceValue
+                confidenceValue,
+                provenance
         );
     }
 
     public ResolutionDecision resolve(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext,
             String policyContext,
@@ -107,6 +132,26 @@ public class GrievanceAgentTools {
         );
     }
 
+    public CombinedDecision decide(
+            GrievanceSnapshot grievance,
+            Sentiment sentiment,
+            String ragContext,
+            String policyContext,
+            String commentContext,
+            String statusHistoryContext,
+            String resolutionGuidanceContext
+    ) throws Exception {
+        return decisionService.decide(
+                grievance,
+                sentiment,
+                ragContext,
+                policyContext,
+                commentContext,
+                statusHistoryContext,
+                resolutionGuidanceContext
+        );
+    }
+
     public void finalizeDecision(
             Long grievanceId,
             String sentimentModelName,
@@ -114,7 +159,8 @@ public class GrievanceAgentTools {
             Boolean resolutionAutoResolve,
             String resolutionTextValue,
             String resolutionInternalCommentValue,
-            Double resolutionConfidenceValue
+            Double resolutionConfidenceValue,
+            DecisionProvenance provenance
     ) {
         actionService.finalizeDecision(
                 grievanceId,
@@ -123,7 +169,8 @@ public class GrievanceAgentTools {
                 resolutionAutoResolve,
                 resolutionTextValue,
                 resolutionInternalCommentValue,
-                resolutionConfidenceValue
+                resolutionConfidenceValue,
+                provenance
         );
     }
 }
@@ -1,12 +1,14 @@
 package com.college.icrs.ai.agent;
 
+import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.V;
 
 public interface GrievanceClassifierAiService {
 
-    @SystemMessage("""
+    String SYSTEM_PROMPT = """
             You are an AI grievance triage classifier for a college.
             Return only valid JSON for the structured classification object.
             Base priority on the grievance details, category, and sentiment.
@@ -34,15 +36,18 @@ public interface GrievanceClassifierAiService {
             - "Campus Wi-Fi not working in lab" -> LOW
             - "Harassment complaint against senior" -> HIGH
             - "Wallet stolen from hostel room" -> HIGH
-            """)
-    @UserMessage("""
+
+            {{referenceMaterial}}
+            """;
+
+    String USER_PROMPT = """
             Classify this grievance.
 
             Context:
-            - title: {{title}}
-            - description: {{description}}
             - category: {{category}}
             - subcategory: {{subcategory}}
+            - title: {{title}}
+            - description: {{description}}
             - sentiment: {{sentiment}}
 
             Retrieved cases:
@@ -56,8 +61,27 @@ public interface GrievanceClassifierAiService {
 
             Status history:
             {{statusHistoryContext}}
-            """)
-    ClassificationDecision classify(
+            """;
+
+    @SystemMessage(SYSTEM_PROMPT)
+    @UserMessage(USER_PROMPT)
+    Result<ClassificationDecision> classify(
+            @V("referenceMaterial") String referenceMaterial,
+            @V("title") String title,
+            @V("description") String description,
+            @V("category") String category,
+            @V("subcategory") String subcategory,
+            @V("sentiment") String sentiment,
+            @V("ragContext") String ragContext,
+            @V("policyContext") String policyContext,
+            @V("commentContext") String commentContext,
+            @V("statusHistoryContext") String statusHistoryContext
+    );
+
+    @SystemMessage(SYSTEM_PROMPT)
+    @UserMessage(USER_PROMPT)
+    TokenStream classifyStreaming(
+            @V("referenceMaterial") String referenceMaterial,
             @V("title") String title,
             @V("description") String description,
             @V("category") String category,
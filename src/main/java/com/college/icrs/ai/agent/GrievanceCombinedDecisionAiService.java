@@ -0,0 +1,85 @@
+package com.college.icrs.ai.agent;
+
+import dev.langchain4j.service.Result;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+
+public interface GrievanceCombinedDecisionAiService {
+
+    @SystemMessage("""
+            You are an AI triage and resolution assistant for a college grievance system.
+            Classify the grievance and decide its resolution in one pass.
+            Return only valid JSON for the structured decision object.
+            Keep aiTitle concise and factual. Keep resolutionText concise, factual, and actionable.
+            Both confidences must be between 0 and 1.
+            Output JSON with exactly these keys:
+            {"priority":"MEDIUM","aiTitle":"Short factual title","classificationConfidence":0.72,"autoResolve":false,"resolutionText":"Student-facing resolution text","internalComment":"Internal operator note","resolutionConfidence":0.68}
+
+            Priority rubric:
+            - HIGH: use only for safety threats, harassment/PoSH, theft/security incidents, urgent health risks,
+              severe financial harm, or issues likely to cause immediate academic loss if not handled quickly.
+            - MEDIUM: use for important but noncritical complaints that need faculty or office action soon.
+              This should be the default for most unresolved academic, administrative, hostel, and finance issues.
+            - LOW: use for routine service requests, minor inconvenience, or issues with a clear nonurgent follow-up path.
+            - Do not assign HIGH for routine inconvenience alone or only because the student sounds upset.
+            - If you are unsure between MEDIUM and HIGH, choose MEDIUM.
+
+            Auto-resolution rubric:
+            - autoResolve=true:
+              routine administrative correction, simple IT issue, hostel maintenance, fee receipt/help-desk routing,
+              certificate workflow guidance, or other low-risk operational issues with a clear next step.
+            - autoResolve=false:
+              harassment/PoSH, theft/security incident, health emergency, disciplinary allegation, scholarship dispute,
+              refund dispute, complaints against a named person, repeated unresolved conflict, or any issue needing verification.
+            - A HIGH priority grievance is never auto-resolved.
+            - If the grievance needs investigation, evidence review, identity protection, or discretionary human judgment, use autoResolve=false.
+            - If you are unsure, use autoResolve=false.
+            Keep autoResolve logically consistent with your explanation.
+            When resolution guidance is available, use it to mention the correct office, desk, building, room, timings, or contact channel.
+            Do not invent office locations, timings, contact details, or faculty routing that are not present in the provided context.
+            Never claim to take actions you cannot verify.
+
+            {{referenceMaterial}}
+            """)
+    @UserMessage("""
+            Classify and resolve this grievance.
+
+            Context:
+            - category: {{category}}
+            - subcategory: {{subcategory}}
+
+            Resolution guidance:
+            {{resolutionGuidanceContext}}
+
+            Grievance:
+            - title: {{title}}
+            - description: {{description}}
+            - sentiment: {{sentiment}}
+
+            Retrieved cases:
+            {{ragContext}}
+
+            Policy signals:
+            {{policyContext}}
+
+            Comment thread:
+            {{commentContext}}
+
+            Status history:
+            {{statusHistoryContext}}
+            """)
+    Result<CombinedDecision> decide(
+            @V("referenceMaterial") String referenceMaterial,
+            @V("title") String title,
+            @V("description") String description,
+            @V("category") String category,
+            @V("subcategory") String subcategory,
+            @V("sentiment") String sentiment,
+            @V("ragContext") String ragContext,
+            @V("policyContext") String policyContext,
+            @V("commentContext") String commentContext,
+            @V("statusHistoryContext") String statusHistoryContext,
+            @V("resolutionGuidanceContext") String resolutionGuidanceContext
+    );
+}
@@ -2,7 +2,6 @@ package com.college.icrs.ai.agent;
 
 import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.logging.IcrsLog;
-import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Sentiment;
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
@@ -38,23 +37,27 @@ public class GrievanceContextPlannerAgent {
 
     private static final int MAX_TOOL_CALL_ROUNDS = 5;
     private static final int PLANNER_TIMEOUT_BUFFER_SECONDS = 5;
+    static final String ALREADY_FETCHED_RESULT = "Already fetched earlier in this conversation; use the earlier result.";
 
     private final ChatModel chatModel;
     private final IcrsProperties icrsProperties;
     private final GrievanceAgentContextService contextService;
+    private final String systemPrompt;
 
     public GrievanceContextPlannerAgent(
             @Qualifier("plannerChatModel") ChatModel chatModel,
             IcrsProperties icrsProperties,
-            GrievanceAgentContextService contextService
+            GrievanceAgentContextService contextService,
+            PromptReferenceMaterial referenceMaterial
     ) {
         this.chatModel = chatModel;
         this.icrsProperties = icrsProperties;
         this.contextService = contextService;
+        this.systemPrompt = systemPrompt(referenceMaterial.getCatalog());
     }
 
     public ContextCollectionResult collectContext(
-            Grievance grievance,
+            GrievanceSnapshot grievance,
             Sentiment sentiment,
             String ragContext
     ) {
@@ -62,24 +65,25 @@ public class GrievanceContextPlannerAgent {
             return ContextCollectionResult.empty();
         }
 
-        ContextPlannerToolSet toolSet = new ContextPlannerToolSet(grievance.getId(), contextService);
+        ContextPlannerToolSet toolSet = new ContextPlannerToolSet(grievance, contextService);
         LC4jToolService toolService = LC4jToolService.builder()
                 .specification(toolSet)
                 .build();
+        List<ToolSpecification> toolSpecifications = toolService.toolSpecifications();
         Set<String> usedTools = new LinkedHashSet<>();
         List<ChatMessage> messages = new ArrayList<>();
-        messages.add(SystemMessage.from(systemPrompt()));
+        messages.add(SystemMessage.from(systemPrompt));
         messages.add(UserMessage.from(userPrompt(grievance, sentiment, ragContext)));
 
         String plannerTrace = "";
         String routeTrace = "";
 
         for (int round = 1; round <= MAX_TOOL_CALL_ROUNDS; round++) {
-            var availableSpecifications = availableSpecifications(toolService, usedTools);
+            // The tool list is sent unchanged every round so the request prefix stays cacheable.
             ChatRequest request = ChatRequest.builder()
                     .messages(messages)
-                    .toolSpecifications(availableSpecifications)
-                    .toolChoice(availableSpecifications.isEmpty() ? ToolChoice.NONE : ToolChoice.AUTO)
+                    .toolSpecifications(toolSpecifications)
+                    .toolChoice(usedTools.size() < toolSpecifications.size() ? ToolChoice.AUTO : ToolChoice.NONE)
                     .build();
 
             AiMessage aiMessage;
@@ -91,7 +95,7 @@ public class GrievanceContextPlannerAgent {
             } catch (Exception e) {
                 plannerTrace = appendTrace(plannerTrace, "Planner timeout/fallback");
                 log.warn(IcrsLog.event("ai.context-planner.fallback",
-                        "grievanceId", grievance.getId(),
+                        "grievanceId", grievance.id(),
                         "round", round,
                         "reason", e.getClass().getSimpleName()));
                 break;
@@ -103,9 +107,15 @@ public class GrievanceContextPlannerAgent {
                 break;
             }
 
-            List<ToolExecutionRequest> requests = aiMessage.toolExecutionRequests().stream()
-                    .filter(requested -> usedTools.add(requested.name()))
-                    .toList();
+            List<ToolExecutionRequest> requests = new ArrayList<>();
+            List<ToolExecutionRequest> repeated = new ArrayList<>();
+            for (ToolExecutionRequest requested : aiMessage.toolExecutionRequests()) {
+                if (usedTools.add(requested.name())) {
+                    requests.add(requested);
+                } else {
+                    repeated.add(requested);
+                }
+            }
 
             if (requests.isEmpty()) {
                 plannerTrace = appendTrace(plannerTrace, "No new tools requested");
@@ -117,6 +127,8 @@ public class GrievanceContextPlannerAgent {
 
             List<ToolExecutionResultMessage> results = executeTools(toolService, requests);
             messages.addAll(results);
+            // Every tool call in the stored AiMessage needs a result, or the next round's request is rejected.
+            repeated.forEach(duplicate -> messages.add(ToolExecutionResultMessage.from(duplicate, ALREADY_FETCHED_RESULT)));
         }
 
         return new ContextCollectionResult(
@@ -133,34 +145,35 @@ public class GrievanceContextPlannerAgent {
         );
     }
 
-    private String systemPrompt() {
+    private static String systemPrompt(String catalog) {
         return """
                 You are a context-planning agent for a college grievance workflow.
+                Decide whether you need extra institutional context before downstream classification and resolution.
                 Use the available tools only when they will materially improve later classification or resolution.
                 Prefer the smallest useful context set.
                 Do not call the same tool repeatedly.
                 When you have enough context, stop calling tools and reply with a short plain-text note.
-                """;
+
+                %s
+                """.formatted(catalog);
     }
 
-    private String userPrompt(Grievance grievance, Sentiment sentiment, String ragContext) {
+    private String userPrompt(GrievanceSnapshot grievance, Sentiment sentiment, String ragContext) {
         return """
-                Decide whether you need extra institutional context before downstream classification and resolution.
-
                 Grievance:
-                - title: %s
-                - description: %s
                 - category: %s
                 - subcategory: %s
+                - title: %s
+                - description: %s
                 - sentiment: %s
 
                 Retrieved cases:
                 %s
                 """.formatted(
-                safe(grievance.getTitle()),
-                safe(truncate(grievance.getDescription(), icrsProperties.getAi().getMaxDescriptionChars())),
-                grievance.getCategory() != null ? safe(grievance.getCategory().getName()) : "UNKNOWN",
-                grievance.getSubcategory() != null ? safe(grievance.getSubcategory().getName()) : "UNKNOWN",
+                grievance.categoryLabel(),
+                grievance.subcategoryLabel(),
+                safe(grievance.title()),
+                safe(truncate(grievance.description(), icrsProperties.getAi().getMaxDescriptionChars())),
                 sentiment != null ? sentiment.name() : "UNKNOWN",
                 StringUtils.hasText(ragContext) ? ragContext : "No similar cases retrieved."
         );
@@ -190,12 +203,6 @@ public class GrievanceContextPlannerAgent {
                 .orElse("");
     }
 
-    private List<ToolSpecification> availableSpecifications(LC4jToolService toolService, Set<String> usedTools) {
-        return toolService.toolSpecifications().stream()
-                .filter(specification -> !usedTools.contains(specification.name()))
-                .toList();
-    }
-
     private List<ToolExecutionResultMessage> executeTools(LC4jToolService toolService, List<ToolExecutionRequest> requests) {
         InvocationContext context = InvocationContext.builder()
                 .invocationId(UUID.randomUUID())
@@ -234,7 +241,7 @@ public class GrievanceContextPlannerAgent {
 
     static final class ContextPlannerToolSet {
 
-        private final Long grievanceId;
+        private final GrievanceSnapshot grievance;
         private final GrievanceAgentContextService contextService;
 
         private String policyContext = "";
@@ -246,35 +253,35 @@ public class GrievanceContextPlannerAgent {
         private boolean statusHistoryFetched;
         private boolean resolutionGuidanceFetched;
 
-        private ContextPlannerToolSet(Long grievanceId, GrievanceAgentContextService contextService) {
-            this.grievanceId = grievanceId;
+        private ContextPlannerToolSet(GrievanceSnapshot grievance, GrievanceAgentContextService contextService) {
+            this.grievance = grievance;
             this.contextService = contextService;
         }
 
         @Tool("Fetch policy and privacy context for the current grievance. Use when sensitivity, assignment, or institutional guardrails may affect the later decision.")
         public String loadPolicyContext() {
-            policyContext = contextService.buildPolicyContext(grievanceId);
+            policyContext = contextService.buildPolicyContext(grievance);
             policyFetched = true;
             return policyContext;
         }
 
         @Tool("Fetch the recent grievance comment thread. Use only when the discussion history may materially change classification or resolution.")
         public String loadCommentContext() {
-            commentContext = contextService.buildCommentContext(grievanceId);
+            commentContext = contextService.buildCommentContext(grievance.id());
             commentFetched = true;
             return commentContext;
         }
 
         @Tool("Fetch recent grievance status-history transitions. Use when prior workflow changes may affect the current resolution path.")
         public String loadStatusHistoryContext() {
-            statusHistoryContext = contextService.buildStatusHistoryContext(grievanceId);
+            statusHistoryContext = contextService.buildStatusHistoryContext(grievance.id());
             statusHistoryFetched = true;
             return statusHistoryContext;
         }
 
         @Tool("Fetch office, desk, building, room, contact, and open-hours guidance for the grievance category. Use when concrete student-routing guidance would improve the final resolution comment.")
         public String loadResolutionGuidanceContext() {
-            resolutionGuidanceContext = contextService.buildResolutionGuidanceContext(grievanceId);
+            resolutionGuidanceContext = contextService.buildResolutionGuidanceContext(grievance);
             resolutionGuidanceFetched = true;
             return resolutionGuidanceContext;
         }
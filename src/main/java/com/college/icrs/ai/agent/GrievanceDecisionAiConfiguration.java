@@ -1,6 +1,7 @@
 package com.college.icrs.ai.agent;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.service.AiServices;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -10,15 +11,30 @@ import org.springframework.context.annotation.Configuration;
 public class GrievanceDecisionAiConfiguration {
 
     @Bean
-    public GrievanceClassifierAiService grievanceClassifierAiService(@Qualifier("decisionChatModel") ChatModel chatModel) {
+    public GrievanceClassifierAiService grievanceClassifierAiService(
+            @Qualifier("decisionChatModel") ChatModel chatModel,
+            @Qualifier("decisionStreamingChatModel") StreamingChatModel streamingChatModel
+    ) {
         return AiServices.builder(GrievanceClassifierAiService.class)
                 .chatModel(chatModel)
+                .streamingChatModel(streamingChatModel)
                 .build();
     }
 
     @Bean
-    public GrievanceResolverAiService grievanceResolverAiService(@Qualifier("decisionChatModel") ChatModel chatModel) {
+    public GrievanceResolverAiService grievanceResolverAiService(
+            @Qualifier("decisionChatModel") ChatModel chatModel,
+            @Qualifier("decisionStreamingChatModel") StreamingChatModel streamingChatModel
+    ) {
         return AiServices.builder(GrievanceResolverAiService.class)
+                .chatModel(chatModel)
+                .streamingChatModel(streamingChatModel)
+                .build();
+    }
+
+    @Bean
+    public GrievanceCombinedDecisionAiService grievanceCombinedDecisionAiService(@Qualifier("decisionChatModel") ChatModel chatModel) {
+        return AiServices.builder(GrievanceCombinedDecisionAiService.class)
                 .chatModel(chatModel)
                 .build();
     }
@@ -0,0 +1,156 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import com.college.icrs.rag.QueryVectorCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Reuses the LLM decision of a recent grievance for near-duplicates in the same category and
+ * subcategory, matched by cosine similarity of their RAG query vectors. An entry is dropped when its
+ * source grievance is edited, reassigned, moved to another status by hand or commented on, since that
+ * may no longer match the decision. The AI resolution that applies the decision keeps the entry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GrievanceDecisionCache {
+
+    private final QueryVectorCache queryVectorCache;
+    private final IcrsProperties properties;
+    private final LongSupplier clock = System::currentTimeMillis;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+
+    public Optional<CachedDecisionMatch> find(GrievanceSnapshot grievance) {
+        IcrsProperties.Ai.DecisionCache cfg = properties.getAi().getDecisionCache();
+        if (!cfg.isEnabled() || !cacheable(grievance)) {
+            return Optional.empty();
+        }
+        float[] vector = queryVectorCache.vectorFor(grievance.id(), grievance.embeddingText());
+        CachedDecisionMatch best = null;
+        synchronized (this) {
+            evictExpired();
+            for (Map.Entry<Long, Entry> candidate : entries.entrySet()) {
+                Entry entry = candidate.getValue();
+                if (candidate.getKey().equals(grievance.id())
+                        || !entry.categoryName().equals(grievance.categoryName())
+                        || !entry.subcategoryName().equals(grievance.subcategoryName())) {
+                    continue;
+                }
+                double similarity = cosine(vector, entry.vector());
+                if (similarity >= cfg.getSimilarityThreshold() && (best == null || similarity > best.similarity())) {
+                    best = new CachedDecisionMatch(candidate.getKey(), similarity, entry.decision());
+                }
+            }
+            if (best != null) {
+                hits++;
+                entries.get(best.sourceGrievanceId());
+            } else {
+                misses++;
+            }
+            log.info(IcrsLog.event("ai.decision-cache.lookup",
+                    "grievanceId", grievance.id(),
+                    "hit", best != null,
+                    "sourceGrievanceId", best != null ? best.sourceGrievanceId() : null,
+                    "similarity", best != null ? String.format("%.4f", best.similarity()) : null,
+                    "hits", hits,
+                    "misses", misses,
+                    "entries", entries.size()));
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void put(GrievanceSnapshot grievance, CombinedDecision decision) {
+        IcrsProperties.Ai.DecisionCache cfg = properties.getAi().getDecisionCache();
+        if (!cfg.isEnabled() || !cacheable(grievance) || !confident(decision, cfg.getMinConfidence())) {
+            return;
+        }
+        float[] vector = queryVectorCache.vectorFor(grievance.id(), grievance.embeddingText());
+        long expiresAt = clock.getAsLong() + Math.max(cfg.getTtlSeconds(), 1L) * 1000L;
+        synchronized (this) {
+            entries.put(grievance.id(), new Entry(grievance.categoryName(), grievance.subcategoryName(), vector, decision, expiresAt));
+            Iterator<Long> eldest = entries.keySet().iterator();
+            while (entries.size() > Math.max(cfg.getMaxEntries(), 1) && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        log.debug(IcrsLog.event("ai.decision-cache.stored", "grievanceId", grievance.id()));
+    }
+
+    public void invalidate(Long grievanceId) {
+        if (grievanceId == null) {
+            return;
+        }
+        boolean removed;
+        synchronized (this) {
+            removed = entries.remove(grievanceId) != null;
+        }
+        if (removed) {
+            log.info(IcrsLog.event("ai.decision-cache.invalidated", "grievanceId", grievanceId));
+        }
+    }
+
+    private boolean cacheable(GrievanceSnapshot grievance) {
+        return grievance != null
+                && grievance.id() != null
+                && !grievance.sensitiveCategory()
+                && !grievance.hideIdentity()
+                && StringUtils.hasText(grievance.categoryName())
+                && StringUtils.hasText(grievance.subcategoryName())
+                && StringUtils.hasText(grievance.embeddingText());
+    }
+
+    private boolean confident(CombinedDecision decision, double minConfidence) {
+        return decision != null
+                && StringUtils.hasText(decision.getPriority())
+                && StringUtils.hasText(decision.getResolutionText())
+                && decision.getClassificationConfidence() != null
+                && decision.getClassificationConfidence() >= minConfidence
+                && decision.getResolutionConfidence() != null
+                && decision.getResolutionConfidence() >= minConfidence;
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    static double cosine(float[] left, float[] right) {
+        if (left == null || right == null || left.length != right.length || left.length == 0) {
+            return 0.0d;
+        }
+        double dot = 0.0d;
+        double leftNorm = 0.0d;
+        double rightNorm = 0.0d;
+        for (int i = 0; i < left.length; i++) {
+            dot += left[i] * right[i];
+            leftNorm += left[i] * left[i];
+            rightNorm += right[i] * right[i];
+        }
+        if (leftNorm == 0.0d || rightNorm == 0.0d) {
+            return 0.0d;
+        }
+        return dot / (Math.sqrt(leftNorm) * Math.sqrt(rightNorm));
+    }
+
+    private record Entry(
+            String categoryName,
+            String subcategoryName,
+            float[] vector,
+            CombinedDecision decision,
+            long expiresAtMillis
+    ) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.ai.knowledge.ResolutionGuidanceEntry;
+import com.college.icrs.ai.knowledge.ResolutionGuidanceService;
+import com.college.icrs.ai.policy.AutoResolutionPolicyService;
+import com.college.icrs.ai.policy.RoutineAutoResolveRule;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import com.college.icrs.model.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides routine grievances from the auto-resolution rules and the resolution guidance knowledge
+ * base, so the workflow can skip the planner and decision LLM calls for them. A phrase match says
+ * nothing about how well the templated resolution fits, so fast-path decisions only request
+ * auto-resolution when the deployment opts in with {@code icrs.ai.fast-path.auto-resolve}; otherwise
+ * the templated resolution is left as a recommendation for manual review.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GrievanceFastPathService {
+
+    private final IcrsProperties icrsProperties;
+    private final AutoResolutionPolicyService autoResolutionPolicyService;
+    private final ResolutionGuidanceService resolutionGuidanceService;
+
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+
+    public Optional<FastPathDecision> match(GrievanceSnapshot grievance) {
+        IcrsProperties.Ai.FastPath fastPath = icrsProperties.getAi().getFastPath();
+        if (!fastPath.isEnabled() || grievance == null) {
+            return Optional.empty();
+        }
+        Optional<FastPathDecision> decision = eligible(grievance)
+                ? findDecision(grievance, fastPath)
+                : Optional.empty();
+
+        long evaluatedCount = evaluated.incrementAndGet();
+        long matchedCount = decision.isPresent() ? matched.incrementAndGet() : matched.get();
+        log.info(IcrsLog.event("ai.fast-path.evaluated",
+                "grievanceId", grievance.id(),
+                "matched", decision.isPresent(),
+                "rule", decision.map(FastPathDecision::rule).orElse(null),
+                "matchedTotal", matchedCount,
+                "evaluatedTotal", evaluatedCount,
+                "share", String.format("%.3f", (double) matchedCount / evaluatedCount)));
+        return decision;
+    }
+
+    private boolean eligible(GrievanceSnapshot grievance) {
+        return !grievance.sensitiveCategory()
+                && !grievance.hideIdentity()
+                && grievance.status() != Status.RESOLVED;
+    }
+
+    private Optional<FastPathDecision> findDecision(GrievanceSnapshot grievance, IcrsProperties.Ai.FastPath fastPath) {
+        Optional<RoutineAutoResolveRule> rule = autoResolutionPolicyService.findFastPathRule(
+                grievance.categoryName(),
+                grievance.subcategoryName(),
+                grievance.title(),
+                grievance.description()
+        );
+        if (rule.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<String> resolutionText = resolutionGuidanceService
+                .findGuidance(grievance.categoryName(), grievance.subcategoryName())
+                .map(this::resolutionText)
+                .filter(StringUtils::hasText);
+        if (resolutionText.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CombinedDecision decision = new CombinedDecision();
+        decision.setPriority(rule.get().getFastPathPriority());
+        decision.setAiTitle(rule.get().getFastPathTitle());
+        decision.setClassificationConfidence(fastPath.getConfidence());
+        decision.setAutoResolve(fastPath.isAutoResolve());
+        decision.setResolutionText(resolutionText.get());
+        decision.setInternalComment(fastPath.isAutoResolve()
+                ? "Decided by routine rule '%s' without LLM calls.".formatted(rule.get().getName())
+                : "Matched routine rule '%s' without LLM calls; templated resolution needs review.".formatted(rule.get().getName()));
+        decision.setResolutionConfidence(fastPath.getConfidence());
+        return Optional.of(new FastPathDecision(rule.get().getName(), decision));
+    }
+
+    private String resolutionText(ResolutionGuidanceEntry guidance) {
+        List<String> sentences = new ArrayList<>();
+        String desk = firstText(guidance.getFacultyOrDesk(), guidance.getOfficeName());
+        if (desk != null) {
+            sentences.add("Your request is handled by the " + desk + ".");
+        }
+        String location = join(guidance.getOfficeName(), guidance.getBuilding(), guidance.getFloor(),
+                StringUtils.hasText(guidance.getRoom()) ? "room " + guidance.getRoom().trim() : null);
+        if (location != null) {
+            sentences.add("Please visit " + location
+                    + (StringUtils.hasText(guidance.getOpenHours()) ? " (" + guidance.getOpenHours().trim() + ")" : "") + ".");
+        }
+        if (StringUtils.hasText(guidance.getStudentAction())) {
+            sentences.add(guidance.getStudentAction().trim());
+        }
+        String contact = join(guidance.getContactEmail(), guidance.getContactPhone());
+        if (contact != null) {
+            sentences.add("Contact: " + contact + ".");
+        }
+        return String.join(" ", sentences);
+    }
+
+    private String firstText(String... values) {
+        for (String value : values) {
+            if (StringUtils.hasText(value)) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private String join(String... values) {
+        List<String> parts = new ArrayList<>();
+        for (String value : values) {
+            if (StringUtils.hasText(value)) {
+                parts.add(value.trim());
+            }
+        }
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+}
@@ -1,17 +1,19 @@
 package com.college.icrs.ai.agent;
 
+import dev.langchain4j.service.Result;
 import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.UserMessage;
 import dev.langchain4j.service.V;
 
 public interface GrievanceResolverAiService {
 
-    @SystemMessage("""
+    String SYSTEM_PROMPT = """
             You are an AI resolution assistant for a college grievance system.
             Return only valid JSON for the structured resolution object.
             Keep resolutionText concise, factual, and actionable.
             Output JSON with exactly these keys:
-            {"autoResolve":false,"resolutionText":"Student-facing resolution text","internalComment":"Internal operator note","confidence":0.68}
+            {"autoResolve":false,"confidence":0.68,"resolutionText":"Student-facing resolution text","internalComment":"Internal operator note"}
             When resolution guidance is available, use it to mention the correct office, desk, building, room, timings, or contact channel.
             Set autoResolve=true only for routine, low-risk, non-sensitive operational issues when a concrete action path is available
             and normal office handling is enough to close the issue without further investigation.
@@ -39,15 +41,23 @@ public interface GrievanceResolverAiService {
             - missing marks needing faculty verification -> autoResolve=false
             - scholarship amount dispute -> autoResolve=false
             - harassment complaint -> autoResolve=false
-            """)
-    @UserMessage("""
+
+            {{referenceMaterial}}
+            """;
+
+    String USER_PROMPT = """
             Generate a resolution decision for this grievance.
 
             Context:
-            - title: {{title}}
-            - description: {{description}}
             - category: {{category}}
             - subcategory: {{subcategory}}
+
+            Resolution guidance:
+            {{resolutionGuidanceContext}}
+
+            Grievance:
+            - title: {{title}}
+            - description: {{description}}
             - sentiment: {{sentiment}}
             - classificationTitle: {{classificationTitle}}
 
@@ -62,11 +72,29 @@ public interface GrievanceResolverAiService {
 
             Status history:
             {{statusHistoryContext}}
+            """;
 
-            Resolution guidance:
-            {{resolutionGuidanceContext}}
-            """)
-    ResolutionDecision resolve(
+    @SystemMessage(SYSTEM_PROMPT)
+    @UserMessage(USER_PROMPT)
+    Result<ResolutionDecision> resolve(
+            @V("referenceMaterial") String referenceMaterial,
+            @V("title") String title,
+            @V("description") String description,
+            @V("category") String category,
+            @V("subcategory") String subcategory,
+            @V("sentiment") String sentiment,
+            @V("classificationTitle") String classificationTitle,
+            @V("ragContext") String ragContext,
+            @V("policyContext") String policyContext,
+            @V("commentContext") String commentContext,
+            @V("statusHistoryContext") String statusHistoryContext,
+            @V("resolutionGuidanceContext") String resolutionGuidanceContext
+    );
+
+    @SystemMessage(SYSTEM_PROMPT)
+    @UserMessage(USER_PROMPT)
+    TokenStream resolveStreaming(
+            @V("referenceMaterial") String referenceMaterial,
             @V("title") String title,
             @V("description") String description,
             @V("category") String category,
@@ -0,0 +1,53 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.model.Category;
+import com.college.icrs.model.Grievance;
+import com.college.icrs.model.Status;
+
+import java.io.Serializable;
+
+public record GrievanceSnapshot(
+        Long id,
+        String title,
+        String description,
+        String categoryName,
+        String subcategoryName,
+        boolean sensitiveCategory,
+        boolean hideIdentity,
+        String registrationNumber,
+        Status status,
+        String aiTitle,
+        String assignedToEmail,
+        String embeddingText
+) implements Serializable {
+
+    public static GrievanceSnapshot from(Grievance grievance, String embeddingText) {
+        Category category = grievance.getCategory();
+        return new GrievanceSnapshot(
+                grievance.getId(),
+                grievance.getTitle(),
+                grievance.getDescription(),
+                category != null ? category.getName() : null,
+                grievance.getSubcategory() != null ? grievance.getSubcategory().getName() : null,
+                category != null && Boolean.TRUE.equals(category.getSensitive()),
+                category != null && Boolean.TRUE.equals(category.getHideIdentity()),
+                grievance.getRegistrationNumber(),
+                grievance.getStatus(),
+                grievance.getAiTitle(),
+                grievance.getAssignedTo() != null ? safe(grievance.getAssignedTo().getEmail()) : null,
+                embeddingText
+        );
+    }
+
+    public String categoryLabel() {
+        return categoryName != null ? categoryName : "UNKNOWN";
+    }
+
+    public String subcategoryLabel() {
+        return subcategoryName != null ? subcategoryName : "UNKNOWN";
+    }
+
+    private static String safe(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -1,61 +1,175 @@
 package com.college.icrs.ai.agent;
 
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.extern.slf4j.Slf4j;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.GraphDefinition;
 import org.bsc.langgraph4j.GraphStateException;
+import org.bsc.langgraph4j.RunnableConfig;
 import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
 
 @Component
+@Slf4j
 public class GrievanceWorkflowGraph {
 
+    private static final List<String> SEPARATE_NODE_ORDER = List.of(
+            GrievanceWorkflowNodeNames.LOAD_GRIEVANCE,
+            GrievanceWorkflowNodeNames.MATCH_FAST_PATH,
+            GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT,
+            GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT,
+            GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION,
+            GrievanceWorkflowNodeNames.COLLECT_CONTEXT,
+            GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE,
+            GrievanceWorkflowNodeNames.PERSIST_AI_METADATA,
+            GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE,
+            GrievanceWorkflowNodeNames.FINALIZE_DECISION
+    );
+    private static final List<String> COMBINED_NODE_ORDER = List.of(
+            GrievanceWorkflowNodeNames.LOAD_GRIEVANCE,
+            GrievanceWorkflowNodeNames.MATCH_FAST_PATH,
+            GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT,
+            GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT,
+            GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION,
+            GrievanceWorkflowNodeNames.COLLECT_CONTEXT,
+            GrievanceWorkflowNodeNames.DECIDE_GRIEVANCE,
+            GrievanceWorkflowNodeNames.PERSIST_AI_METADATA,
+            GrievanceWorkflowNodeNames.FINALIZE_DECISION
+    );
+
+    private static final String REUSED_DECISION_ROUTE = "reused-decision";
+    private static final String AGENTIC_ROUTE = "agentic";
+
     private final GrievanceAgentTools tools;
     private final GrievanceWorkflowNodeHandler nodeHandler;
+    private final RunnableConfig runnableConfig;
+    private final List<String> nodeOrder;
     private final CompiledGraph<GrievanceAgentState> graph;
 
     public GrievanceWorkflowGraph(
             GrievanceAgentTools tools,
-            GrievanceWorkflowNodeHandler nodeHandler
+            GrievanceWorkflowNodeHandler nodeHandler,
+            IcrsProperties icrsProperties,
+            @Qualifier("aiWorkflowBranchExecutor") Executor branchExecutor
     ) {
         this.tools = tools;
         this.nodeHandler = nodeHandler;
+        this.nodeOrder = icrsProperties.getAi().getDecisionMode() == IcrsProperties.Ai.DecisionMode.COMBINED
+                ? COMBINED_NODE_ORDER
+                : SEPARATE_NODE_ORDER;
+        this.runnableConfig = RunnableConfig.builder()
+                .addParallelNodeExecutor(GrievanceWorkflowNodeNames.GATHER_SIGNALS, branchExecutor)
+                .build();
         this.graph = compileGraph();
     }
 
     public com.college.icrs.model.Grievance process(Long grievanceId) {
-        Optional<GrievanceAgentState> result = graph.invoke(Map.of(GrievanceAgentState.GRIEVANCE_ID, grievanceId));
+        long startedAt = System.nanoTime();
+        Optional<GrievanceAgentState> result = graph.invoke(Map.of(GrievanceAgentState.GRIEVANCE_ID, grievanceId), runnableConfig);
         if (result.isEmpty()) {
             throw new IllegalStateException("Workflow graph returned no grievance state");
         }
+        logLatencyBreakdown(grievanceId, elapsedMillis(startedAt), result.get().nodeLatencies());
         return tools.loadGrievance(grievanceId);
     }
 
     private CompiledGraph<GrievanceAgentState> compileGraph() {
         try {
             StateGraph<GrievanceAgentState> workflow = new StateGraph<>(GrievanceAgentState::new);
-            workflow.addNode(GrievanceWorkflowNodeNames.LOAD_GRIEVANCE, nodeHandler::loadGrievance);
-            workflow.addNode(GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT, nodeHandler::analyzeSentiment);
-            workflow.addNode(GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT, nodeHandler::retrieveRagContext);
-            workflow.addNode(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, nodeHandler::collectContext);
-            workflow.addNode(GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE, nodeHandler::classifyGrievance);
-            workflow.addNode(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, nodeHandler::persistAiMetadata);
-            workflow.addNode(GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE, nodeHandler::resolveGrievance);
-            workflow.addNode(GrievanceWorkflowNodeNames.FINALIZE_DECISION, nodeHandler::finalizeDecision);
+            workflow.addNode(GrievanceWorkflowNodeNames.LOAD_GRIEVANCE, timed(GrievanceWorkflowNodeNames.LOAD_GRIEVANCE, nodeHandler::loadGrievance));
+            workflow.addNode(GrievanceWorkflowNodeNames.MATCH_FAST_PATH, timed(GrievanceWorkflowNodeNames.MATCH_FAST_PATH, nodeHandler::matchFastPath));
+            workflow.addNode(GrievanceWorkflowNodeNames.GATHER_SIGNALS, nodeHandler::gatherSignals);
+            workflow.addNode(GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT, timed(GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT, nodeHandler::analyzeSentiment));
+            workflow.addNode(GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT, timed(GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT, nodeHandler::retrieveRagContext));
+            workflow.addNode(GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION, timed(GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION, nodeHandler::matchCachedDecision));
+            workflow.addNode(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, timed(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, nodeHandler::collectContext));
+            workflow.addNode(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, timed(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, nodeHandler::persistAiMetadata));
+            workflow.addNode(GrievanceWorkflowNodeNames.FINALIZE_DECISION, timed(GrievanceWorkflowNodeNames.FINALIZE_DECISION, nodeHandler::finalizeDecision));
             workflow.addEdge(GraphDefinition.START, GrievanceWorkflowNodeNames.LOAD_GRIEVANCE);
-            workflow.addEdge(GrievanceWorkflowNodeNames.LOAD_GRIEVANCE, GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT);
-            workflow.addEdge(GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT, GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT);
-            workflow.addEdge(GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT, GrievanceWorkflowNodeNames.COLLECT_CONTEXT);
-            workflow.addEdge(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE);
-            workflow.addEdge(GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE, GrievanceWorkflowNodeNames.PERSIST_AI_METADATA);
-            workflow.addEdge(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE);
-            workflow.addEdge(GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE, GrievanceWorkflowNodeNames.FINALIZE_DECISION);
+            workflow.addEdge(GrievanceWorkflowNodeNames.LOAD_GRIEVANCE, GrievanceWorkflowNodeNames.MATCH_FAST_PATH);
+            // The routine rules only read the grievance itself, so a match skips sentiment, retrieval and every LLM node.
+            workflow.addConditionalEdges(
+                    GrievanceWorkflowNodeNames.MATCH_FAST_PATH,
+                    edge_async(state -> state.fastPathRule() != null ? REUSED_DECISION_ROUTE : AGENTIC_ROUTE),
+                    Map.of(
+                            REUSED_DECISION_ROUTE, GrievanceWorkflowNodeNames.FINALIZE_DECISION,
+                            AGENTIC_ROUTE, GrievanceWorkflowNodeNames.GATHER_SIGNALS
+                    )
+            );
+            // Sentiment and RAG retrieval are independent, so they fan out from GATHER_SIGNALS and join at MATCH_CACHED_DECISION.
+            workflow.addEdge(GrievanceWorkflowNodeNames.GATHER_SIGNALS, GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT);
+            workflow.addEdge(GrievanceWorkflowNodeNames.GATHER_SIGNALS, GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT);
+            workflow.addEdge(GrievanceWorkflowNodeNames.ANALYZE_SENTIMENT, GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION);
+            workflow.addEdge(GrievanceWorkflowNodeNames.RETRIEVE_RAG_CONTEXT, GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION);
+            // A cached near-duplicate decision already carries the classification and resolution, so it skips every LLM node.
+            workflow.addConditionalEdges(
+                    GrievanceWorkflowNodeNames.MATCH_CACHED_DECISION,
+                    edge_async(state -> state.cachedDecisionSourceId() != null ? REUSED_DECISION_ROUTE : AGENTIC_ROUTE),
+                    Map.of(
+                            REUSED_DECISION_ROUTE, GrievanceWorkflowNodeNames.FINALIZE_DECISION,
+                            AGENTIC_ROUTE, GrievanceWorkflowNodeNames.COLLECT_CONTEXT
+                    )
+            );
+            if (nodeOrder == COMBINED_NODE_ORDER) {
+                // One structured call returns both the classification and the resolution.
+                workflow.addNode(GrievanceWorkflowNodeNames.DECIDE_GRIEVANCE, timed(GrievanceWorkflowNodeNames.DECIDE_GRIEVANCE, nodeHandler::decideGrievance));
+                workflow.addEdge(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, GrievanceWorkflowNodeNames.DECIDE_GRIEVANCE);
+                workflow.addEdge(GrievanceWorkflowNodeNames.DECIDE_GRIEVANCE, GrievanceWorkflowNodeNames.PERSIST_AI_METADATA);
+                workflow.addEdge(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, GrievanceWorkflowNodeNames.FINALIZE_DECISION);
+            } else {
+                workflow.addNode(GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE, timed(GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE, nodeHandler::classifyGrievance));
+                workflow.addNode(GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE, timed(GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE, nodeHandler::resolveGrievance));
+                workflow.addEdge(GrievanceWorkflowNodeNames.COLLECT_CONTEXT, GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE);
+                workflow.addEdge(GrievanceWorkflowNodeNames.CLASSIFY_GRIEVANCE, GrievanceWorkflowNodeNames.PERSIST_AI_METADATA);
+                workflow.addEdge(GrievanceWorkflowNodeNames.PERSIST_AI_METADATA, GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE);
+                workflow.addEdge(GrievanceWorkflowNodeNames.RESOLVE_GRIEVANCE, GrievanceWorkflowNodeNames.FINALIZE_DECISION);
+            }
             workflow.addEdge(GrievanceWorkflowNodeNames.FINALIZE_DECISION, GraphDefinition.END);
             return workflow.compile();
         } catch (GraphStateException e) {
             throw new IllegalStateException("Failed to initialize grievance workflow graph", e);
         }
     }
+
+    private AsyncNodeAction<GrievanceAgentState> timed(String nodeName, AsyncNodeAction<GrievanceAgentState> action) {
+        return state -> {
+            long startedAt = System.nanoTime();
+            return action.apply(state).thenApply(updates -> {
+                long durationMs = elapsedMillis(startedAt);
+                log.debug(IcrsLog.event("ai.workflow.node.completed",
+                        "grievanceId", state.grievanceId(),
+                        "node", nodeName,
+                        "durationMs", durationMs));
+                Map<String, Object> timedUpdates = new HashMap<>(updates);
+                timedUpdates.put(GrievanceAgentState.nodeLatencyKey(nodeName), durationMs);
+                return timedUpdates;
+            });
+        };
+    }
+
+    private void logLatencyBreakdown(Long grievanceId, long totalMs, Map<String, Long> nodeLatencies) {
+        List<Object> keyValues = new ArrayList<>(List.of("grievanceId", grievanceId, "totalMs", totalMs));
+        for (String nodeName : nodeOrder) {
+            keyValues.add(nodeName);
+            keyValues.add(nodeLatencies.get(nodeName));
+        }
+        log.info(IcrsLog.event("ai.workflow.latency", keyValues.toArray()));
+    }
+
+    private long elapsedMillis(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
 }
@@ -1,12 +1,14 @@
 package com.college.icrs.ai.agent;
 
 import com.college.icrs.ai.service.SentimentAnalysisService;
+import com.college.icrs.model.Grievance;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -17,13 +19,17 @@ public class GrievanceWorkflowNodeHandler {
 
     public CompletableFuture<Map<String, Object>> loadGrievance(GrievanceAgentState state) {
         Long grievanceId = state.grievanceId();
-        tools.loadGrievance(grievanceId);
+        GrievanceSnapshot snapshot = tools.loadSnapshot(grievanceId);
+        return CompletableFuture.completedFuture(Map.of(GrievanceAgentState.GRIEVANCE_SNAPSHOT, snapshot));
+    }
+
+    /** No-op branch point; the graph fans out to sentiment analysis and RAG retrieval from here. */
+    public CompletableFuture<Map<String, Object>> gatherSignals(GrievanceAgentState state) {
         return CompletableFuture.completedFuture(Map.of());
     }
 
     public CompletableFuture<Map<String, Object>> analyzeSentiment(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
-        SentimentAnalysisService.SentimentDecision decision = tools.analyzeSentiment(tools.loadGrievance(grievanceId));
+        SentimentAnalysisService.SentimentDecision decision = tools.analyzeSentiment(state.grievance());
         Map<String, Object> updates = new HashMap<>();
         if (decision != null && decision.sentiment() != null) {
             updates.put(GrievanceAgentState.SENTIMENT, decision.sentiment().name());
@@ -35,17 +41,36 @@ public class GrievanceWorkflowNodeHandler {
     }
 
     public CompletableFuture<Map<String, Object>> retrieveRagContext(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
         String contextSection = tools.buildContextSection(
-                tools.retrieveSimilar(tools.loadGrievance(grievanceId))
+                tools.retrieveSimilar(state.grievance())
         );
         return CompletableFuture.completedFuture(Map.of(GrievanceAgentState.RAG_CONTEXT_SECTION, contextSection));
     }
 
+    public CompletableFuture<Map<String, Object>> matchFastPath(GrievanceAgentState state) {
+        Optional<FastPathDecision> match = tools.matchFastPath(state.grievance());
+        if (match.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        Map<String, Object> updates = reusedDecisionUpdates(state, match.get().decision(), DecisionProvenance.fastPath(match.get().rule()));
+        updates.put(GrievanceAgentState.FAST_PATH_RULE, match.get().rule());
+        return CompletableFuture.completedFuture(updates);
+    }
+
+    public CompletableFuture<Map<String, Object>> matchCachedDecision(GrievanceAgentState state) {
+        Optional<CachedDecisionMatch> match = tools.matchCachedDecision(state.grievance());
+        if (match.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        Long sourceGrievanceId = match.get().sourceGrievanceId();
+        Map<String, Object> updates = reusedDecisionUpdates(state, match.get().decision(), DecisionProvenance.cachedFrom(sourceGrievanceId));
+        updates.put(GrievanceAgentState.CACHED_DECISION_SOURCE_ID, sourceGrievanceId);
+        return CompletableFuture.completedFuture(updates);
+    }
+
     public CompletableFuture<Map<String, Object>> collectContext(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
         ContextCollectionResult result = tools.collectContext(
-                tools.loadGrievance(grievanceId),
+                state.grievance(),
                 state.sentiment(),
                 state.ragContextSection()
         );
@@ -64,10 +89,9 @@ public class GrievanceWorkflowNodeHandler {
     }
 
     public CompletableFuture<Map<String, Object>> classifyGrievance(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
         try {
             ClassificationDecision decision = tools.classify(
-                    tools.loadGrievance(grievanceId),
+                    state.grievance(),
                     state.sentiment(),
                     state.ragContextSection(),
                     state.policyContextSection(),
@@ -81,23 +105,25 @@ public class GrievanceWorkflowNodeHandler {
     }
 
     public CompletableFuture<Map<String, Object>> persistAiMetadata(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
-        tools.applyClassificationMetadata(
-                grievanceId,
+        Grievance updated = tools.applyClassificationMetadata(
+                state.grievance(),
                 state.sentiment(),
                 state.sentimentModelName(),
                 state.classificationPriority(),
                 state.classificationAiTitle(),
-                state.classificationConfidence()
+                state.classificationConfidence(),
+                state.provenance()
         );
-        return CompletableFuture.completedFuture(Map.of());
+        if (updated == null) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return CompletableFuture.completedFuture(Map.of(GrievanceAgentState.GRIEVANCE_SNAPSHOT, tools.snapshotOf(updated)));
     }
 
     public CompletableFuture<Map<String, Object>> resolveGrievance(GrievanceAgentState state) {
-        Long grievanceId = state.grievanceId();
         try {
             ResolutionDecision decision = tools.resolve(
-                    tools.loadGrievance(grievanceId),
+                    state.grievance(),
                     state.sentiment(),
                     state.ragContextSection(),
                     state.policyContextSection(),
@@ -111,6 +137,28 @@ public class GrievanceWorkflowNodeHandler {
         }
     }
 
+    public CompletableFuture<Map<String, Object>> decideGrievance(GrievanceAgentState state) {
+        try {
+            CombinedDecision decision = tools.decide(
+                    state.grievance(),
+                    state.sentiment(),
+                    state.ragContextSection(),
+                    state.policyContextSection(),
+                    state.commentContextSection(),
+                    state.statusHistoryContextSection(),
+                    state.resolutionGuidanceContextSection()
+            );
+            Map<String, Object> updates = new HashMap<>();
+            if (decision != null) {
+                updates.putAll(classificationUpdates(decision.classification()));
+                updates.putAll(resolutionUpdates(decision.resolution()));
+            }
+            return CompletableFuture.completedFuture(updates);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     public CompletableFuture<Map<String, Object>> finalizeDecision(GrievanceAgentState state) {
         Long grievanceId = state.grievanceId();
         tools.finalizeDecision(
@@ -120,11 +168,47 @@ public class GrievanceWorkflowNodeHandler {
                 state.resolutionAutoResolve(),
                 state.resolutionText(),
                 state.resolutionInternalComment(),
-                state.resolutionConfidence()
+                state.resolutionConfidence(),
+                state.provenance()
         );
+        if (state.provenance().llmDecision()) {
+            tools.cacheDecision(state.grievance(), decisionOf(state));
+        }
         return CompletableFuture.completedFuture(Map.of());
     }
 
+    /** Writes a decision that was not produced by the LLM nodes, including the classification metadata they would persist. */
+    private Map<String, Object> reusedDecisionUpdates(GrievanceAgentState state, CombinedDecision decision, DecisionProvenance provenance) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.putAll(classificationUpdates(decision.classification()));
+        updates.putAll(resolutionUpdates(decision.resolution()));
+        Grievance updated = tools.applyClassificationMetadata(
+                state.grievance(),
+                state.sentiment(),
+                state.sentimentModelName(),
+                decision.getPriority(),
+                decision.getAiTitle(),
+                decision.getClassificationConfidence(),
+                provenance
+        );
+        if (updated != null) {
+            updates.put(GrievanceAgentState.GRIEVANCE_SNAPSHOT, tools.snapshotOf(updated));
+        }
+        return updates;
+    }
+
+    private CombinedDecision decisionOf(GrievanceAgentState state) {
+        CombinedDecision decision = new CombinedDecision();
+        decision.setPriority(state.classificationPriority());
+        decision.setAiTitle(state.classificationAiTitle());
+        decision.setClassificationConfidence(state.classificationConfidence());
+        decision.setAutoResolve(state.resolutionAutoResolve());
+        decision.setResolutionText(state.resolutionText());
+        decision.setInternalComment(state.resolutionInternalComment());
+        decision.setResolutionConfidence(state.resolutionConfidence());
+        return decision;
+    }
+
     private Map<String, Object> classificationUpdates(ClassificationDecision decision) {
         Map<String, Object> updates = new HashMap<>();
         if (decision != null && StringUtils.hasText(decision.getPriority())) {
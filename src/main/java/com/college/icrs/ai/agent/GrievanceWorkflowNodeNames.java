@@ -3,12 +3,16 @@ package com.college.icrs.ai.agent;
 public final class GrievanceWorkflowNodeNames {
 
     public static final String LOAD_GRIEVANCE = "load-grievance";
+    public static final String MATCH_FAST_PATH = "match-fast-path";
+    public static final String GATHER_SIGNALS = "gather-signals";
     public static final String ANALYZE_SENTIMENT = "analyze-sentiment";
     public static final String RETRIEVE_RAG_CONTEXT = "retrieve-rag-context";
+    public static final String MATCH_CACHED_DECISION = "match-cached-decision";
     public static final String COLLECT_CONTEXT = "collect-context";
     public static final String CLASSIFY_GRIEVANCE = "classify-grievance";
     public static final String PERSIST_AI_METADATA = "persist-ai-metadata";
     public static final String RESOLVE_GRIEVANCE = "resolve-grievance";
+    public static final String DECIDE_GRIEVANCE = "decide-grievance";
     public static final String FINALIZE_DECISION = "finalize-decision";
 
     private GrievanceWorkflowNodeNames() {
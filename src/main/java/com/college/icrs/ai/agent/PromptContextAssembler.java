@@ -0,0 +1,171 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fits the prompt context sections into one token budget. Sections are listed in priority order:
+ * each first gets up to {@code min-section-tokens}, then the remaining budget is handed out in the
+ * same order. A section over its allowance keeps whole lines from its head (or tail, for
+ * chronological sections) and cuts the boundary line at a word.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PromptContextAssembler {
+
+    private final IcrsProperties properties;
+
+    public Map<String, String> assemble(String stage, Long grievanceId, List<Section> sections) {
+        IcrsProperties.Ai.PromptContext cfg = properties.getAi().getPromptContext();
+        int count = sections.size();
+        String[] formatted = new String[count];
+        int[] needed = new int[count];
+        for (int i = 0; i < count; i++) {
+            Section section = sections.get(i);
+            formatted[i] = StringUtils.hasText(section.content()) ? section.title() + ":\n" + section.content().trim() : "";
+            needed[i] = estimateTokens(formatted[i]);
+        }
+
+        int budget = cfg.getTokenBudget();
+        int[] allowance = budget > 0 ? allocate(needed, budget, Math.max(cfg.getMinSectionTokens(), 0)) : needed;
+
+        Map<String, String> assembled = new LinkedHashMap<>();
+        List<Object> spent = new ArrayList<>(Arrays.asList("grievanceId", grievanceId, "stage", stage, "budget", budget));
+        int total = 0;
+        int trimmed = 0;
+        for (int i = 0; i < count; i++) {
+            Section section = sections.get(i);
+            String text = needed[i] <= allowance[i] ? formatted[i] : fit(section, allowance[i]);
+            int tokens = needed[i] <= allowance[i] ? needed[i] : estimateTokens(text);
+            assembled.put(section.title(), text);
+            spent.add(logKey(section.title()));
+            spent.add(tokens);
+            total += tokens;
+            trimmed += needed[i] - tokens;
+        }
+        spent.addAll(List.of("tokens", total, "trimmedTokens", trimmed));
+        log.info(IcrsLog.event("ai.prompt.context", spent.toArray()));
+        return assembled;
+    }
+
+    static int[] allocate(int[] needed, int budget, int minSectionTokens) {
+        int[] allowance = new int[needed.length];
+        int remaining = budget;
+        for (int i = 0; i < needed.length && remaining > 0; i++) {
+            allowance[i] = Math.min(Math.min(needed[i], minSectionTokens), remaining);
+            remaining -= allowance[i];
+        }
+        for (int i = 0; i < needed.length && remaining > 0; i++) {
+            int extra = Math.min(needed[i] - allowance[i], remaining);
+            allowance[i] += extra;
+            remaining -= extra;
+        }
+        return allowance;
+    }
+
+    private static String fit(Section section, int allowance) {
+        String header = section.title() + ":";
+        int remaining = allowance - estimateTokens(header);
+        List<String> lines = List.of(section.content().trim().split("\n"));
+        List<String> kept = new ArrayList<>();
+        for (int n = 0; n < lines.size() && remaining > 0; n++) {
+            String line = lines.get(section.keepTail() ? lines.size() - 1 - n : n);
+            int tokens = estimateTokens(line);
+            if (tokens > remaining) {
+                String clipped = clip(line, remaining);
+                if (!clipped.isEmpty()) {
+                    kept.add(clipped);
+                }
+                break;
+            }
+            kept.add(line);
+            remaining -= tokens;
+        }
+        if (kept.isEmpty()) {
+            return "";
+        }
+        if (section.keepTail()) {
+            kept = kept.reversed();
+        }
+        return header + "\n" + String.join("\n", kept);
+    }
+
+    private static String clip(String line, int tokens) {
+        StringBuilder clipped = new StringBuilder();
+        int used = 0;
+        for (String word : line.split(" ")) {
+            int cost = estimateTokens(word);
+            if (used + cost > tokens) {
+                break;
+            }
+            if (!clipped.isEmpty()) {
+                clipped.append(' ');
+            }
+            clipped.append(word);
+            used += cost;
+        }
+        return clipped.toString();
+    }
+
+    /**
+     * Approximates BPE token counts without a tokenizer: one token per punctuation mark and one per
+     * six letters or digits of each word, which slightly overestimates English prose.
+     */
+    static int estimateTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int wordLength = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            if (wordLength > 0) {
+                tokens += 1 + (wordLength - 1) / 6;
+                wordLength = 0;
+            }
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        if (wordLength > 0) {
+            tokens += 1 + (wordLength - 1) / 6;
+        }
+        return tokens;
+    }
+
+    private static String logKey(String title) {
+        String[] words = title.toLowerCase(Locale.ROOT).split(" ");
+        StringBuilder key = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            key.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        return key.append("Tokens").toString();
+    }
+
+    public record Section(String title, String content, boolean keepTail) {
+
+        public static Section head(String title, String content) {
+            return new Section(title, content, false);
+        }
+
+        public static Section tail(String title, String content) {
+            return new Section(title, content, true);
+        }
+    }
+}
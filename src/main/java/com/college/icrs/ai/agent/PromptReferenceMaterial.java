@@ -0,0 +1,26 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.logging.IcrsLog;
+import com.college.icrs.service.CategoryCatalogDefinitions;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Static reference text that opens every planner and decision system prompt. It is rendered once, so each
+ * request starts with the same bytes and the provider can serve that prefix from its prompt cache. Resolution
+ * guidance stays out of it: only the entry matched to the grievance is sent, in the budgeted context sections.
+ */
+@Component
+@Getter
+@Slf4j
+public class PromptReferenceMaterial {
+
+    private final String catalog;
+
+    public PromptReferenceMaterial(CategoryCatalogDefinitions catalogDefinitions) {
+        this.catalog = "Grievance category catalog:\n" + catalogDefinitions.describe();
+        log.info(IcrsLog.event("ai.prompt.reference.loaded",
+                "catalogTokens", PromptContextAssembler.estimateTokens(catalog)));
+    }
+}
@@ -0,0 +1,210 @@
+package com.college.icrs.ai.agent;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Incrementally parses the top-level fields of a streamed JSON object. Each field is reported as
+ * soon as its value is complete, so a decision can be acted on before the model finishes the
+ * object. String, number, boolean and null values are supported; nested values are skipped.
+ */
+final class StreamingJsonFieldParser {
+
+    private enum State {
+        BEFORE_OBJECT,
+        BEFORE_KEY,
+        IN_KEY,
+        BEFORE_COLON,
+        BEFORE_VALUE,
+        IN_STRING,
+        IN_LITERAL,
+        IN_NESTED,
+        AFTER_VALUE,
+        DONE
+    }
+
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+    private final StringBuilder token = new StringBuilder();
+    private final StringBuilder unicodeDigits = new StringBuilder();
+    private State state = State.BEFORE_OBJECT;
+    private String key;
+    private boolean escaped;
+    private boolean pendingUnicode;
+    private int nestedDepth;
+    private boolean nestedInString;
+
+    /** Feeds the next chunk and returns the fields it completed, in document order. */
+    Map<String, Object> feed(String chunk) {
+        if (chunk == null || chunk.isEmpty() || state == State.DONE) {
+            return Map.of();
+        }
+        Map<String, Object> completed = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            accept(chunk.charAt(i), completed);
+        }
+        fields.putAll(completed);
+        return completed;
+    }
+
+    Map<String, Object> fields() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+    }
+
+    boolean hasAll(Iterable<String> names) {
+        for (String name : names) {
+            if (!fields.containsKey(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void accept(char c, Map<String, Object> completed) {
+        switch (state) {
+            case BEFORE_OBJECT -> {
+                if (c == '{') {
+                    state = State.BEFORE_KEY;
+                }
+            }
+            case BEFORE_KEY -> {
+                if (c == '"') {
+                    token.setLength(0);
+                    state = State.IN_KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                }
+            }
+            case IN_KEY -> {
+                if (appendString(c)) {
+                    key = token.toString();
+                    state = State.BEFORE_COLON;
+                }
+            }
+            case BEFORE_COLON -> {
+                if (c == ':') {
+                    state = State.BEFORE_VALUE;
+                }
+            }
+            case BEFORE_VALUE -> startValue(c);
+            case IN_STRING -> {
+                if (appendString(c)) {
+                    completed.put(key, token.toString());
+                    state = State.AFTER_VALUE;
+                }
+            }
+            case IN_LITERAL -> {
+                if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                    completed.put(key, literal(token.toString()));
+                    state = State.AFTER_VALUE;
+                    afterValue(c);
+                } else {
+                    token.append(c);
+                }
+            }
+            case IN_NESTED -> skipNested(c);
+            case AFTER_VALUE -> afterValue(c);
+            case DONE -> {
+            }
+        }
+    }
+
+    private void startValue(char c) {
+        if (Character.isWhitespace(c)) {
+            return;
+        }
+        token.setLength(0);
+        if (c == '"') {
+            state = State.IN_STRING;
+        } else if (c == '{' || c == '[') {
+            nestedDepth = 1;
+            nestedInString = false;
+            state = State.IN_NESTED;
+        } else {
+            token.append(c);
+            state = State.IN_LITERAL;
+        }
+    }
+
+    private void afterValue(char c) {
+        if (c == ',') {
+            state = State.BEFORE_KEY;
+        } else if (c == '}') {
+            state = State.DONE;
+        }
+    }
+
+    /** Appends one character of a JSON string and returns whether it closed the string. */
+    private boolean appendString(char c) {
+        if (unicodeDigits.length() > 0 || pendingUnicode) {
+            pendingUnicode = false;
+            unicodeDigits.append(c);
+            if (unicodeDigits.length() == 4) {
+                try {
+                    token.append((char) Integer.parseInt(unicodeDigits.toString(), 16));
+                } catch (NumberFormatException e) {
+                    token.append("\\u").append(unicodeDigits);
+                }
+                unicodeDigits.setLength(0);
+            }
+            return false;
+        }
+        if (escaped) {
+            escaped = false;
+            switch (c) {
+                case 'n' -> token.append('\n');
+                case 't' -> token.append('\t');
+                case 'r' -> token.append('\r');
+                case 'b' -> token.append('\b');
+                case 'f' -> token.append('\f');
+                case 'u' -> pendingUnicode = true;
+                default -> token.append(c);
+            }
+            return false;
+        }
+        if (c == '\\') {
+            escaped = true;
+            return false;
+        }
+        if (c == '"') {
+            return true;
+        }
+        token.append(c);
+        return false;
+    }
+
+    private void skipNested(char c) {
+        if (nestedInString) {
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                nestedInString = false;
+            }
+            return;
+        }
+        if (c == '"') {
+            nestedInString = true;
+        } else if (c == '{' || c == '[') {
+            nestedDepth++;
+        } else if ((c == '}' || c == ']') && --nestedDepth == 0) {
+            state = State.AFTER_VALUE;
+        }
+    }
+
+    private Object literal(String value) {
+        return switch (value) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            case "null" -> null;
+            default -> {
+                try {
+                    yield Double.valueOf(value);
+                } catch (NumberFormatException e) {
+                    yield value;
+                }
+            }
+        };
+    }
+}
@@ -4,13 +4,16 @@ package com.college.icrs.ai.config;
 import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.logging.IcrsLog;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @lombok.RequiredArgsConstructor
@@ -19,6 +22,7 @@ public class AiClient {
 
     private static final int PLANNER_MAX_TOKENS = 160;
     private static final int DECISION_MAX_TOKENS = 220;
+    private static final int COMBINED_DECISION_MAX_TOKENS = 320;
 
     @Value("${ai.apikey}")
     private String apiKey;
@@ -51,31 +55,68 @@ public class AiClient {
                 .maxCompletionTokens(PLANNER_MAX_TOKENS)
                 .maxTokens(PLANNER_MAX_TOKENS)
                 .maxRetries(2)
+                .listeners(List.of(new PromptCacheUsageListener("planner")))
                 .build();
     }
 
     @Bean("decisionChatModel")
     public ChatModel decisionChatModel() {
         validateConfiguration();
+        int maxTokens = decisionMaxTokens();
         log.info(IcrsLog.event("ai.chat-model.initialized",
                 "role", "decision",
                 "modelName", modelName,
                 "baseUrl", normalizeBaseUrl(baseUrl),
                 "timeoutSeconds", icrsProperties.getAi().getTimeoutSeconds(),
-                "maxCompletionTokens", DECISION_MAX_TOKENS,
+                "maxCompletionTokens", maxTokens,
+                "decisionMode", icrsProperties.getAi().getDecisionMode(),
                 "temperature", 0.0,
                 "maxRetries", 2,
                 "responseFormat", "json_object"));
 
         return baseBuilder(normalizeBaseUrl(baseUrl))
                 .temperature(0.0d)
-                .maxCompletionTokens(DECISION_MAX_TOKENS)
-                .maxTokens(DECISION_MAX_TOKENS)
+                .maxCompletionTokens(maxTokens)
+                .maxTokens(maxTokens)
                 .responseFormat("json_object")
                 .maxRetries(2)
+                .listeners(List.of(new PromptCacheUsageListener("decision")))
                 .build();
     }
 
+    @Bean("decisionStreamingChatModel")
+    public StreamingChatModel decisionStreamingChatModel() {
+        validateConfiguration();
+        int maxTokens = decisionMaxTokens();
+        log.info(IcrsLog.event("ai.chat-model.initialized",
+                "role", "decision-streaming",
+                "modelName", modelName,
+                "baseUrl", normalizeBaseUrl(baseUrl),
+                "timeoutSeconds", icrsProperties.getAi().getTimeoutSeconds(),
+                "maxCompletionTokens", maxTokens,
+                "enabled", icrsProperties.getAi().getDecisionStreaming().isEnabled(),
+                "temperature", 0.0,
+                "responseFormat", "json_object"));
+
+        return OpenAiStreamingChatModel.builder()
+                .apiKey(apiKey)
+                .baseUrl(normalizeBaseUrl(baseUrl))
+                .modelName(modelName)
+                .timeout(Duration.ofSeconds(Math.max(icrsProperties.getAi().getTimeoutSeconds(), 1)))
+                .temperature(0.0d)
+                .maxCompletionTokens(maxTokens)
+                .maxTokens(maxTokens)
+                .responseFormat("json_object")
+                .listeners(List.of(new PromptCacheUsageListener("decision-streaming")))
+                .build();
+    }
+
+    private int decisionMaxTokens() {
+        return icrsProperties.getAi().getDecisionMode() == IcrsProperties.Ai.DecisionMode.COMBINED
+                ? COMBINED_DECISION_MAX_TOKENS
+                : DECISION_MAX_TOKENS;
+    }
+
     private void validateConfiguration() {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("AI API key missing. Set ai.apikey or DEEPSEEK_API_KEY/OPENAI_API_KEY.");
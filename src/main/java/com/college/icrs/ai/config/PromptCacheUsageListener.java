@@ -0,0 +1,50 @@
+package com.college.icrs.ai.config;
+
+import com.college.icrs.logging.IcrsLog;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.openai.OpenAiTokenUsage;
+import dev.langchain4j.model.output.TokenUsage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs provider-side prompt cache hits per chat model role. OpenAI-compatible providers report the
+ * cached part of the prompt as {@code prompt_tokens_details.cached_tokens}.
+ */
+@Slf4j
+public class PromptCacheUsageListener implements ChatModelListener {
+
+    private final String role;
+    private final AtomicLong inputTokens = new AtomicLong();
+    private final AtomicLong cachedInputTokens = new AtomicLong();
+
+    public PromptCacheUsageListener(String role) {
+        this.role = role;
+    }
+
+    @Override
+    public void onResponse(ChatModelResponseContext responseContext) {
+        TokenUsage tokenUsage = responseContext.chatResponse().tokenUsage();
+        if (tokenUsage == null || tokenUsage.inputTokenCount() == null) {
+            return;
+        }
+        Integer cached = cachedTokens(tokenUsage);
+        long totalInput = inputTokens.addAndGet(tokenUsage.inputTokenCount());
+        long totalCached = cachedInputTokens.addAndGet(cached != null ? cached : 0);
+        log.info(IcrsLog.event("ai.prompt.cache",
+                "role", role,
+                "inputTokens", tokenUsage.inputTokenCount(),
+                "cachedInputTokens", cached,
+                "outputTokens", tokenUsage.outputTokenCount(),
+                "cumulativeHitRate", String.format("%.3f", totalInput == 0 ? 0.0d : (double) totalCached / totalInput)));
+    }
+
+    public static Integer cachedTokens(TokenUsage tokenUsage) {
+        if (tokenUsage instanceof OpenAiTokenUsage openAiTokenUsage && openAiTokenUsage.inputTokensDetails() != null) {
+            return openAiTokenUsage.inputTokensDetails().cachedTokens();
+        }
+        return null;
+    }
+}
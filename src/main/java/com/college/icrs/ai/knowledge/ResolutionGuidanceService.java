@@ -24,11 +24,21 @@ public class ResolutionGuidanceService {
     }
 
     public String buildContext(Grievance grievance) {
-        if (grievance == null || grievance.getCategory() == null || !StringUtils.hasText(grievance.getCategory().getName())) {
+        if (grievance == null || grievance.getCategory() == null) {
+            return "";
+        }
+        return buildContext(
+                grievance.getCategory().getName(),
+                grievance.getSubcategory() != null ? grievance.getSubcategory().getName() : null
+        );
+    }
+
+    public String buildContext(String categoryName, String subcategoryName) {
+        if (!StringUtils.hasText(categoryName)) {
             return "";
         }
 
-        Optional<ResolutionGuidanceCategory> category = findCategory(grievance.getCategory().getName());
+        Optional<ResolutionGuidanceCategory> category = findCategory(categoryName);
         if (category.isEmpty()) {
             return "";
         }
@@ -36,17 +46,26 @@ public class ResolutionGuidanceService {
         ResolutionGuidanceEntry categoryGuidance = category.get().getDefaultGuidance();
         ResolutionGuidanceEntry subcategoryGuidance = findSubcategoryGuidance(
                 category.get(),
-                grievance.getSubcategory() != null ? grievance.getSubcategory().getName() : null
+                subcategoryName
         ).orElse(null);
 
         return formatContext(
-                grievance.getCategory().getName(),
-                grievance.getSubcategory() != null ? grievance.getSubcategory().getName() : null,
+                categoryName,
+                subcategoryName,
                 categoryGuidance,
                 subcategoryGuidance
         );
     }
 
+    /** Subcategory guidance when the knowledge base has it, otherwise the category default. */
+    public Optional<ResolutionGuidanceEntry> findGuidance(String categoryName, String subcategoryName) {
+        if (!StringUtils.hasText(categoryName)) {
+            return Optional.empty();
+        }
+        return findCategory(categoryName).map(category -> findSubcategoryGuidance(category, subcategoryName)
+                .orElse(category.getDefaultGuidance()));
+    }
+
     private ResolutionGuidanceKnowledgeBase loadKnowledgeBase(ObjectMapper objectMapper) {
         ClassPathResource resource = new ClassPathResource(KNOWLEDGE_BASE_PATH);
         try (InputStream inputStream = resource.getInputStream()) {
@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 @Service
 public class AutoResolutionPolicyService {
@@ -33,9 +34,35 @@ public class AutoResolutionPolicyService {
 
         return safeRules(knowledgeBase.getRoutineRules()).stream()
                 .filter(rule -> matches(rule.getCategory(), category) && matches(rule.getSubcategory(), subcategory))
-                .anyMatch(rule -> safePhrases(rule.getMatchAnyPhrases()).stream()
-                        .map(this::normalize)
-                        .anyMatch(phrase -> StringUtils.hasText(phrase) && grievanceText.contains(phrase)));
+                .anyMatch(rule -> containsAny(rule.getMatchAnyPhrases(), grievanceText));
+    }
+
+    /**
+     * Routine rule that may decide the grievance without any LLM call: it must declare a fast-path
+     * priority and title, match one of its phrases, and match none of its exclusion phrases.
+     */
+    public Optional<RoutineAutoResolveRule> findFastPathRule(
+            String categoryName,
+            String subcategoryName,
+            String title,
+            String description
+    ) {
+        String category = normalize(categoryName);
+        String subcategory = normalize(subcategoryName);
+        String grievanceText = normalize("%s %s".formatted(title, description));
+
+        return safeRules(knowledgeBase.getRoutineRules()).stream()
+                .filter(RoutineAutoResolveRule::supportsFastPath)
+                .filter(rule -> matches(rule.getCategory(), category) && matches(rule.getSubcategory(), subcategory))
+                .filter(rule -> containsAny(rule.getMatchAnyPhrases(), grievanceText))
+                .filter(rule -> !containsAny(rule.getExcludeAnyPhrases(), grievanceText))
+                .findFirst();
+    }
+
+    private boolean containsAny(List<String> phrases, String normalizedText) {
+        return safePhrases(phrases).stream()
+                .map(this::normalize)
+                .anyMatch(phrase -> StringUtils.hasText(phrase) && normalizedText.contains(phrase));
     }
 
     private AutoResolutionPolicyKnowledgeBase loadKnowledgeBase(ObjectMapper objectMapper) {
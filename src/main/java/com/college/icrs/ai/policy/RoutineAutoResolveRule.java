@@ -14,4 +14,11 @@ public class RoutineAutoResolveRule {
     private String category;
     private String subcategory;
     private List<String> matchAnyPhrases = new ArrayList<>();
+    private List<String> excludeAnyPhrases = new ArrayList<>();
+    private String fastPathPriority;
+    private String fastPathTitle;
+
+    public boolean supportsFastPath() {
+        return fastPathPriority != null && !fastPathPriority.isBlank() && fastPathTitle != null && !fastPathTitle.isBlank();
+    }
 }
@@ -0,0 +1,156 @@
+package com.college.icrs.ai.service;
+
+import com.college.icrs.logging.IcrsLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+final class MicroBatcher<I, O> implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100L;
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Function<List<I>, List<O>> batchHandler;
+    private final BlockingQueue<PendingItem<I, O>> queue;
+    private final Semaphore inFlight;
+    private final ExecutorService dispatcher;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    MicroBatcher(
+            String name,
+            int maxBatchSize,
+            Duration window,
+            int queueCapacity,
+            int maxInFlight,
+            Function<List<I>, List<O>> batchHandler
+    ) {
+        this.name = name;
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.windowNanos = Math.max(window.toNanos(), 0L);
+        this.batchHandler = batchHandler;
+        this.queue = new LinkedBlockingQueue<>(Math.max(queueCapacity, this.maxBatchSize));
+        this.inFlight = new Semaphore(Math.max(maxInFlight, 1));
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(maxInFlight, 1), runnable -> {
+            Thread thread = new Thread(runnable, name + "-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = new Thread(this::drainLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    CompletableFuture<O> submit(I item) {
+        CompletableFuture<O> future = new CompletableFuture<>();
+        if (!running || !queue.offer(new PendingItem<>(item, future))) {
+            future.completeExceptionally(new RejectedExecutionException(name + " is not accepting work"));
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+    }
+
+    private void drainLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                List<PendingItem<I, O>> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                inFlight.acquire();
+                // Callers that timed out while queued or waiting for a dispatch slot have already fallen back.
+                int queued = batch.size();
+                batch.removeIf(pending -> pending.future().isDone());
+                if (batch.size() < queued) {
+                    log.debug(IcrsLog.event("micro-batch.dispatch.skipped", "batcher", name, "abandoned", queued - batch.size()));
+                }
+                if (batch.isEmpty()) {
+                    inFlight.release();
+                    continue;
+                }
+                dispatcher.execute(() -> {
+                    try {
+                        dispatch(batch);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            dispatcher.shutdown();
+        }
+
+        List<PendingItem<I, O>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.future().completeExceptionally(
+                new RejectedExecutionException(name + " stopped before dispatching work")));
+    }
+
+    private List<PendingItem<I, O>> nextBatch() throws InterruptedException {
+        List<PendingItem<I, O>> batch = new ArrayList<>(maxBatchSize);
+        PendingItem<I, O> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                break;
+            }
+            PendingItem<I, O> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingItem<I, O>> batch) {
+        try {
+            List<O> results = batchHandler.apply(batch.stream().map(PendingItem::item).toList());
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch handler returned %s results for %s items".formatted(
+                        results == null ? 0 : results.size(),
+                        batch.size()
+                ));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("micro-batch.dispatch.failed",
+                    "batcher", name,
+                    "size", batch.size(),
+                    "reason", e.getClass().getSimpleName()));
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    private record PendingItem<I, O>(I item, CompletableFuture<O> future) {
+    }
+}
@@ -1,33 +1,47 @@
 package com.college.icrs.ai.service;
 
 import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.exception.ExternalServiceException;
 import com.college.icrs.logging.IcrsLog;
 import com.college.icrs.model.Sentiment;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpClient.Version;
 import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 @lombok.RequiredArgsConstructor
 public class SentimentAnalysisService {
 
+    private static final int MAX_BATCH_SIZE = 64;
+
     private final ObjectMapper objectMapper;
     private final IcrsProperties icrsProperties;
     private final HttpClient httpClient = HttpClient.newBuilder()
             .version(Version.HTTP_1_1)
             .build();
+    private volatile MicroBatcher<String, SentimentResponse> batcher;
+    private volatile SentimentResultCache resultCache;
 
     public SentimentDecision analyze(String text) {
         IcrsProperties.Sentiment cfg = icrsProperties.getAi().getSentiment();
@@ -38,29 +52,31 @@ public class SentimentAnalysisService {
             return SentimentDecision.unavailable();
         }
 
-        try {
-            log.info(IcrsLog.event("sentiment.analysis.start", "baseUrl", cfg.getBaseUrl(), "model", cfg.getModelName()));
-            String baseUrl = cfg.getBaseUrl().replaceAll("/+$", "");
-            String payload = objectMapper.writeValueAsString(new SentimentRequest(text));
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(baseUrl + "/analyze"))
-                    .timeout(Duration.ofMillis(Math.max(cfg.getTimeoutMs(), 500)))
-                    .version(Version.HTTP_1_1)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(payload))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                log.warn(IcrsLog.event("sentiment.analysis.failed",
-                        "statusCode", response.statusCode(),
-                        "body", truncate(response.body(), 200),
-                        "reason", "non-2xx"));
-                return SentimentDecision.unavailable();
+        SentimentResultCache cache = cfg.getCache().isEnabled() ? resultCache(cfg) : null;
+        String cacheKey = cache != null
+                ? SentimentResultCache.key(text, cfg.getModelName(), cfg.getNeutralBandUpper())
+                : null;
+        if (cache != null) {
+            Optional<SentimentDecision> cached = cache.get(cacheKey);
+            if (cached.isPresent()) {
+                SentimentCacheStats stats = cache.stats();
+                log.info(IcrsLog.event("sentiment.analysis.cache-hit",
+                        "sentiment", cached.get().sentiment(),
+                        "hits", stats.hits(),
+                        "misses", stats.misses(),
+                        "evictions", stats.evictions()));
+                return cached.get();
             }
+        }
 
-            SentimentResponse api = objectMapper.readValue(response.body(), SentimentResponse.class);
+        try {
+            log.info(IcrsLog.event("sentiment.analysis.start",
+                    "baseUrl", cfg.getBaseUrl(),
+                    "model", cfg.getModelName(),
+                    "batched", cfg.getBatch().isEnabled()));
+            SentimentResponse api = cfg.getBatch().isEnabled()
+                    ? analyzeBatched(text, cfg)
+                    : analyzeSingle(text, cfg);
             if (api == null || !StringUtils.hasText(api.getLabel())) {
                 return SentimentDecision.unavailable();
             }
@@ -71,7 +87,11 @@ public class SentimentAnalysisService {
                     "sentiment", sentiment,
                     "score", score,
                     "model", StringUtils.hasText(api.getModel()) ? api.getModel() : cfg.getModelName()));
-            return new SentimentDecision(sentiment, score, StringUtils.hasText(api.getModel()) ? api.getModel() : cfg.getModelName());
+            SentimentDecision decision = new SentimentDecision(sentiment, score, StringUtils.hasText(api.getModel()) ? api.getModel() : cfg.getModelName());
+            if (cache != null && sentiment != null) {
+                cache.put(cacheKey, decision);
+            }
+            return decision;
 
         } catch (Exception e) {
             log.warn(IcrsLog.event("sentiment.analysis.failed", "reason", e.getClass().getSimpleName()), e);
@@ -79,6 +99,121 @@ public class SentimentAnalysisService {
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        MicroBatcher<String, SentimentResponse> current = batcher;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private SentimentResponse analyzeBatched(String text, IcrsProperties.Sentiment cfg) throws Exception {
+        long waitMs = Math.max(cfg.getTimeoutMs(), 500) + Math.max(cfg.getBatch().getWindowMs(), 0);
+        CompletableFuture<SentimentResponse> pending = batcher(cfg).submit(text);
+        try {
+            return pending.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            log.warn(IcrsLog.event("sentiment.analysis.batch.fallback",
+                    "reason", e.getCause() != null ? e.getCause().getClass().getSimpleName() : e.getClass().getSimpleName()));
+            return analyzeSingle(text, cfg);
+        } catch (TimeoutException e) {
+            // Cancelling lets the batcher drop the text if it has not been dispatched yet.
+            pending.cancel(false);
+            log.warn(IcrsLog.event("sentiment.analysis.batch.fallback", "reason", "TimeoutException", "waitMs", waitMs));
+            return analyzeSingle(text, cfg);
+        }
+    }
+
+    private SentimentResponse analyzeSingle(String text, IcrsProperties.Sentiment cfg) throws Exception {
+        String payload = objectMapper.writeValueAsString(new SentimentRequest(text));
+        HttpResponse<String> response = httpClient.send(jsonRequest(cfg, "/analyze", payload), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            log.warn(IcrsLog.event("sentiment.analysis.failed",
+                    "statusCode", response.statusCode(),
+                    "body", truncate(response.body(), 200),
+                    "reason", "non-2xx"));
+            return null;
+        }
+        return objectMapper.readValue(response.body(), SentimentResponse.class);
+    }
+
+    private List<SentimentResponse> analyzeBatch(List<String> texts) {
+        IcrsProperties.Sentiment cfg = icrsProperties.getAi().getSentiment();
+        try {
+            String payload = objectMapper.writeValueAsString(new SentimentBatchRequest(texts));
+            HttpResponse<String> response = httpClient.send(jsonRequest(cfg, "/analyze/batch", payload), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new ExternalServiceException("Sentiment batch request returned status " + response.statusCode());
+            }
+            SentimentBatchResponse api = objectMapper.readValue(response.body(), SentimentBatchResponse.class);
+            log.info(IcrsLog.event("sentiment.analysis.batch.completed", "size", texts.size()));
+            return api != null ? api.getResults() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for sentiment batch response", e);
+        }
+    }
+
+    private MicroBatcher<String, SentimentResponse> batcher(IcrsProperties.Sentiment cfg) {
+        MicroBatcher<String, SentimentResponse> current = batcher;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (batcher == null) {
+                IcrsProperties.Sentiment.Batch batchCfg = cfg.getBatch();
+                batcher = new MicroBatcher<>(
+                        "sentiment-batcher",
+                        Math.min(Math.max(batchCfg.getMaxSize(), 1), MAX_BATCH_SIZE),
+                        Duration.ofMillis(Math.max(batchCfg.getWindowMs(), 0)),
+                        batchCfg.getQueueCapacity(),
+                        batchCfg.getMaxInFlight(),
+                        this::analyzeBatch
+                );
+                log.info(IcrsLog.event("sentiment.analysis.batcher.initialized",
+                        "maxSize", batchCfg.getMaxSize(),
+                        "windowMs", batchCfg.getWindowMs(),
+                        "queueCapacity", batchCfg.getQueueCapacity(),
+                        "maxInFlight", batchCfg.getMaxInFlight()));
+            }
+            return batcher;
+        }
+    }
+
+    private SentimentResultCache resultCache(IcrsProperties.Sentiment cfg) {
+        SentimentResultCache current = resultCache;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (resultCache == null) {
+                IcrsProperties.Sentiment.Cache cacheCfg = cfg.getCache();
+                resultCache = new SentimentResultCache(
+                        cacheCfg.getMaxEntries(),
+                        Duration.ofSeconds(Math.max(cacheCfg.getTtlSeconds(), 1)),
+                        System::currentTimeMillis
+                );
+                log.info(IcrsLog.event("sentiment.analysis.cache.initialized",
+                        "maxEntries", cacheCfg.getMaxEntries(),
+                        "ttlSeconds", cacheCfg.getTtlSeconds()));
+            }
+            return resultCache;
+        }
+    }
+
+    private HttpRequest jsonRequest(IcrsProperties.Sentiment cfg, String path, String payload) {
+        String baseUrl = cfg.getBaseUrl().replaceAll("/+$", "");
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .timeout(Duration.ofMillis(Math.max(cfg.getTimeoutMs(), 500)))
+                .version(Version.HTTP_1_1)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+    }
+
     private Sentiment mapSentiment(String label, Double score) {
         String normalized = label.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_');
 
@@ -120,6 +255,8 @@ public class SentimentAnalysisService {
 
     private record SentimentRequest(String text) {}
 
+    private record SentimentBatchRequest(List<String> texts) {}
+
     @Getter
     @Setter
     private static class SentimentResponse {
@@ -128,6 +265,14 @@ public class SentimentAnalysisService {
         private String model;
     }
 
+    @Getter
+    @Setter
+    private static class SentimentBatchResponse {
+        private List<SentimentResponse> results;
+    }
+
+    public record SentimentCacheStats(long hits, long misses, long evictions, int size) {}
+
     public record SentimentDecision(Sentiment sentiment, Double confidence, String modelName) {
         public static SentimentDecision unavailable() {
             return new SentimentDecision(null, null, null);
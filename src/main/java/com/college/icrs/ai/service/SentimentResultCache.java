@@ -0,0 +1,91 @@
+package com.college.icrs.ai.service;
+
+import com.college.icrs.ai.service.SentimentAnalysisService.SentimentCacheStats;
+import com.college.icrs.ai.service.SentimentAnalysisService.SentimentDecision;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+final class SentimentResultCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, CachedDecision> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    SentimentResultCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.ttlMillis = Math.max(ttl.toMillis(), 1L);
+        this.clock = clock;
+    }
+
+    static String key(String text, String modelName, double neutralBandUpper) {
+        String normalized = text == null ? "" : text.strip().replaceAll("\\s+", " ");
+        return sha256(normalized) + "|" + modelName + "|" + neutralBandUpper;
+    }
+
+    synchronized Optional<SentimentDecision> get(String key) {
+        CachedDecision cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (cached.expiresAtMillis() <= clock.getAsLong()) {
+            entries.remove(key);
+            evictions++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(cached.decision());
+    }
+
+    synchronized void put(String key, SentimentDecision decision) {
+        entries.put(key, new CachedDecision(decision, clock.getAsLong() + ttlMillis));
+        evictExpired();
+        Iterator<Map.Entry<String, CachedDecision>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    synchronized SentimentCacheStats stats() {
+        return new SentimentCacheStats(hits, misses, evictions, entries.size());
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<String, CachedDecision>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAtMillis() <= now) {
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedDecision(SentimentDecision decision, long expiresAtMillis) {
+    }
+}
@@ -39,14 +39,158 @@ public class IcrsProperties {
         private int maxCompletionTokens = 400;
         private String systemUserEmail = "ai.system@icrs.local";
         private String decisionSource = "DEEPSEEK_AGENTIC_V1";
+        private DecisionMode decisionMode = DecisionMode.SEPARATE;
         private final Rag rag = new Rag();
         private final Sentiment sentiment = new Sentiment();
+        private final PromptContext promptContext = new PromptContext();
+        private final FastPath fastPath = new FastPath();
+        private final DecisionCache decisionCache = new DecisionCache();
+        private final DecisionStreaming decisionStreaming = new DecisionStreaming();
+
+        public enum DecisionMode {
+            SEPARATE,
+            COMBINED
+        }
+
+        @Setter
+        @Getter
+        public static class PromptContext {
+            private int tokenBudget = 1200;
+            private int minSectionTokens = 48;
+        }
+
+        @Setter
+        @Getter
+        public static class FastPath {
+            private boolean enabled = false;
+            private double confidence = 0.90d;
+            private boolean autoResolve = false;
+        }
+
+        @Setter
+        @Getter
+        public static class DecisionCache {
+            private boolean enabled = false;
+            private double similarityThreshold = 0.95d;
+            private double minConfidence = 0.60d;
+            private long ttlSeconds = 1800L;
+            private int maxEntries = 500;
+        }
+
+        @Setter
+        @Getter
+        public static class DecisionStreaming {
+            private boolean enabled = false;
+        }
 
         @Setter
         @Getter
         public static class Rag {
             private boolean enabled = true;
             private int topK = 3;
+            private int writeBatchSize = 32;
+            private ContextSource contextSource = ContextSource.DATABASE;
+            private long metadataMaxAgeSeconds = 0L;
+            private final Filter filter = new Filter();
+            private final QueryVectorCache queryVectorCache = new QueryVectorCache();
+            private final LocalIndex localIndex = new LocalIndex();
+            private final Quantization quantization = new Quantization();
+            private final Hybrid hybrid = new Hybrid();
+            private final Rerank rerank = new Rerank();
+            private final EmbeddingCache embeddingCache = new EmbeddingCache();
+            private final IndexQueue indexQueue = new IndexQueue();
+
+            public enum ContextSource {
+                DATABASE,
+                METADATA
+            }
+
+            @Setter
+            @Getter
+            public static class Filter {
+                private boolean sameCategory = false;
+                private boolean resolvedOnly = false;
+                private List<String> sources = new ArrayList<>();
+                private double similarityThreshold = 0.0d;
+            }
+
+            @Setter
+            @Getter
+            public static class QueryVectorCache {
+                private boolean enabled = true;
+                private long ttlSeconds = 300L;
+                private int maxEntries = 1000;
+            }
+
+            @Setter
+            @Getter
+            public static class Rerank {
+                private boolean enabled = false;
+                private int candidateMultiplier = 4;
+                private long budgetMs = 150L;
+                private String modelUri = "file:models/ms-marco-MiniLM-L-6-v2/model.onnx";
+                private String tokenizerUri = "file:models/ms-marco-MiniLM-L-6-v2/tokenizer.json";
+                private int maxSequenceLength = 256;
+            }
+
+            @Setter
+            @Getter
+            public static class Hybrid {
+                private boolean enabled = false;
+                private int candidates = 10;
+                private int rrfK = 60;
+                private int maxLexicalCandidates = 200;
+            }
+
+            @Setter
+            @Getter
+            public static class Quantization {
+                private Mode mode = Mode.NONE;
+                private int candidateMultiplier = 4;
+
+                public enum Mode {
+                    NONE,
+                    HALFVEC
+                }
+            }
+
+            @Setter
+            @Getter
+            public static class LocalIndex {
+                private boolean enabled = false;
+                private int maxConnections = 16;
+                private int efConstruction = 100;
+                private int efSearch = 64;
+                private final Snapshot snapshot = new Snapshot();
+
+                @Setter
+                @Getter
+                public static class Snapshot {
+                    private boolean enabled = true;
+                    private String path = "data/local-vector-index.snapshot";
+                    private long intervalSeconds = 600L;
+                }
+            }
+
+            @Setter
+            @Getter
+            public static class EmbeddingCache {
+                private boolean enabled = true;
+                private int maxEntries = 10000;
+            }
+
+            @Setter
+            @Getter
+            public static class IndexQueue {
+                private boolean enabled = true;
+                private int capacity = 500;
+                private Backpressure backpressure = Backpressure.CALLER_RUNS;
+
+                public enum Backpressure {
+                    CALLER_RUNS,
+                    DROP
+                }
+            }
         }
     }
 
@@ -61,5 +205,25 @@ public class IcrsProperties {
         private String modelName = "siebert/sentiment-roberta-large-english";
         private String workingDir = "src/main/python/sentiment_service";
         private int startupWaitMs = 15000;
+        private final Batch batch = new Batch();
+        private final Cache cache = new Cache();
+
+        @Setter
+        @Getter
+        public static class Batch {
+            private boolean enabled = false;
+            private int maxSize = 16;
+            private int windowMs = 20;
+            private int queueCapacity = 256;
+            private int maxInFlight = 2;
+        }
+
+        @Setter
+        @Getter
+        public static class Cache {
+            private boolean enabled = false;
+            private int maxEntries = 1000;
+            private int ttlSeconds = 3600;
+        }
     }
 }
@@ -17,7 +17,8 @@ public record OperationalEvaluationConfig(
         String studentDepartment,
         String studentId,
         int earlyFailureWindow,
-        int earlyFailureThreshold
+        int earlyFailureThreshold,
+        Path baselineResultsFile
 ) {
 
     private static final String DEFAULT_RAG_ENABLED_VARIANT = "rag_enabled";
@@ -44,7 +45,8 @@ public record OperationalEvaluationConfig(
                 systemProperty("operationalEvaluationStudentDepartment", "IT"),
                 systemProperty("operationalEvaluationStudentId", "EVAL-STUDENT-001"),
                 intProperty("operationalEvaluationEarlyFailureWindow", 5),
-                intProperty("operationalEvaluationEarlyFailureThreshold", 3)
+                intProperty("operationalEvaluationEarlyFailureThreshold", 3),
+                pathProperty("operationalEvaluationBaselineResultsFile")
         );
     }
 
@@ -69,6 +71,11 @@ public record OperationalEvaluationConfig(
         return value == null || value.isBlank() ? fallback : value.trim();
     }
 
+    private static Path pathProperty(String key) {
+        String value = systemProperty(key, null);
+        return value == null ? null : Path.of(value);
+    }
+
     private static long longProperty(String key, long fallback) {
         String value = System.getProperty(key);
         if (value == null || value.isBlank()) {
@@ -40,6 +40,12 @@ public class OperationalEvaluationCsvWriter {
                 "aiConfidence",
                 "aiTitle",
                 "aiModelName",
+                "decisionMode",
+                "decisionCalls",
+                "inputTokens",
+                "cachedInputTokens",
+                "outputTokens",
+                "decisionCallMillis",
                 "retrievedReferenceCount",
                 "retrievedReferenceIds",
                 "retrievedReferenceSources",
@@ -49,6 +55,7 @@ public class OperationalEvaluationCsvWriter {
 
         for (OperationalEvaluationResult result : results) {
             List<OperationalEvaluationRetrievedReference> references = result.retrievedReferences();
+            OperationalEvaluationDecisionUsage usage = result.decisionUsage();
             builder.append(String.join(",",
                     csv(result.experimentVariant()),
                     csv(result.caseId()),
@@ -70,6 +77,12 @@ public class OperationalEvaluationCsvWriter {
                     csv(result.aiConfidence()),
                     csv(result.aiTitle()),
                     csv(result.aiModelName()),
+                    csv(usage != null ? usage.decisionMode() : null),
+                    csv(usage != null ? usage.decisionCalls() : null),
+                    csv(usage != null ? usage.inputTokens() : null),
+                    csv(usage != null ? usage.cachedInputTokens() : null),
+                    csv(usage != null ? usage.outputTokens() : null),
+                    csv(usage != null ? usage.decisionCallMillis() : null),
                     csv(references.size()),
                     csv(join(references.stream().map(OperationalEvaluationRetrievedReference::referenceId).toList())),
                     csv(join(references.stream().map(OperationalEvaluationRetrievedReference::source).toList())),
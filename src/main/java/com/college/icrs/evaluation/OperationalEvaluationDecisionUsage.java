@@ -0,0 +1,11 @@
+package com.college.icrs.evaluation;
+
+public record OperationalEvaluationDecisionUsage(
+        String decisionMode,
+        int decisionCalls,
+        Long inputTokens,
+        Long cachedInputTokens,
+        Long outputTokens,
+        Long decisionCallMillis
+) {
+}
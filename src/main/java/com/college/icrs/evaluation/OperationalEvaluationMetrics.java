@@ -18,7 +18,9 @@ public record OperationalEvaluationMetrics(
         Map<String, Long> finalStatusDistribution,
         Map<String, CategoryMetrics> categoryAutoResolution,
         SensitiveHandlingMetrics sensitiveHandling,
-        RetrievalMetrics retrievalMetrics
+        RetrievalMetrics retrievalMetrics,
+        DecisionCostMetrics decisionCost,
+        DecisionAgreementMetrics decisionAgreement
 ) {
 
     public record ConfidenceDistribution(
@@ -37,6 +39,29 @@ public record OperationalEvaluationMetrics(
     ) {
     }
 
+    public record DecisionCostMetrics(
+            long casesWithUsage,
+            Map<String, Long> decisionModeDistribution,
+            Double meanDecisionCalls,
+            Double meanInputTokens,
+            Double cachedInputTokenRate,
+            Double meanOutputTokens,
+            Double meanDecisionCallMillis,
+            Double p90DecisionCallMillis,
+            long fastPathCases,
+            double fastPathRate
+    ) {
+    }
+
+    public record DecisionAgreementMetrics(
+            String baselineVariant,
+            long comparedCases,
+            double priorityAgreementRate,
+            double autoResolveAgreementRate,
+            double fullAgreementRate
+    ) {
+    }
+
     public record CategoryMetrics(
             long totalCases,
             long autoResolvedCases,
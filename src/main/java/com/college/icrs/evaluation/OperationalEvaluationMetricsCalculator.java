@@ -1,5 +1,6 @@
 package com.college.icrs.evaluation;
 
+import com.college.icrs.ai.agent.GrievanceAgentActionService;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -15,6 +16,13 @@ import java.util.Objects;
 public class OperationalEvaluationMetricsCalculator {
 
     public OperationalEvaluationMetrics calculate(List<OperationalEvaluationResult> results) {
+        return calculate(results, List.of());
+    }
+
+    public OperationalEvaluationMetrics calculate(
+            List<OperationalEvaluationResult> results,
+            List<OperationalEvaluationResult> baselineResults
+    ) {
         List<OperationalEvaluationResult> safeResults = results != null ? results : List.of();
         int totalCases = safeResults.size();
         long submittedCases = safeResults.stream().filter(result -> result.grievanceId() != null).count();
@@ -78,7 +86,99 @@ public class OperationalEvaluationMetricsCalculator {
                 finalStatusDistribution,
                 categoryMetrics,
                 sensitiveHandling,
-                retrievalMetrics
+                retrievalMetrics,
+                decisionCost(safeResults),
+                decisionAgreement(safeResults, baselineResults != null ? baselineResults : List.of())
+        );
+    }
+
+    private OperationalEvaluationMetrics.DecisionCostMetrics decisionCost(List<OperationalEvaluationResult> results) {
+        List<OperationalEvaluationDecisionUsage> usages = results.stream()
+                .map(OperationalEvaluationResult::decisionUsage)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Double> callMillis = usages.stream()
+                .map(OperationalEvaluationDecisionUsage::decisionCallMillis)
+                .filter(Objects::nonNull)
+                .map(Long::doubleValue)
+                .toList();
+        List<OperationalEvaluationResult> completed = results.stream()
+                .filter(result -> "completed".equalsIgnoreCase(result.experimentState()))
+                .toList();
+        // Fast-path decisions make no LLM call and record the matched rule as the model name.
+        long fastPathCases = completed.stream()
+                .filter(result -> result.aiModelName() != null
+                        && result.aiModelName().startsWith(GrievanceAgentActionService.FAST_PATH_MODEL_PREFIX))
+                .count();
+
+        return new OperationalEvaluationMetrics.DecisionCostMetrics(
+                usages.size(),
+                distribution(usages.stream().map(OperationalEvaluationDecisionUsage::decisionMode).toList()),
+                mean(usages.stream().map(usage -> (double) usage.decisionCalls()).toList()),
+                mean(usages.stream().map(OperationalEvaluationDecisionUsage::inputTokens).filter(Objects::nonNull).map(Long::doubleValue).toList()),
+                cachedInputTokenRate(usages),
+                mean(usages.stream().map(OperationalEvaluationDecisionUsage::outputTokens).filter(Objects::nonNull).map(Long::doubleValue).toList()),
+                mean(callMillis),
+                percentile(callMillis, 0.90d),
+                fastPathCases,
+                rate(fastPathCases, completed.size())
+        );
+    }
+
+    /** Share of prompt tokens served from the provider prompt cache, over cases that report cache usage. */
+    private Double cachedInputTokenRate(List<OperationalEvaluationDecisionUsage> usages) {
+        long inputTokens = 0;
+        long cachedInputTokens = 0;
+        for (OperationalEvaluationDecisionUsage usage : usages) {
+            if (usage.inputTokens() != null && usage.cachedInputTokens() != null) {
+                inputTokens += usage.inputTokens();
+                cachedInputTokens += usage.cachedInputTokens();
+            }
+        }
+        return inputTokens == 0 ? null : (double) cachedInputTokens / inputTokens;
+    }
+
+    /**
+     * Compares completed cases with the same case id against a baseline run, such as the separate
+     * decision mode when this run used the combined one. Returns null without a baseline.
+     */
+    private OperationalEvaluationMetrics.DecisionAgreementMetrics decisionAgreement(
+            List<OperationalEvaluationResult> results,
+            List<OperationalEvaluationResult> baselineResults
+    ) {
+        if (baselineResults.isEmpty()) {
+            return null;
+        }
+        Map<String, OperationalEvaluationResult> baselineByCase = new LinkedHashMap<>();
+        for (OperationalEvaluationResult baseline : baselineResults) {
+            if ("completed".equalsIgnoreCase(baseline.experimentState())) {
+                baselineByCase.put(baseline.caseId(), baseline);
+            }
+        }
+
+        int compared = 0;
+        long priorityMatches = 0L;
+        long autoResolveMatches = 0L;
+        long fullMatches = 0L;
+        for (OperationalEvaluationResult result : results) {
+            OperationalEvaluationResult baseline = baselineByCase.get(result.caseId());
+            if (baseline == null || !"completed".equalsIgnoreCase(result.experimentState())) {
+                continue;
+            }
+            compared++;
+            boolean samePriority = Objects.equals(result.priority(), baseline.priority());
+            boolean sameAutoResolve = result.aiResolved() == baseline.aiResolved();
+            priorityMatches += samePriority ? 1L : 0L;
+            autoResolveMatches += sameAutoResolve ? 1L : 0L;
+            fullMatches += samePriority && sameAutoResolve ? 1L : 0L;
+        }
+
+        return new OperationalEvaluationMetrics.DecisionAgreementMetrics(
+                baselineResults.getFirst().experimentVariant(),
+                compared,
+                rate(priorityMatches, compared),
+                rate(autoResolveMatches, compared),
+                rate(fullMatches, compared)
         );
     }
 
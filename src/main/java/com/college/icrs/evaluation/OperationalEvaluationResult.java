@@ -25,6 +25,7 @@ public record OperationalEvaluationResult(
         String aiTitle,
         String aiResolutionText,
         String aiModelName,
+        OperationalEvaluationDecisionUsage decisionUsage,
         List<OperationalEvaluationRetrievedReference> retrievedReferences
 ) {
 }
@@ -12,6 +12,8 @@ public record OperationalEvaluationRunSummary(
         boolean aiEnabled,
         boolean ragEnabled,
         boolean sentimentEnabled,
+        String decisionMode,
+        String baselineResultsFile,
         int historicalCasesValidated,
         int liveCasesValidated,
         boolean stoppedEarly,
@@ -95,7 +95,7 @@ public class OperationalEvaluationService {
             }
         }
 
-        OperationalEvaluationMetrics metrics = metricsCalculator.calculate(results);
+        OperationalEvaluationMetrics metrics = metricsCalculator.calculate(results, baselineResults(config.baselineResultsFile()));
         OperationalEvaluationRunSummary summary = new OperationalEvaluationRunSummary(
                 config.experimentVariant(),
                 config.backendBaseUrl(),
@@ -106,6 +106,8 @@ public class OperationalEvaluationService {
                 icrsProperties.getAi().isEnabled(),
                 icrsProperties.getAi().getRag().isEnabled(),
                 icrsProperties.getAi().getSentiment().isEnabled(),
+                icrsProperties.getAi().getDecisionMode().name(),
+                config.baselineResultsFile() != null ? config.baselineResultsFile().toString() : null,
                 datasets.historicalCases().size(),
                 datasets.liveCases().size(),
                 stoppedEarly,
@@ -177,6 +179,7 @@ public class OperationalEvaluationService {
                     null,
                     null,
                     null,
+                    null,
                     List.of()
             );
         }
@@ -211,6 +214,7 @@ public class OperationalEvaluationService {
                 latest.getAiTitle(),
                 latest.getAiResolutionText(),
                 latest.getAiModelName(),
+                decisionUsage(latest.getId()),
                 references
         );
     }
@@ -244,6 +248,7 @@ public class OperationalEvaluationService {
                 null,
                 null,
                 null,
+                null,
                 List.of()
         );
     }
@@ -320,6 +325,34 @@ public class OperationalEvaluationService {
                 .toList();
     }
 
+    private OperationalEvaluationDecisionUsage decisionUsage(long grievanceId) {
+        try {
+            List<OperationalEvaluationDecisionUsage> usage = jdbcTemplate.query(
+                    "select decision_mode, count(*) as calls, sum(input_tokens) as input_tokens, "
+                            + "sum(cached_input_tokens) as cached_input_tokens, sum(output_tokens) as output_tokens, sum(latency_ms) as latency_ms from ai_decision_usage where grievance_id = ? group by decision_mode",
+                    (rs, rowNum) -> new OperationalEvaluationDecisionUsage(
+                            rs.getString("decision_mode"),
+                            rs.getInt("calls"),
+                            rs.getObject("input_tokens", Long.class),
+                            rs.getObject("cached_input_tokens", Long.class),
+                            rs.getObject("output_tokens", Long.class),
+                            rs.getObject("latency_ms", Long.class)
+                    ),
+                    grievanceId
+            );
+            return usage.isEmpty() ? null : usage.getFirst();
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private List<OperationalEvaluationResult> baselineResults(java.nio.file.Path baselineResultsFile) throws IOException {
+        if (baselineResultsFile == null) {
+            return List.of();
+        }
+        return objectMapper.readValue(baselineResultsFile.toFile(), OperationalEvaluationResultsFile.class).results();
+    }
+
     private OperationalEvaluationRunSummary.EnvironmentHealth checkEnvironment(RestClient restClient) {
         boolean backendReachable = false;
         int categoryCount = 0;
@@ -0,0 +1,26 @@
+package com.college.icrs.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "grievance_vector_index_state")
+@Getter
+@Setter
+@NoArgsConstructor
+public class GrievanceVectorIndexState {
+
+    @Id
+    @Column(name = "grievance_id")
+    private Long grievanceId;
+
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "indexed_at", nullable = false)
+    private LocalDateTime indexedAt;
+}
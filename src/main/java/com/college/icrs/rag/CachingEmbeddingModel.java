@@ -0,0 +1,132 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.logging.IcrsLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final Map<String, float[]> vectors;
+    private long hits;
+    private long misses;
+    private long inferenceWallNanos;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, int maxEntries) {
+        this.delegate = delegate;
+        int capacity = Math.max(maxEntries, 1);
+        this.vectors = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        float[][] embeddings = new float[texts.size()][];
+        List<Integer> missIndexes = new ArrayList<>();
+        List<String> missTexts = new ArrayList<>();
+
+        synchronized (this) {
+            for (int i = 0; i < texts.size(); i++) {
+                float[] cached = vectors.get(contentHash(texts.get(i)));
+                if (cached != null) {
+                    embeddings[i] = cached;
+                    hits++;
+                } else {
+                    missIndexes.add(i);
+                    missTexts.add(texts.get(i));
+                }
+            }
+        }
+
+        if (!missTexts.isEmpty()) {
+            long startedAt = System.nanoTime();
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(missTexts, request.getOptions()));
+            long elapsed = System.nanoTime() - startedAt;
+            synchronized (this) {
+                misses += missTexts.size();
+                inferenceWallNanos += elapsed;
+                for (int i = 0; i < missIndexes.size(); i++) {
+                    float[] output = response.getResults().get(i).getOutput();
+                    embeddings[missIndexes.get(i)] = output;
+                    vectors.put(contentHash(missTexts.get(i)), output);
+                }
+            }
+        }
+
+        List<Embedding> results = new ArrayList<>(embeddings.length);
+        for (int i = 0; i < embeddings.length; i++) {
+            results.add(new Embedding(embeddings[i], i));
+        }
+        return new EmbeddingResponse(results);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embed(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    public synchronized CacheStats stats() {
+        long averageMissNanos = misses > 0 ? inferenceWallNanos / misses : 0L;
+        return new CacheStats(
+                hits,
+                misses,
+                vectors.size(),
+                TimeUnit.NANOSECONDS.toMillis(inferenceWallNanos),
+                TimeUnit.NANOSECONDS.toMillis(averageMissNanos * hits)
+        );
+    }
+
+    @PreDestroy
+    public void logSummary() {
+        CacheStats stats = stats();
+        log.info(IcrsLog.event("rag.embedding.cache.summary",
+                "hits", stats.hits(),
+                "misses", stats.misses(),
+                "entries", stats.entries(),
+                "inferenceWallMs", stats.inferenceWallMillis(),
+                "estimatedSavedWallMs", stats.estimatedSavedWallMillis()));
+    }
+
+    static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((text == null ? "" : text).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Inference times are wall-clock durations of the delegate calls, not CPU time: the ONNX runtime
+     * spreads inference over its own intra-op threads, which the calling thread's CPU clock does not see.
+     * The saved figure extrapolates the average miss duration to every hit.
+     */
+    public record CacheStats(long hits, long misses, int entries, long inferenceWallMillis, long estimatedSavedWallMillis) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@Slf4j
+public class EmbeddingModelConfiguration {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "icrs.ai.rag.embedding-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CachingEmbeddingModel cachingEmbeddingModel(
+            TransformersEmbeddingModel transformersEmbeddingModel,
+            IcrsProperties icrsProperties
+    ) {
+        int maxEntries = icrsProperties.getAi().getRag().getEmbeddingCache().getMaxEntries();
+        log.info(IcrsLog.event("rag.embedding.cache.initialized", "maxEntries", maxEntries));
+        return new CachingEmbeddingModel(transformersEmbeddingModel, maxEntries);
+    }
+}
@@ -3,12 +3,22 @@ package com.college.icrs.rag;
 import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.logging.IcrsLog;
 import com.college.icrs.model.Grievance;
+import com.college.icrs.model.GrievanceVectorIndexState;
+import com.college.icrs.repository.GrievanceVectorIndexStateRepository;
+import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.VectorStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,24 +29,71 @@ public class EmbeddingService {
     private final IcrsProperties properties;
     private final GrievanceVectorDocumentFactory documentFactory;
     private final ResolvedGrievanceCommentSummaryService resolvedGrievanceCommentSummaryService;
+    private final GrievanceVectorIndexStateRepository indexStateRepository;
+    private final VectorBatchWriter vectorBatchWriter;
 
     public void indexGrievance(Grievance grievance) {
-        if (!properties.getAi().getRag().isEnabled() || grievance == null) {
-            return;
+        indexGrievances(grievance == null ? List.of() : List.of(grievance));
+    }
+
+    /** Returns false when the documents could not be written, so callers can treat their metadata as outdated. */
+    public boolean indexGrievances(List<Grievance> grievances) {
+        if (!properties.getAi().getRag().isEnabled() || grievances == null || grievances.isEmpty()) {
+            return true;
         }
 
-        if (grievance.getId() <= 0L) {
-            log.warn(IcrsLog.event("rag.embedding.skipped", "reason", "missing-grievance-id"));
-            return;
+        List<Grievance> indexable = grievances.stream()
+                .filter(grievance -> {
+                    if (grievance.getId() <= 0L) {
+                        log.warn(IcrsLog.event("rag.embedding.skipped", "reason", "missing-grievance-id"));
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+        if (indexable.isEmpty()) {
+            return true;
         }
 
+        List<Long> grievanceIds = indexable.stream().map(Grievance::getId).toList();
         try {
-            String documentId = String.valueOf(grievance.getId());
-            String commentSummary = resolvedGrievanceCommentSummaryService.summarizeForEmbedding(grievance);
-            vectorStore.add(List.of(documentFactory.fromGrievance(grievance, commentSummary)));
-            log.info(IcrsLog.event("rag.embedding.upserted", "grievanceId", grievance.getId(), "documentId", documentId));
+            Map<Long, GrievanceVectorIndexState> states = indexStateRepository.findAllById(grievanceIds).stream()
+                    .collect(Collectors.toMap(GrievanceVectorIndexState::getGrievanceId, Function.identity()));
+
+            List<Document> documents = new ArrayList<>();
+            List<GrievanceVectorIndexState> changedStates = new ArrayList<>();
+            long indexedAtMillis = System.currentTimeMillis();
+            LocalDateTime indexedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(indexedAtMillis), ZoneId.systemDefault());
+            for (Grievance grievance : indexable) {
+                String commentSummary = resolvedGrievanceCommentSummaryService.summarizeForEmbedding(grievance);
+                Document document = documentFactory.fromGrievance(grievance, commentSummary);
+                String fingerprint = documentFactory.fingerprint(document);
+                GrievanceVectorIndexState state = states.getOrDefault(grievance.getId(), new GrievanceVectorIndexState());
+                if (fingerprint.equals(state.getFingerprint())) {
+                    log.debug(IcrsLog.event("rag.embedding.unchanged", "grievanceId", grievance.getId(), "documentId", document.getId()));
+                    continue;
+                }
+
+                state.setGrievanceId(grievance.getId());
+                state.setFingerprint(fingerprint);
+                state.setIndexedAt(indexedAt);
+                documents.add(documentFactory.withIndexedAt(document, indexedAtMillis));
+                changedStates.add(state);
+            }
+
+            if (documents.isEmpty()) {
+                return true;
+            }
+
+            vectorBatchWriter.write(documents);
+            indexStateRepository.saveAll(changedStates);
+            log.info(IcrsLog.event("rag.embedding.upserted",
+                    "grievanceIds", changedStates.stream().map(GrievanceVectorIndexState::getGrievanceId).toList(),
+                    "documents", documents.size()));
+            return true;
         } catch (Exception e) {
-            log.error(IcrsLog.event("rag.embedding.upsert.failed", "grievanceId", grievance.getId()), e);
+            log.error(IcrsLog.event("rag.embedding.upsert.failed", "grievanceIds", grievanceIds), e);
+            return false;
         }
     }
 
@@ -47,6 +104,7 @@ public class EmbeddingService {
 
         try {
             vectorStore.delete(List.of(String.valueOf(grievanceId)));
+            indexStateRepository.deleteById(grievanceId);
             log.info(IcrsLog.event("rag.embedding.deleted", "grievanceId", grievanceId));
         } catch (Exception e) {
             log.error(IcrsLog.event("rag.embedding.delete.failed", "grievanceId", grievanceId), e);
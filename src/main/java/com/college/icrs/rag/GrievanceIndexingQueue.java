@@ -0,0 +1,210 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import com.college.icrs.model.Grievance;
+import com.college.icrs.repository.GrievanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+@Slf4j
+public class GrievanceIndexingQueue {
+
+    private final EmbeddingService embeddingService;
+    private final GrievanceRepository grievanceRepository;
+    private final IcrsProperties properties;
+    private final Executor indexExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final Set<Long> inFlight = new HashSet<>();
+    /** Grievances whose last re-index was dropped or failed; holds at most one entry per grievance until a re-index succeeds. */
+    private final Set<Long> unindexed = new HashSet<>();
+    private boolean draining;
+    private int highWatermark;
+    private long enqueued;
+    private long coalesced;
+    private long dropped;
+    private long callerRuns;
+    private long completed;
+
+    public GrievanceIndexingQueue(
+            EmbeddingService embeddingService,
+            GrievanceRepository grievanceRepository,
+            IcrsProperties properties,
+            @Qualifier("vectorIndexExecutor") Executor indexExecutor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.embeddingService = embeddingService;
+        this.grievanceRepository = grievanceRepository;
+        this.properties = properties;
+        this.indexExecutor = indexExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void enqueue(Grievance grievance) {
+        if (grievance == null || grievance.getId() <= 0L) {
+            return;
+        }
+        if (!properties.getAi().getRag().getIndexQueue().isEnabled()) {
+            boolean indexed = embeddingService.indexGrievances(List.of(grievance));
+            synchronized (this) {
+                track(List.of(grievance.getId()), indexed);
+            }
+            return;
+        }
+
+        Long grievanceId = grievance.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(grievanceId);
+                }
+            });
+            return;
+        }
+        submit(grievanceId);
+    }
+
+    /**
+     * Whether the grievance's vector document may be behind the grievance: a re-index is queued or running,
+     * or the last one was dropped by backpressure or failed. Only tracked in this process, so changes made
+     * before a restart are covered by {@code metadata-max-age-seconds} alone.
+     */
+    public synchronized boolean needsReindex(Long grievanceId) {
+        return pending.contains(grievanceId) || inFlight.contains(grievanceId) || unindexed.contains(grievanceId);
+    }
+
+    public synchronized QueueStats stats() {
+        return new QueueStats(pending.size(), highWatermark, enqueued, coalesced, dropped, callerRuns, completed, unindexed.size());
+    }
+
+    private void submit(Long grievanceId) {
+        IcrsProperties.Ai.Rag.IndexQueue cfg = properties.getAi().getRag().getIndexQueue();
+        synchronized (this) {
+            if (pending.contains(grievanceId)) {
+                coalesced++;
+                log.debug(IcrsLog.event("rag.index.queue.coalesced", "grievanceId", grievanceId, "depth", pending.size()));
+                return;
+            }
+            if (pending.size() >= Math.max(cfg.getCapacity(), 1)) {
+                if (cfg.getBackpressure() == IcrsProperties.Ai.Rag.IndexQueue.Backpressure.DROP) {
+                    dropped++;
+                    unindexed.add(grievanceId);
+                    log.warn(IcrsLog.event("rag.index.queue.dropped", "grievanceId", grievanceId, "depth", pending.size(), "dropped", dropped));
+                    return;
+                }
+                callerRuns++;
+            } else {
+                pending.add(grievanceId);
+                enqueued++;
+                highWatermark = Math.max(highWatermark, pending.size());
+                log.debug(IcrsLog.event("rag.index.queue.enqueued", "grievanceId", grievanceId, "depth", pending.size()));
+                if (draining) {
+                    return;
+                }
+                draining = true;
+                try {
+                    indexExecutor.execute(this::drain);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    draining = false;
+                    pending.remove(grievanceId);
+                    callerRuns++;
+                }
+            }
+        }
+
+        log.warn(IcrsLog.event("rag.index.queue.caller-runs", "grievanceId", grievanceId, "depth", stats().pending()));
+        index(List.of(grievanceId));
+    }
+
+    private void drain() {
+        int batchSize = Math.max(properties.getAi().getRag().getWriteBatchSize(), 1);
+        boolean drained = false;
+        try {
+            while (true) {
+                List<Long> batch = new ArrayList<>(batchSize);
+                synchronized (this) {
+                    Iterator<Long> iterator = pending.iterator();
+                    while (iterator.hasNext() && batch.size() < batchSize) {
+                        batch.add(iterator.next());
+                        iterator.remove();
+                    }
+                    if (batch.isEmpty()) {
+                        draining = false;
+                        drained = true;
+                        return;
+                    }
+                    inFlight.addAll(batch);
+                }
+                try {
+                    index(batch);
+                } finally {
+                    synchronized (this) {
+                        batch.forEach(inFlight::remove);
+                    }
+                }
+            }
+        } finally {
+            // An Error escaping index() must not leave the queue marked as draining, or no later enqueue would schedule a drain.
+            if (!drained) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    private void index(List<Long> grievanceIds) {
+        boolean indexed = false;
+        try {
+            indexed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    embeddingService.indexGrievances(grievanceRepository.findByIdIn(grievanceIds))));
+        } catch (Exception e) {
+            log.error(IcrsLog.event("rag.index.queue.failed", "grievanceIds", grievanceIds), e);
+        } finally {
+            synchronized (this) {
+                completed += grievanceIds.size();
+                track(grievanceIds, indexed);
+            }
+        }
+    }
+
+    private void track(List<Long> grievanceIds, boolean indexed) {
+        if (indexed) {
+            grievanceIds.forEach(unindexed::remove);
+        } else {
+            unindexed.addAll(grievanceIds);
+        }
+    }
+
+    public record QueueStats(
+            int pending,
+            int highWatermark,
+            long enqueued,
+            long coalesced,
+            long dropped,
+            long callerRuns,
+            long completed,
+            int unindexed
+    ) {
+    }
+}
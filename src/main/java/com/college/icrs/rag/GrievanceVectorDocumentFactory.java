@@ -3,10 +3,15 @@ package com.college.icrs.rag;
 import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Priority;
 import com.college.icrs.model.Sentiment;
+import com.college.icrs.model.Status;
 import org.springframework.ai.document.Document;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -24,6 +29,8 @@ public class GrievanceVectorDocumentFactory {
     public static final String RESOLUTION_TEXT_METADATA_KEY = "resolutionText";
     public static final String COMMENT_SUMMARY_METADATA_KEY = "commentSummary";
     public static final String SOURCE_METADATA_KEY = "source";
+    public static final String RESOLVED_METADATA_KEY = "resolved";
+    public static final String INDEXED_AT_METADATA_KEY = "indexedAt";
 
     public Document fromGrievance(Grievance grievance) {
         return fromGrievance(grievance, null);
@@ -44,6 +51,7 @@ public class GrievanceVectorDocumentFactory {
                 grievance.getSentiment(),
                 grievance.getAiResolutionText(),
                 commentSummary,
+                grievance.getStatus() == Status.RESOLVED,
                 "application-grievance"
         );
     }
@@ -63,10 +71,36 @@ public class GrievanceVectorDocumentFactory {
                 grievance.sentiment(),
                 grievance.resolutionText(),
                 grievance.commentSummary(),
+                StringUtils.hasText(grievance.resolutionText()),
                 "manual-import"
         );
     }
 
+    public Document withIndexedAt(Document document, long indexedAtEpochMillis) {
+        Map<String, Object> metadata = new LinkedHashMap<>(document.getMetadata());
+        metadata.put(INDEXED_AT_METADATA_KEY, indexedAtEpochMillis);
+        return Document.builder()
+                .id(document.getId())
+                .text(document.getText())
+                .metadata(metadata)
+                .build();
+    }
+
+    public String fingerprint(Document document) {
+        StringBuilder builder = new StringBuilder(document.getText() == null ? "" : document.getText());
+        document.getMetadata().forEach((key, value) -> {
+            if (!INDEXED_AT_METADATA_KEY.equals(key)) {
+                builder.append('\n').append(key).append('=').append(value);
+            }
+        });
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public String buildContent(
             String title,
             String description,
@@ -111,6 +145,7 @@ public class GrievanceVectorDocumentFactory {
             Sentiment sentiment,
             String resolutionText,
             String commentSummaryMetadata,
+            boolean resolved,
             String source
     ) {
         return Document.builder()
@@ -127,6 +162,7 @@ public class GrievanceVectorDocumentFactory {
                         sentiment != null ? sentiment.name() : null,
                         resolutionText,
                         commentSummaryMetadata,
+                        resolved,
                         source
                 ))
                 .build();
@@ -174,6 +210,7 @@ public class GrievanceVectorDocumentFactory {
             String sentiment,
             String resolutionText,
             String commentSummary,
+            boolean resolved,
             String source
     ) {
         Map<String, Object> metadata = new LinkedHashMap<>();
@@ -189,6 +226,7 @@ public class GrievanceVectorDocumentFactory {
         putIfHasText(metadata, SENTIMENT_METADATA_KEY, sentiment);
         putIfHasText(metadata, RESOLUTION_TEXT_METADATA_KEY, resolutionText);
         putIfHasText(metadata, COMMENT_SUMMARY_METADATA_KEY, commentSummary);
+        metadata.put(RESOLVED_METADATA_KEY, resolved);
         putIfHasText(metadata, SOURCE_METADATA_KEY, source);
         return metadata;
     }
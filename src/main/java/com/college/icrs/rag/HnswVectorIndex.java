@@ -0,0 +1,510 @@
+package com.college.icrs.rag;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical navigable small world graph over unit-normalised float vectors, scored by cosine
+ * similarity. Vectors live in one flat {@code float[]} and links in primitive {@code int[]} arrays.
+ * Not thread-safe; callers guard reads and writes.
+ */
+final class HnswVectorIndex {
+
+    // A filtered walk widens its beam at most this many times over before giving up on more matches.
+    private static final int MAX_EF_ESCALATION = 16;
+
+    private final int maxConnections;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    private int dimensions;
+    private float[] vectors = new float[0];
+    private String[] ids = new String[0];
+    private boolean[] deleted = new boolean[0];
+    private int[][][] links = new int[0][][];
+    private int size;
+    private int liveCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswVectorIndex(int maxConnections, int efConstruction, long seed) {
+        this.maxConnections = Math.max(maxConnections, 2);
+        this.efConstruction = Math.max(efConstruction, this.maxConnections);
+        this.levelMultiplier = 1d / Math.log(this.maxConnections);
+        this.random = new SplittableRandom(seed);
+    }
+
+    int size() {
+        return liveCount;
+    }
+
+    int tombstones() {
+        return size - liveCount;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    void upsert(String id, float[] vector) {
+        if (dimensions == 0) {
+            dimensions = vector.length;
+        } else if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        remove(id);
+
+        int node = size++;
+        ensureCapacity(size);
+        normalizeInto(vector, vectors, node * dimensions);
+        ids[node] = id;
+        int level = randomLevel();
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[capacity(l) + 1];
+        }
+        ordinals.put(id, node);
+        liveCount++;
+        connect(node, level);
+    }
+
+    boolean remove(String id) {
+        Integer existing = ordinals.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        deleted[existing] = true;
+        liveCount--;
+        return true;
+    }
+
+    /**
+     * Returns up to {@code k} live ordinals accepted by {@code filter}, best first. When a restrictive
+     * filter leaves the graph walk short of {@code k} matches, the walk is retried with a wider beam,
+     * up to {@link #MAX_EF_ESCALATION} times {@code ef}. Only an index no larger than that beam is
+     * scanned exactly; on larger ones a filter matching very few documents may return fewer than
+     * {@code k} hits rather than cost a full scan per query.
+     */
+    List<Hit> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (liveCount == 0 || k <= 0) {
+            return List.of();
+        }
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + query.length);
+        }
+        float[] normalized = new float[dimensions];
+        normalizeInto(query, normalized, 0);
+        IntPredicate accept = node -> !deleted[node] && filter.test(node);
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = searchLayer(normalized, current, 1, l, node -> true).best();
+        }
+        int wanted = Math.min(k, liveCount);
+        int width = Math.max(ef, k);
+        int maxWidth = width * MAX_EF_ESCALATION;
+        List<Hit> hits = searchLayer(normalized, current, width, 0, accept).drainBestFirst(k);
+        while (hits.size() < wanted && width < maxWidth && width < size) {
+            width = Math.min(width * 4, maxWidth);
+            hits = searchLayer(normalized, current, width, 0, accept).drainBestFirst(k);
+        }
+        if (hits.size() < wanted && size <= maxWidth) {
+            return exactSearch(normalized, k, accept);
+        }
+        return hits;
+    }
+
+    List<Hit> exactSearch(float[] query, int k, IntPredicate accept) {
+        ScoreHeap results = new ScoreHeap(k + 1);
+        for (int node = 0; node < size; node++) {
+            if (!accept.test(node)) {
+                continue;
+            }
+            results.push(node, similarity(query, node));
+            if (results.size() > k) {
+                results.pop();
+            }
+        }
+        return results.drainBestFirst(k);
+    }
+
+    HnswVectorIndex compacted() {
+        HnswVectorIndex copy = new HnswVectorIndex(maxConnections, efConstruction, random.nextLong());
+        float[] vector = new float[dimensions];
+        for (int node = 0; node < size; node++) {
+            if (!deleted[node]) {
+                System.arraycopy(vectors, node * dimensions, vector, 0, dimensions);
+                copy.upsert(ids[node], vector);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Writes the vectors as one contiguous float32 block followed by ids, tombstones and links, so
+     * {@link #readFrom} can restore the graph without rebuilding it.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(maxConnections);
+        out.writeInt(efConstruction);
+        out.writeInt(dimensions);
+        out.writeInt(size);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        int total = size * dimensions;
+        for (int offset = 0; offset < total; ) {
+            int count = Math.min(chunk.capacity() / Float.BYTES, total - offset);
+            chunk.clear();
+            chunk.asFloatBuffer().put(vectors, offset, count);
+            out.write(chunk.array(), 0, count * Float.BYTES);
+            offset += count;
+        }
+
+        for (int node = 0; node < size; node++) {
+            writeString(out, ids[node]);
+            out.writeBoolean(deleted[node]);
+            out.writeInt(links[node].length);
+            for (int[] level : links[node]) {
+                out.writeInt(level[0]);
+                for (int i = 1; i <= level[0]; i++) {
+                    out.writeInt(level[i]);
+                }
+            }
+        }
+    }
+
+    static HnswVectorIndex readFrom(ByteBuffer in, long seed) {
+        HnswVectorIndex index = new HnswVectorIndex(in.getInt(), in.getInt(), seed);
+        index.dimensions = in.getInt();
+        int size = in.getInt();
+        index.entryPoint = in.getInt();
+        index.maxLevel = in.getInt();
+        index.ensureCapacity(size);
+
+        int total = size * index.dimensions;
+        in.asFloatBuffer().get(index.vectors, 0, total);
+        in.position(in.position() + total * Float.BYTES);
+
+        for (int node = 0; node < size; node++) {
+            index.ids[node] = readString(in);
+            index.deleted[node] = in.get() != 0;
+            int levels = in.getInt();
+            index.links[node] = new int[levels][];
+            for (int l = 0; l < levels; l++) {
+                int count = in.getInt();
+                int[] level = new int[index.capacity(l) + 1];
+                level[0] = count;
+                for (int i = 1; i <= count; i++) {
+                    level[i] = in.getInt();
+                }
+                index.links[node][l] = level;
+            }
+            if (!index.deleted[node]) {
+                index.ordinals.put(index.ids[node], node);
+                index.liveCount++;
+            }
+        }
+        index.size = size;
+        return index;
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void connect(int node, int level) {
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] query = Arrays.copyOfRange(vectors, node * dimensions, (node + 1) * dimensions);
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = searchLayer(query, current, 1, l, candidate -> true).best();
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            ScoreHeap candidates = searchLayer(query, current, efConstruction, l, candidate -> true);
+            List<Hit> ranked = candidates.drainBestFirst(candidates.size());
+            int[] selected = selectNeighbors(ranked, capacity(l));
+            setLinks(node, l, selected);
+            for (int neighbour : selected) {
+                addLink(neighbour, node, l);
+            }
+            current = ranked.getFirst().ordinal();
+        }
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+    }
+
+    private ScoreHeap searchLayer(float[] query, int entry, int ef, int level, IntPredicate accept) {
+        BitSet visited = new BitSet(size);
+        ScoreHeap candidates = new ScoreHeap(ef + 1);
+        // The walk is bounded by the ef nearest nodes seen, accepted or not, so a restrictive filter
+        // cannot turn it into a traversal of the whole graph.
+        ScoreHeap nearest = new ScoreHeap(ef + 1);
+        ScoreHeap results = new ScoreHeap(ef + 1);
+        float entryScore = similarity(query, entry);
+        visited.set(entry);
+        candidates.push(entry, -entryScore);
+        nearest.push(entry, entryScore);
+        if (accept.test(entry)) {
+            results.push(entry, entryScore);
+        }
+
+        while (candidates.size() > 0) {
+            float candidateScore = -candidates.peekScore();
+            int candidate = candidates.pop();
+            if (nearest.size() >= ef && candidateScore < nearest.peekScore()) {
+                break;
+            }
+            int[] neighbours = links[candidate].length > level ? links[candidate][level] : null;
+            if (neighbours == null) {
+                continue;
+            }
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float score = similarity(query, neighbour);
+                if (nearest.size() < ef || score > nearest.peekScore()) {
+                    candidates.push(neighbour, -score);
+                    nearest.push(neighbour, score);
+                    if (nearest.size() > ef) {
+                        nearest.pop();
+                    }
+                    if (accept.test(neighbour)) {
+                        results.push(neighbour, score);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private int[] selectNeighbors(List<Hit> ranked, int limit) {
+        int[] selected = new int[Math.min(limit, ranked.size())];
+        int count = 0;
+        List<Integer> pruned = new ArrayList<>();
+        for (Hit hit : ranked) {
+            if (count == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (similarity(hit.ordinal(), selected[i]) > hit.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = hit.ordinal();
+            } else {
+                pruned.add(hit.ordinal());
+            }
+        }
+        for (int i = 0; i < pruned.size() && count < selected.length; i++) {
+            selected[count++] = pruned.get(i);
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    private void addLink(int node, int neighbour, int level) {
+        int[] current = links[node][level];
+        if (current[0] < current.length - 1) {
+            current[++current[0]] = neighbour;
+            return;
+        }
+
+        List<Hit> ranked = new ArrayList<>(current[0] + 1);
+        for (int i = 1; i <= current[0]; i++) {
+            ranked.add(new Hit(current[i], similarity(node, current[i])));
+        }
+        ranked.add(new Hit(neighbour, similarity(node, neighbour)));
+        ranked.sort((a, b) -> Float.compare(b.score(), a.score()));
+        setLinks(node, level, selectNeighbors(ranked, capacity(level)));
+    }
+
+    private void setLinks(int node, int level, int[] neighbours) {
+        int[] target = links[node][level];
+        target[0] = neighbours.length;
+        System.arraycopy(neighbours, 0, target, 1, neighbours.length);
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? maxConnections * 2 : maxConnections;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1d - random.nextDouble()) * levelMultiplier);
+    }
+
+    private float similarity(float[] query, int node) {
+        int offset = node * dimensions;
+        float dot = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[i] * vectors[offset + i];
+        }
+        return dot;
+    }
+
+    private float similarity(int a, int b) {
+        int offsetA = a * dimensions;
+        int offsetB = b * dimensions;
+        float dot = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            dot += vectors[offsetA + i] * vectors[offsetB + i];
+        }
+        return dot;
+    }
+
+    private void ensureCapacity(int required) {
+        if (ids.length >= required) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, ids.length * 2));
+        vectors = Arrays.copyOf(vectors, capacity * dimensions);
+        ids = Arrays.copyOf(ids, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    private static void normalizeInto(float[] source, float[] target, int offset) {
+        double norm = 0d;
+        for (float value : source) {
+            norm += value * value;
+        }
+        float scale = norm > 0d ? (float) (1d / Math.sqrt(norm)) : 0f;
+        for (int i = 0; i < source.length; i++) {
+            target[offset + i] = source[i] * scale;
+        }
+    }
+
+    record Hit(int ordinal, float score) {
+    }
+
+    /** Binary min-heap of (ordinal, score) pairs; the lowest score sits on top. */
+    private static final class ScoreHeap {
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+
+        ScoreHeap(int initialCapacity) {
+            nodes = new int[Math.max(initialCapacity, 4)];
+            scores = new float[nodes.length];
+        }
+
+        int size() {
+            return size;
+        }
+
+        float peekScore() {
+            return scores[0];
+        }
+
+        int best() {
+            int bestIndex = 0;
+            for (int i = 1; i < size; i++) {
+                if (scores[i] > scores[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+            return nodes[bestIndex];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= score) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            int lastNode = nodes[--size];
+            float lastScore = scores[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && scores[child + 1] < scores[child]) {
+                    child++;
+                }
+                if (scores[child] >= lastScore) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            nodes[i] = lastNode;
+            scores[i] = lastScore;
+            return top;
+        }
+
+        List<Hit> drainBestFirst(int limit) {
+            Hit[] ordered = new Hit[size];
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                float score = scores[0];
+                ordered[i] = new Hit(pop(), score);
+            }
+            return List.of(ordered).subList(0, Math.min(limit, ordered.length));
+        }
+    }
+}
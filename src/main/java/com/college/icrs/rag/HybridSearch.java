@@ -0,0 +1,131 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Runs full-text search next to the semantic search and merges both rankings with reciprocal
+ * rank fusion, so exact tokens such as registration numbers, block names and course codes can
+ * surface references the embedding alone ranks low.
+ */
+@Component
+@Slf4j
+public class HybridSearch {
+
+    // Section labels written by GrievanceVectorDocumentFactory appear in every document.
+    private static final Set<String> LABEL_TOKENS = Set.of(
+            "title", "description", "category", "subcategory", "registration", "number", "resolution", "summary", "comment", "notes"
+    );
+    // English stopwords and words most grievances use; OR-ed into the query they match nearly every row.
+    private static final Set<String> STOP_TOKENS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "can", "could", "did", "do", "does", "for",
+            "from", "had", "has", "have", "he", "her", "his", "i", "if", "in", "into", "is", "it", "its", "me", "my",
+            "no", "not", "of", "on", "or", "our", "please", "she", "since", "so", "that", "the", "their", "them",
+            "there", "they", "this", "to", "us", "was", "we", "were", "what", "when", "which", "who", "will", "with",
+            "would", "you", "your",
+            "college", "complaint", "grievance", "help", "issue", "kindly", "problem", "request", "student", "students"
+    );
+    private static final int MAX_QUERY_TOKENS = 32;
+
+    private final PgVectorSimilaritySearch vectorSearch;
+    private final IcrsProperties properties;
+    private final Executor searchExecutor;
+
+    public HybridSearch(
+            PgVectorSimilaritySearch vectorSearch,
+            IcrsProperties properties,
+            @Qualifier("ragSearchExecutor") Executor searchExecutor
+    ) {
+        this.vectorSearch = vectorSearch;
+        this.properties = properties;
+        this.searchExecutor = searchExecutor;
+    }
+
+    public List<Document> search(
+            float[] queryVector,
+            SearchRequest request,
+            Function<SearchRequest, List<Document>> semanticSearch
+    ) {
+        IcrsProperties.Ai.Rag.Hybrid cfg = properties.getAi().getRag().getHybrid();
+        String tsQuery = lexicalQuery(request.getQuery());
+        if (!cfg.isEnabled() || tsQuery.isEmpty()) {
+            return semanticSearch.apply(request);
+        }
+
+        SearchRequest widened = SearchRequest.from(request)
+                .topK(Math.max(request.getTopK(), cfg.getCandidates()))
+                .build();
+        CompletableFuture<List<Document>> lexical = lexicalAsync(queryVector, tsQuery, widened);
+        List<Document> semantic = semanticSearch.apply(widened);
+        List<Document> lexicalHits;
+        try {
+            lexicalHits = lexical.join();
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.retrieve.lexical.failed", "reason", e.getMessage()));
+            lexicalHits = List.of();
+        }
+        return fuse(semantic, lexicalHits, cfg.getRrfK(), request.getTopK());
+    }
+
+    private CompletableFuture<List<Document>> lexicalAsync(float[] queryVector, String tsQuery, SearchRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> vectorSearch.lexicalSearch(queryVector, tsQuery, request), searchExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(vectorSearch.lexicalSearch(queryVector, tsQuery, request));
+        }
+    }
+
+    /**
+     * Reciprocal rank fusion: each list contributes {@code 1 / (k + rank)} per document. Documents
+     * keep their cosine similarity as score; only the order reflects the fused ranking.
+     */
+    static List<Document> fuse(List<Document> semantic, List<Document> lexical, int k, int limit) {
+        Map<String, Double> fused = new LinkedHashMap<>();
+        Map<String, Document> documents = new LinkedHashMap<>();
+        for (List<Document> ranking : List.of(semantic, lexical)) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                Document document = ranking.get(rank);
+                fused.merge(document.getId(), 1d / (k + rank + 1), Double::sum);
+                documents.putIfAbsent(document.getId(), document);
+            }
+        }
+        List<Document> merged = new ArrayList<>(documents.values());
+        merged.sort(Comparator.comparing((Document document) -> fused.get(document.getId())).reversed());
+        return merged.subList(0, Math.min(limit, merged.size()));
+    }
+
+    /** OR-query of the distinct, selective word tokens in {@code text}, safe to pass to {@code to_tsquery}. */
+    static String lexicalQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2 && !LABEL_TOKENS.contains(token) && !STOP_TOKENS.contains(token)) {
+                tokens.add(token);
+            }
+            if (tokens.size() == MAX_QUERY_TOKENS) {
+                break;
+            }
+        }
+        return String.join(" | ", tokens);
+    }
+}
@@ -0,0 +1,76 @@
+package com.college.icrs.rag;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary snapshot of the local vector index: a header with the replay watermark, the HNSW graph
+ * (contiguous float32 vectors, id table and links) and each live document's text and raw metadata
+ * JSON. Snapshots are read through a memory-mapped buffer.
+ */
+final class LocalVectorIndexSnapshot {
+
+    private static final int MAGIC = 0x49435653;
+    private static final int VERSION = 1;
+
+    private LocalVectorIndexSnapshot() {
+    }
+
+    static void write(
+            Path file,
+            long watermarkMillis,
+            HnswVectorIndex index,
+            Map<String, LocalVectorStore.StoredDocument> documents
+    ) throws IOException {
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(watermarkMillis);
+            index.writeTo(out);
+            out.writeInt(documents.size());
+            for (Map.Entry<String, LocalVectorStore.StoredDocument> entry : documents.entrySet()) {
+                HnswVectorIndex.writeString(out, entry.getKey());
+                HnswVectorIndex.writeString(out, entry.getValue().text());
+                HnswVectorIndex.writeString(out, entry.getValue().metadataJson());
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Loaded read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported vector index snapshot: " + file);
+            }
+            long watermarkMillis = buffer.getLong();
+            HnswVectorIndex index = HnswVectorIndex.readFrom(buffer, watermarkMillis);
+            int count = buffer.getInt();
+            Map<String, LocalVectorStore.StoredDocument> documents = new HashMap<>(Math.max(count * 4 / 3, 16));
+            for (int i = 0; i < count; i++) {
+                String id = HnswVectorIndex.readString(buffer);
+                documents.put(id, new LocalVectorStore.StoredDocument(
+                        HnswVectorIndex.readString(buffer),
+                        HnswVectorIndex.readString(buffer),
+                        null
+                ));
+            }
+            return new Loaded(watermarkMillis, index, documents);
+        }
+    }
+
+    record Loaded(long watermarkMillis, HnswVectorIndex index, Map<String, LocalVectorStore.StoredDocument> documents) {
+    }
+}
@@ -0,0 +1,441 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.logging.IcrsLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Serves similarity search from an in-process HNSW graph while writes still go to pgvector.
+ * The graph is restored from a snapshot (or read from {@code vector_store} when there is none) once
+ * the application is ready, mirrors every {@link #add} and {@link #delete} made through this store,
+ * and periodically replays rows other writers changed since its watermark.
+ */
+@Slf4j
+public class LocalVectorStore implements VectorStore {
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+    private static final long REPLAY_OVERLAP_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final long DELETION_RETENTION_MILLIS = Duration.ofDays(7).toMillis();
+
+    private final VectorStore delegate;
+    private final EmbeddingModel embeddingModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String tableName;
+    private final int maxConnections;
+    private final int efConstruction;
+    private final int efSearch;
+    private final Path snapshotPath;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, StoredDocument> documents = new HashMap<>();
+    private HnswVectorIndex index;
+    private long watermarkMillis;
+    private volatile boolean warm;
+
+    public LocalVectorStore(
+            VectorStore delegate,
+            EmbeddingModel embeddingModel,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            String tableName,
+            int maxConnections,
+            int efConstruction,
+            int efSearch,
+            Path snapshotPath
+    ) {
+        this.delegate = delegate;
+        this.embeddingModel = embeddingModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.tableName = tableName;
+        this.maxConnections = maxConnections;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.snapshotPath = snapshotPath;
+        this.index = new HnswVectorIndex(maxConnections, efConstruction, 42L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        long startedAt = System.nanoTime();
+        try {
+            LocalVectorIndexSnapshot.Loaded snapshot = loadSnapshot();
+            if (snapshot != null) {
+                lock.writeLock().lock();
+                try {
+                    index = snapshot.index();
+                    documents = snapshot.documents();
+                    watermarkMillis = snapshot.watermarkMillis();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                int replayed = replayChanges();
+                log.info(IcrsLog.event("rag.local-index.restored",
+                        "documents", index.size(),
+                        "replayed", replayed,
+                        "elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L));
+            } else {
+                fullLoad();
+                log.info(IcrsLog.event("rag.local-index.warmed",
+                        "documents", index.size(),
+                        "elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L));
+            }
+            warm = true;
+        } catch (Exception e) {
+            log.error(IcrsLog.event("rag.local-index.warm.failed", "table", tableName), e);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @Scheduled(
+            initialDelayString = "${icrs.ai.rag.local-index.snapshot.interval-seconds:600}",
+            fixedDelayString = "${icrs.ai.rag.local-index.snapshot.interval-seconds:600}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void refresh() {
+        if (!warm) {
+            return;
+        }
+        try {
+            int replayed = replayChanges();
+            writeSnapshot();
+            int pruned = pruneDeletions();
+            log.debug(IcrsLog.event("rag.local-index.refreshed",
+                    "replayed", replayed,
+                    "pruned", pruned,
+                    "documents", index.size()));
+        } catch (Exception e) {
+            log.error(IcrsLog.event("rag.local-index.refresh.failed", "table", tableName), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!warm) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.local-index.snapshot.failed", "path", snapshotPath), e);
+        }
+    }
+
+    @Override
+    public void add(List<Document> toAdd) {
+        delegate.add(toAdd);
+        List<float[]> embeddings = embeddingModel.embed(toAdd.stream().map(Document::getText).toList());
+        List<StoredDocument> stored = toAdd.stream()
+                .map(document -> new StoredDocument(document.getText(), metadataJson(document.getMetadata()), new HashMap<>(document.getMetadata())))
+                .toList();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < toAdd.size(); i++) {
+                documents.put(toAdd.get(i).getId(), stored.get(i));
+                index.upsert(toAdd.get(i).getId(), embeddings.get(i));
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        delegate.delete(idList);
+        removeLocally(idList);
+    }
+
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        delegate.delete(filterExpression);
+        List<String> matching;
+        lock.readLock().lock();
+        try {
+            matching = documents.entrySet().stream()
+                    .filter(entry -> MetadataFilterEvaluator.matches(filterExpression, metadata(entry.getValue())))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        removeLocally(matching);
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        if (!warm) {
+            return delegate.similaritySearch(request);
+        }
+        return similaritySearch(embeddingModel.embed(request.getQuery()), request);
+    }
+
+    public List<Document> similaritySearch(float[] queryVector, SearchRequest request) {
+        lock.readLock().lock();
+        try {
+            IntPredicate filter = request.hasFilterExpression()
+                    ? ordinal -> MetadataFilterEvaluator.matches(request.getFilterExpression(), metadata(documents.get(index.id(ordinal))))
+                    : ordinal -> true;
+            List<Document> results = new ArrayList<>();
+            for (HnswVectorIndex.Hit hit : index.search(queryVector, request.getTopK(), efSearch, filter)) {
+                if (hit.score() < request.getSimilarityThreshold()) {
+                    continue;
+                }
+                String id = index.id(hit.ordinal());
+                StoredDocument stored = documents.get(id);
+                Map<String, Object> metadata = new HashMap<>(metadata(stored));
+                metadata.put("distance", 1d - hit.score());
+                results.add(Document.builder()
+                        .id(id)
+                        .text(stored.text())
+                        .metadata(metadata)
+                        .score((double) hit.score())
+                        .build());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LocalVectorIndexSnapshot.Loaded loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        try {
+            LocalVectorIndexSnapshot.Loaded snapshot = LocalVectorIndexSnapshot.read(snapshotPath);
+            if (snapshot.watermarkMillis() < databaseNow() - DELETION_RETENTION_MILLIS) {
+                log.info(IcrsLog.event("rag.local-index.snapshot.expired", "path", snapshotPath));
+                return null;
+            }
+            return snapshot;
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.local-index.snapshot.unreadable", "path", snapshotPath), e);
+            return null;
+        }
+    }
+
+    private void fullLoad() {
+        long loadStartedAt = databaseNow();
+        Map<String, StoredDocument> loadedDocuments = new HashMap<>();
+        HnswVectorIndex loadedIndex = new HnswVectorIndex(maxConnections, efConstruction, 42L);
+        jdbcTemplate.query(
+                "SELECT id, content, metadata, embedding::text AS embedding FROM " + tableName,
+                rs -> {
+                    String id = rs.getString("id");
+                    loadedDocuments.put(id, new StoredDocument(rs.getString("content"), rs.getString("metadata"), null));
+                    loadedIndex.upsert(id, parseVector(rs.getString("embedding")));
+                }
+        );
+        lock.writeLock().lock();
+        try {
+            index = loadedIndex;
+            documents = loadedDocuments;
+            watermarkMillis = loadStartedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Picks up rows written while the full read was running, including adds made through this store.
+        replayChanges();
+        writeSnapshotQuietly();
+    }
+
+    /**
+     * Applies rows updated and deleted in {@code vector_store} since the watermark. The window
+     * overlaps the previous one slightly so rows committed late by concurrent transactions are not
+     * missed; re-applying a row is idempotent.
+     */
+    private int replayChanges() {
+        long nextWatermark = databaseNow();
+        Timestamp since = new Timestamp(watermarkMillis - REPLAY_OVERLAP_MILLIS);
+        List<String> changedIds = new ArrayList<>();
+        List<StoredDocument> changed = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT id, content, metadata, embedding::text AS embedding FROM " + tableName + " WHERE updated_at > ?",
+                rs -> {
+                    changedIds.add(rs.getString("id"));
+                    changed.add(new StoredDocument(rs.getString("content"), rs.getString("metadata"), null));
+                    vectors.add(parseVector(rs.getString("embedding")));
+                },
+                since
+        );
+        List<String> deletedIds = jdbcTemplate.queryForList(
+                "SELECT d.id FROM " + tableName + "_deletions d WHERE d.deleted_at > ? "
+                        + "AND NOT EXISTS (SELECT 1 FROM " + tableName + " v WHERE v.id = d.id)",
+                String.class,
+                since
+        );
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < changedIds.size(); i++) {
+                documents.put(changedIds.get(i), changed.get(i));
+                index.upsert(changedIds.get(i), vectors.get(i));
+            }
+            for (String id : deletedIds) {
+                documents.remove(id);
+                index.remove(id);
+            }
+            compactIfNeeded();
+            watermarkMillis = nextWatermark;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changedIds.size() + deletedIds.size();
+    }
+
+    /**
+     * Drops tombstones no snapshot can still need: a snapshot whose watermark is older than the
+     * retention window is discarded on load in favour of a full read.
+     */
+    private int pruneDeletions() {
+        return jdbcTemplate.update(
+                "DELETE FROM " + tableName + "_deletions WHERE deleted_at < ?",
+                new Timestamp(databaseNow() - DELETION_RETENTION_MILLIS)
+        );
+    }
+
+    private void writeSnapshot() throws Exception {
+        if (snapshotPath == null) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            LocalVectorIndexSnapshot.write(snapshotPath, watermarkMillis, index, documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.info(IcrsLog.event("rag.local-index.snapshot.written",
+                "path", snapshotPath,
+                "documents", index.size(),
+                "elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L));
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.local-index.snapshot.failed", "path", snapshotPath), e);
+        }
+    }
+
+    private long databaseNow() {
+        Timestamp now = jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class);
+        return now != null ? now.getTime() : System.currentTimeMillis();
+    }
+
+    private void removeLocally(List<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                documents.remove(id);
+                index.remove(id);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (index.tombstones() > Math.max(index.size(), 1_000)) {
+            index = index.compacted();
+            log.info(IcrsLog.event("rag.local-index.compacted", "documents", index.size()));
+        }
+    }
+
+    private Map<String, Object> metadata(StoredDocument document) {
+        Map<String, Object> metadata = document.metadata;
+        if (metadata == null) {
+            metadata = parseMetadata(document.metadataJson());
+            document.metadata = metadata;
+        }
+        return metadata;
+    }
+
+    private Map<String, Object> parseMetadata(String json) {
+        if (!StringUtils.hasText(json)) {
+            return new HashMap<>();
+        }
+        try {
+            return objectMapper.readValue(json, METADATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse vector metadata", e);
+        }
+    }
+
+    private String metadataJson(Map<String, Object> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize vector metadata", e);
+        }
+    }
+
+    static float[] parseVector(String literal) {
+        String body = literal.trim();
+        body = body.substring(1, body.length() - 1);
+        if (body.isBlank()) {
+            return new float[0];
+        }
+        String[] parts = body.split(",");
+        float[] vector = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            vector[i] = Float.parseFloat(parts[i]);
+        }
+        return vector;
+    }
+
+    /** Text and raw metadata JSON of an indexed document; the metadata map is parsed on first use. */
+    static final class StoredDocument {
+        private final String text;
+        private final String metadataJson;
+        private volatile Map<String, Object> metadata;
+
+        StoredDocument(String text, String metadataJson, Map<String, Object> metadata) {
+            this.text = text;
+            this.metadataJson = metadataJson;
+            this.metadata = metadata;
+        }
+
+        String text() {
+            return text;
+        }
+
+        String metadataJson() {
+            return metadataJson;
+        }
+    }
+}
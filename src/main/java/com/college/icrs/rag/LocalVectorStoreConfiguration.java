@@ -0,0 +1,55 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class LocalVectorStoreConfiguration {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "icrs.ai.rag.local-index", name = "enabled", havingValue = "true")
+    public LocalVectorStore localVectorStore(
+            PgVectorStore pgVectorStore,
+            EmbeddingModel embeddingModel,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            IcrsProperties icrsProperties,
+            @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}") String tableName
+    ) {
+        IcrsProperties.Ai.Rag.LocalIndex cfg = icrsProperties.getAi().getRag().getLocalIndex();
+        Path snapshotPath = cfg.getSnapshot().isEnabled() && StringUtils.hasText(cfg.getSnapshot().getPath())
+                ? Path.of(cfg.getSnapshot().getPath())
+                : null;
+        log.info(IcrsLog.event("rag.local-index.initialized",
+                "maxConnections", cfg.getMaxConnections(),
+                "efConstruction", cfg.getEfConstruction(),
+                "efSearch", cfg.getEfSearch(),
+                "snapshotPath", snapshotPath));
+        return new LocalVectorStore(
+                pgVectorStore,
+                embeddingModel,
+                jdbcTemplate,
+                objectMapper,
+                tableName,
+                cfg.getMaxConnections(),
+                cfg.getEfConstruction(),
+                cfg.getEfSearch(),
+                snapshotPath
+        );
+    }
+}
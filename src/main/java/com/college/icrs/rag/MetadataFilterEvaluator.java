@@ -0,0 +1,93 @@
+package com.college.icrs.rag;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Evaluates Spring AI filter expressions against a document's metadata map, mirroring the
+ * comparison semantics pgvector applies through jsonpath.
+ */
+final class MetadataFilterEvaluator {
+
+    private MetadataFilterEvaluator() {
+    }
+
+    static boolean matches(Filter.Expression expression, Map<String, Object> metadata) {
+        if (expression == null) {
+            return true;
+        }
+        return switch (expression.type()) {
+            case AND -> matches(operand(expression.left()), metadata) && matches(operand(expression.right()), metadata);
+            case OR -> matches(operand(expression.left()), metadata) || matches(operand(expression.right()), metadata);
+            case NOT -> !matches(operand(expression.left()), metadata);
+            case EQ -> valueEquals(lookup(expression, metadata), value(expression));
+            case NE -> !valueEquals(lookup(expression, metadata), value(expression));
+            case GT, GTE, LT, LTE -> compares(expression.type(), lookup(expression, metadata), value(expression));
+            case IN -> values(expression).stream().anyMatch(candidate -> valueEquals(lookup(expression, metadata), candidate));
+            case NIN -> values(expression).stream().noneMatch(candidate -> valueEquals(lookup(expression, metadata), candidate));
+            default -> throw new UnsupportedOperationException("Unsupported filter expression: " + expression.type());
+        };
+    }
+
+    private static Filter.Expression operand(Filter.Operand operand) {
+        if (operand instanceof Filter.Group group) {
+            return group.content();
+        }
+        if (operand instanceof Filter.Expression expression) {
+            return expression;
+        }
+        throw new IllegalArgumentException("Expected a nested expression but got " + operand);
+    }
+
+    private static Object lookup(Filter.Expression expression, Map<String, Object> metadata) {
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalArgumentException("Expected a metadata key but got " + expression.left());
+        }
+        String name = key.key();
+        if (name.length() > 1 && (name.startsWith("\"") && name.endsWith("\"") || name.startsWith("'") && name.endsWith("'"))) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return metadata.get(name);
+    }
+
+    private static Object value(Filter.Expression expression) {
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalArgumentException("Expected a value but got " + expression.right());
+        }
+        return value.value();
+    }
+
+    private static Collection<?> values(Filter.Expression expression) {
+        Object value = value(expression);
+        return value instanceof Collection<?> collection ? collection : List.of(value);
+    }
+
+    private static boolean valueEquals(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number b) {
+            return Double.compare(a.doubleValue(), b.doubleValue()) == 0;
+        }
+        if (actual == null || expected == null) {
+            return Objects.equals(actual, expected);
+        }
+        return String.valueOf(actual).equals(String.valueOf(expected));
+    }
+
+    private static boolean compares(Filter.ExpressionType type, Object actual, Object expected) {
+        if (actual == null || expected == null) {
+            return false;
+        }
+        int comparison = actual instanceof Number a && expected instanceof Number b
+                ? Double.compare(a.doubleValue(), b.doubleValue())
+                : String.valueOf(actual).compareTo(String.valueOf(expected));
+        return switch (type) {
+            case GT -> comparison > 0;
+            case GTE -> comparison >= 0;
+            case LT -> comparison < 0;
+            default -> comparison <= 0;
+        };
+    }
+}
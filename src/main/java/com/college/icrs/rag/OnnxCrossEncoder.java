@@ -0,0 +1,136 @@
+package com.college.icrs.rag;
+
+import ai.djl.huggingface.tokenizers.Encoding;
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores (query, passage) pairs with a cross-encoder exported to ONNX, such as
+ * ms-marco-MiniLM-L-6-v2, on the onnxruntime and HuggingFace tokenizer that the Spring AI
+ * transformers starter already brings in. When reranking is enabled the model is loaded once the
+ * application is ready, so the first retrieval does not spend its rerank budget on loading; if that
+ * fails it is retried on first use.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OnnxCrossEncoder {
+
+    private final IcrsProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    private volatile OrtSession session;
+    private HuggingFaceTokenizer tokenizer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!properties.getAi().getRag().getRerank().isEnabled()) {
+            return;
+        }
+        try {
+            session();
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.rerank.model.load.failed",
+                    "model", properties.getAi().getRag().getRerank().getModelUri()), e);
+        }
+    }
+
+    public float[] score(String query, List<String> passages) throws OrtException, IOException {
+        OrtSession model = session();
+        int count = passages.size();
+        Encoding[] encodings = new Encoding[count];
+        int width = 0;
+        for (int i = 0; i < count; i++) {
+            encodings[i] = tokenizer.encode(query, passages.get(i));
+            width = Math.max(width, encodings[i].getIds().length);
+        }
+
+        long[][] inputIds = new long[count][width];
+        long[][] attentionMask = new long[count][width];
+        long[][] tokenTypeIds = new long[count][width];
+        for (int i = 0; i < count; i++) {
+            long[] ids = encodings[i].getIds();
+            System.arraycopy(ids, 0, inputIds[i], 0, ids.length);
+            System.arraycopy(encodings[i].getAttentionMask(), 0, attentionMask[i], 0, ids.length);
+            System.arraycopy(encodings[i].getTypeIds(), 0, tokenTypeIds[i], 0, ids.length);
+        }
+
+        OrtEnvironment environment = OrtEnvironment.getEnvironment();
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, inputIds));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, attentionMask));
+            if (model.getInputNames().contains("token_type_ids")) {
+                inputs.put("token_type_ids", OnnxTensor.createTensor(environment, tokenTypeIds));
+            }
+            try (OrtSession.Result result = model.run(inputs)) {
+                return logits(result.get(0).getValue(), count);
+            }
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    private static float[] logits(Object output, int count) {
+        float[] scores = new float[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = output instanceof float[][] matrix ? matrix[i][0] : ((float[]) output)[i];
+        }
+        return scores;
+    }
+
+    private OrtSession session() throws OrtException, IOException {
+        OrtSession current = session;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (session == null) {
+                IcrsProperties.Ai.Rag.Rerank cfg = properties.getAi().getRag().getRerank();
+                long startedAt = System.nanoTime();
+                try (InputStream tokenizerStream = resourceLoader.getResource(cfg.getTokenizerUri()).getInputStream();
+                     InputStream modelStream = resourceLoader.getResource(cfg.getModelUri()).getInputStream()) {
+                    tokenizer = HuggingFaceTokenizer.newInstance(tokenizerStream, Map.of(
+                            "maxLength", String.valueOf(cfg.getMaxSequenceLength()),
+                            "truncation", "true",
+                            "padding", "false"
+                    ));
+                    session = OrtEnvironment.getEnvironment().createSession(modelStream.readAllBytes(), new OrtSession.SessionOptions());
+                }
+                log.info(IcrsLog.event("rag.rerank.model.loaded",
+                        "model", cfg.getModelUri(),
+                        "elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L));
+            }
+            return session;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws OrtException {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        if (tokenizer != null) {
+            tokenizer.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.college.icrs.rag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PgVectorDocumentWriter {
+
+    @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+    private String tableName;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void upsert(List<Document> documents, List<float[]> embeddings) {
+        if (documents.size() != embeddings.size()) {
+            throw new IllegalArgumentException("Expected one embedding per document");
+        }
+
+        String sql = "INSERT INTO " + tableName + " (id, content, metadata, embedding) VALUES (?, ?, ?::json, ?::vector) "
+                + "ON CONFLICT (id) DO UPDATE SET content = EXCLUDED.content, metadata = EXCLUDED.metadata, embedding = EXCLUDED.embedding";
+        List<Object[]> rows = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            rows.add(new Object[]{
+                    document.getId(),
+                    document.getText(),
+                    metadataJson(document),
+                    vectorLiteral(embeddings.get(i))
+            });
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    private String metadataJson(Document document) {
+        try {
+            return objectMapper.writeValueAsString(document.getMetadata());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize metadata for document " + document.getId(), e);
+        }
+    }
+
+    public static String vectorLiteral(float[] embedding) {
+        StringBuilder builder = new StringBuilder(embedding.length * 10).append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(embedding[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,172 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.pgvector.PgVectorFilterExpressionConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class PgVectorSimilaritySearch {
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+    // Stored generated column (V13) indexed by idx_vector_store_content_tsv_stored.
+    private static final String TS_VECTOR = "content_tsv";
+    // The jsonpath is bound rather than inlined so filter values are never parsed as SQL.
+    private static final String FILTER_CLAUSE = " AND metadata::jsonb @@ ?::jsonpath";
+    // idx_vector_store_embedding_halfvec (V7) is built on embedding::halfvec(384); any other cast skips it.
+    static final int HALFVEC_INDEX_DIMENSIONS = 384;
+
+    @Value("${spring.ai.vectorstore.pgvector.table-name:vector_store}")
+    private String tableName;
+
+    @Value("${spring.ai.vectorstore.pgvector.dimensions:384}")
+    private int dimensions;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IcrsProperties properties;
+    private final PgVectorFilterExpressionConverter filterConverter = new PgVectorFilterExpressionConverter();
+
+    @PostConstruct
+    void validateQuantization() {
+        if (properties.getAi().getRag().getQuantization().getMode() == IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC) {
+            requireHalfvecIndexDimensions();
+        }
+    }
+
+    public List<Document> search(float[] queryVector, SearchRequest request) {
+        IcrsProperties.Ai.Rag.Quantization quantization = properties.getAi().getRag().getQuantization();
+        return search(queryVector, request, quantization.getMode(), quantization.getCandidateMultiplier());
+    }
+
+    /**
+     * With {@code HALFVEC} the candidates come from the half-precision HNSW index and are re-ranked
+     * by their full-precision distance; a multiplier of 1 returns the quantized order unchanged.
+     */
+    public List<Document> search(
+            float[] queryVector,
+            SearchRequest request,
+            IcrsProperties.Ai.Rag.Quantization.Mode mode,
+            int candidateMultiplier
+    ) {
+        String vector = PgVectorDocumentWriter.vectorLiteral(queryVector);
+        String filter = metadataFilter(request);
+        double maxDistance = 1d - request.getSimilarityThreshold();
+        List<Object> args = new ArrayList<>();
+        if (mode == IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC) {
+            requireHalfvecIndexDimensions();
+            String halfvec = "halfvec(" + dimensions + ")";
+            String sql = "SELECT id, content, metadata, distance FROM ("
+                    + "SELECT id, content, metadata, embedding <=> ?::vector AS distance FROM " + tableName
+                    + " WHERE TRUE" + (filter == null ? "" : FILTER_CLAUSE)
+                    + " ORDER BY embedding::" + halfvec + " <=> ?::" + halfvec + " LIMIT ?"
+                    + ") candidates WHERE distance < ? ORDER BY distance LIMIT ?";
+            args.add(vector);
+            addFilter(args, filter);
+            args.add(vector);
+            args.add(request.getTopK() * Math.max(candidateMultiplier, 1));
+            args.add(maxDistance);
+            args.add(request.getTopK());
+            return jdbcTemplate.query(sql, (rs, rowNum) -> toDocument(rs), args.toArray());
+        }
+
+        String sql = "SELECT id, content, metadata, embedding <=> ?::vector AS distance FROM " + tableName
+                + " WHERE embedding <=> ?::vector < ?" + (filter == null ? "" : FILTER_CLAUSE)
+                + " ORDER BY distance LIMIT ?";
+        args.add(vector);
+        args.add(vector);
+        args.add(maxDistance);
+        addFilter(args, filter);
+        args.add(request.getTopK());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toDocument(rs), args.toArray());
+    }
+
+    /**
+     * Full-text search over {@code vector_store.content}, ranked by {@code ts_rank_cd}. At most
+     * {@code icrs.ai.rag.hybrid.max-lexical-candidates} matches are ranked, so a query term found in
+     * most documents does not make the ranking read every match. The hits still carry their cosine
+     * distance to {@code queryVector} so they can be scored like vector hits, but are not cut by the
+     * similarity threshold: exact-token matches the embedding ranks low are the reason this search runs at all.
+     */
+    public List<Document> lexicalSearch(float[] queryVector, String tsQuery, SearchRequest request) {
+        if (!StringUtils.hasText(tsQuery)) {
+            return List.of();
+        }
+        String filter = metadataFilter(request);
+        int candidateLimit = Math.max(properties.getAi().getRag().getHybrid().getMaxLexicalCandidates(), request.getTopK());
+        String sql = "SELECT id, content, metadata, embedding <=> ?::vector AS distance FROM ("
+                + "SELECT id, content, metadata, embedding, " + TS_VECTOR + " FROM " + tableName
+                + " WHERE " + TS_VECTOR + " @@ to_tsquery('english', ?)"
+                + (filter == null ? "" : FILTER_CLAUSE)
+                + " LIMIT " + candidateLimit
+                + ") candidates ORDER BY ts_rank_cd(" + TS_VECTOR + ", to_tsquery('english', ?)) DESC LIMIT ?";
+        String vector = PgVectorDocumentWriter.vectorLiteral(queryVector);
+        List<Object> args = new ArrayList<>();
+        args.add(vector);
+        args.add(tsQuery);
+        addFilter(args, filter);
+        args.add(tsQuery);
+        args.add(request.getTopK());
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toDocument(rs), args.toArray());
+    }
+
+    private void requireHalfvecIndexDimensions() {
+        if (dimensions != HALFVEC_INDEX_DIMENSIONS) {
+            throw new IllegalStateException("icrs.ai.rag.quantization.mode=halfvec needs spring.ai.vectorstore.pgvector.dimensions="
+                    + HALFVEC_INDEX_DIMENSIONS + " to match idx_vector_store_embedding_halfvec, but it is " + dimensions
+                    + "; add a migration that rebuilds the index for the new dimensions");
+        }
+    }
+
+    /** The request's filter as a jsonpath expression, or {@code null} when it has none. */
+    private String metadataFilter(SearchRequest request) {
+        return request.hasFilterExpression() ? filterConverter.convertExpression(request.getFilterExpression()) : null;
+    }
+
+    private static void addFilter(List<Object> args, String filter) {
+        if (filter != null) {
+            args.add(filter);
+        }
+    }
+
+    private Document toDocument(ResultSet rs) throws SQLException {
+        double distance = rs.getDouble("distance");
+        Map<String, Object> metadata = new HashMap<>(parseMetadata(rs.getString("metadata")));
+        metadata.put("distance", distance);
+        return Document.builder()
+                .id(rs.getString("id"))
+                .text(rs.getString("content"))
+                .metadata(metadata)
+                .score(1d - distance)
+                .build();
+    }
+
+    private Map<String, Object> parseMetadata(String json) {
+        if (!StringUtils.hasText(json)) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, METADATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to parse vector metadata", e);
+        }
+    }
+}
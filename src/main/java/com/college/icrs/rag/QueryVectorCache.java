@@ -0,0 +1,53 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryVectorCache {
+
+    private final EmbeddingModel embeddingModel;
+    private final IcrsProperties properties;
+    private final LinkedHashMap<Long, CachedVector> vectors = new LinkedHashMap<>(16, 0.75f, true);
+
+    public float[] vectorFor(Long grievanceId, String queryText) {
+        IcrsProperties.Ai.Rag.QueryVectorCache cfg = properties.getAi().getRag().getQueryVectorCache();
+        if (!cfg.isEnabled()) {
+            return embeddingModel.embed(queryText);
+        }
+        String textHash = CachingEmbeddingModel.contentHash(queryText);
+        long now = System.currentTimeMillis();
+        if (grievanceId != null) {
+            synchronized (this) {
+                CachedVector cached = vectors.get(grievanceId);
+                if (cached != null && cached.expiresAtMillis() > now && cached.textHash().equals(textHash)) {
+                    log.debug(IcrsLog.event("rag.query-vector.cache-hit", "grievanceId", grievanceId));
+                    return cached.vector();
+                }
+            }
+        }
+
+        float[] vector = embeddingModel.embed(queryText);
+        if (grievanceId != null) {
+            synchronized (this) {
+                vectors.put(grievanceId, new CachedVector(textHash, vector, now + Math.max(cfg.getTtlSeconds(), 1L) * 1000L));
+                while (vectors.size() > Math.max(cfg.getMaxEntries(), 1)) {
+                    vectors.remove(vectors.keySet().iterator().next());
+                }
+            }
+        }
+        return vector;
+    }
+
+    private record CachedVector(String textHash, float[] vector, long expiresAtMillis) {
+    }
+}
@@ -12,14 +12,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import com.college.icrs.repository.GrievanceReferenceView;
 import com.college.icrs.repository.GrievanceRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,39 +35,124 @@ public class RagService {
     private final IcrsProperties properties;
     private final EmbeddingService embeddingService;
     private final GrievanceRepository grievanceRepository;
+    private final GrievanceIndexingQueue grievanceIndexingQueue;
+    private final QueryVectorCache queryVectorCache;
+    private final PgVectorSimilaritySearch vectorSearch;
+    private final HybridSearch hybridSearch;
+    private final RerankStage rerankStage;
 
     public List<GrievanceContext> retrieveSimilar(Grievance grievance) {
-        if (grievance == null || !properties.getAi().getRag().isEnabled()) {
+        if (grievance == null) {
+            return List.of();
+        }
+        return retrieveSimilar(
+                grievance.getId(),
+                embeddingService.buildEmbeddingText(grievance),
+                grievance.getCategory() != null ? grievance.getCategory().getName() : null
+        );
+    }
+
+    public List<GrievanceContext> retrieveSimilar(Long grievanceId, String query) {
+        return retrieveSimilar(grievanceId, query, null);
+    }
+
+    public List<GrievanceContext> retrieveSimilar(Long grievanceId, String query, String categoryName) {
+        if (grievanceId == null || !properties.getAi().getRag().isEnabled()) {
             return List.of();
         }
 
-        String query = embeddingService.buildEmbeddingText(grievance);
         if (!StringUtils.hasText(query)) {
             return List.of();
         }
 
         int limit = Math.max(1, properties.getAi().getRag().getTopK());
         try {
-            List<GrievanceContext> contexts = vectorStore.similaritySearch(
-                            SearchRequest.builder()
-                                    .query(query)
-                                    .topK(limit + 1)
-                                    .build()
-                    ).stream()
-                    .filter(document -> !String.valueOf(grievance.getId()).equals(document.getId()))
-                    .map(this::map)
+            long startedAt = System.nanoTime();
+            SearchRequest request = searchRequest(query, rerankStage.candidateCount(limit) + 1, categoryName);
+            boolean precomputed = usesPrecomputedVector();
+            float[] queryVector = precomputed ? queryVectorCache.vectorFor(grievanceId, query) : null;
+            long embeddedAt = System.nanoTime();
+            List<Document> candidates = search(precomputed, queryVector, request).stream()
+                    .filter(document -> !String.valueOf(grievanceId).equals(document.getId()))
+                    .toList();
+            long searchedAt = System.nanoTime();
+            RerankStage.Reranked reranked = rerankStage.rerank(query, candidates);
+            List<Document> hits = reranked.documents();
+            long rerankedAt = System.nanoTime();
+            boolean metadataOnly = properties.getAi().getRag().getContextSource() == IcrsProperties.Ai.Rag.ContextSource.METADATA;
+            List<Document> needsDatabase = metadataOnly ? hits.stream().filter(this::hasStaleMetadata).toList() : hits;
+            Map<Long, GrievanceReferenceView> references = loadReferences(needsDatabase);
+            if (metadataOnly && !needsDatabase.isEmpty()) {
+                log.debug(IcrsLog.event("rag.retrieve.metadata.stale", "grievanceId", grievanceId, "staleHits", needsDatabase.size()));
+            }
+            List<GrievanceContext> contexts = hits.stream()
+                    .map(document -> map(document, references))
                     .filter(Objects::nonNull)
-                    .sorted(Comparator.comparing(GrievanceContext::getSimilarityScore, Comparator.nullsLast(Comparator.reverseOrder())))
                     .limit(limit)
                     .toList();
-            log.info(IcrsLog.event("rag.retrieve", "grievanceId", grievance.getId(), "count", contexts.size()));
+            long finishedAt = System.nanoTime();
+            log.info(IcrsLog.event("rag.retrieve",
+                    "grievanceId", grievanceId,
+                    "count", contexts.size(),
+                    "candidates", candidates.size(),
+                    "rerank", reranked.outcome(),
+                    "embedMs", millis(startedAt, embeddedAt),
+                    "searchMs", millis(embeddedAt, searchedAt),
+                    "rerankMs", millis(searchedAt, rerankedAt),
+                    "referencesMs", millis(rerankedAt, finishedAt),
+                    "totalMs", millis(startedAt, finishedAt)));
             return contexts;
         } catch (Exception e) {
-            log.error(IcrsLog.event("rag.retrieve.failed", "grievanceId", grievance.getId()), e);
+            log.error(IcrsLog.event("rag.retrieve.failed", "grievanceId", grievanceId), e);
             return List.of();
         }
     }
 
+    private boolean usesPrecomputedVector() {
+        IcrsProperties.Ai.Rag rag = properties.getAi().getRag();
+        return rag.getQueryVectorCache().isEnabled()
+                || rag.getQuantization().getMode() != IcrsProperties.Ai.Rag.Quantization.Mode.NONE
+                || rag.getHybrid().isEnabled();
+    }
+
+    private List<Document> search(boolean precomputed, float[] queryVector, SearchRequest request) {
+        if (!precomputed) {
+            return vectorStore.similaritySearch(request);
+        }
+        return hybridSearch.search(queryVector, request, semanticRequest -> semanticSearch(queryVector, semanticRequest));
+    }
+
+    private List<Document> semanticSearch(float[] queryVector, SearchRequest request) {
+        if (vectorStore instanceof LocalVectorStore localVectorStore && localVectorStore.isWarm()) {
+            return localVectorStore.similaritySearch(queryVector, request);
+        }
+        return vectorSearch.search(queryVector, request);
+    }
+
+    SearchRequest searchRequest(String query, int topK, String categoryName) {
+        IcrsProperties.Ai.Rag.Filter filter = properties.getAi().getRag().getFilter();
+        SearchRequest.Builder builder = SearchRequest.builder()
+                .query(query)
+                .topK(topK)
+                .similarityThreshold(Math.max(filter.getSimilarityThreshold(), 0d));
+
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        List<FilterExpressionBuilder.Op> clauses = new ArrayList<>();
+        if (filter.isSameCategory() && StringUtils.hasText(categoryName)) {
+            clauses.add(b.eq(GrievanceVectorDocumentFactory.CATEGORY_METADATA_KEY, categoryName.trim()));
+        }
+        if (filter.isResolvedOnly()) {
+            clauses.add(b.eq(GrievanceVectorDocumentFactory.RESOLVED_METADATA_KEY, true));
+        }
+        if (!filter.getSources().isEmpty()) {
+            clauses.add(b.in(GrievanceVectorDocumentFactory.SOURCE_METADATA_KEY, new ArrayList<Object>(filter.getSources())));
+        }
+        clauses.stream()
+                .reduce(b::and)
+                .ifPresent(expression -> builder.filterExpression(expression.build()));
+        return builder.build();
+    }
+
     public String buildContextSection(List<GrievanceContext> contexts) {
         if (contexts == null || contexts.isEmpty()) {
             return "";
@@ -98,27 +187,63 @@ public class RagService {
         private Double similarityScore;
     }
 
-    private GrievanceContext map(Document document) {
+    private Map<Long, GrievanceReferenceView> loadReferences(List<Document> hits) {
+        List<Long> ids = hits.stream()
+                .map(this::grievanceId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return grievanceRepository.findReferenceViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(GrievanceReferenceView::getId, Function.identity()));
+    }
+
+    private GrievanceContext map(Document document, Map<Long, GrievanceReferenceView> references) {
         Long grievanceId = grievanceId(document);
-        if (grievanceId != null) {
-            return grievanceRepository.findById(grievanceId)
-                    .map(grievance -> {
-                        GrievanceContext context = new GrievanceContext();
-                        context.setReferenceId(String.valueOf(grievanceId));
-                        context.setTitle(grievance.getTitle());
-                        context.setDescription(grievance.getDescription());
-                        context.setCategory(grievance.getCategory() != null ? grievance.getCategory().getName() : null);
-                        context.setSubcategory(grievance.getSubcategory() != null ? grievance.getSubcategory().getName() : null);
-                        context.setPriority(grievance.getPriority());
-                        context.setSentiment(grievance.getSentiment());
-                        context.setResolutionText(grievance.getAiResolutionText());
-                        context.setSource("application-grievance");
-                        context.setSimilarityScore(document.getScore());
-                        return context;
-                    })
-                    .orElseGet(() -> fromDocument(document));
-        }
-        return fromDocument(document);
+        GrievanceReferenceView reference = grievanceId != null ? references.get(grievanceId) : null;
+        if (reference == null) {
+            return fromDocument(document);
+        }
+
+        GrievanceContext context = new GrievanceContext();
+        context.setReferenceId(String.valueOf(grievanceId));
+        context.setTitle(reference.getTitle());
+        context.setDescription(reference.getDescription());
+        context.setCategory(reference.getCategoryName());
+        context.setSubcategory(reference.getSubcategoryName());
+        context.setPriority(reference.getPriority());
+        context.setSentiment(reference.getSentiment());
+        context.setResolutionText(reference.getAiResolutionText());
+        context.setSource("application-grievance");
+        context.setSimilarityScore(document.getScore());
+        return context;
+    }
+
+    private boolean hasStaleMetadata(Document document) {
+        Long referenceId = grievanceId(document);
+        if (referenceId == null) {
+            return false;
+        }
+        Long indexedAt = indexedAt(document);
+        if (indexedAt == null || grievanceIndexingQueue.needsReindex(referenceId)) {
+            return true;
+        }
+        long maxAgeSeconds = properties.getAi().getRag().getMetadataMaxAgeSeconds();
+        return maxAgeSeconds > 0L && System.currentTimeMillis() - indexedAt > maxAgeSeconds * 1000L;
+    }
+
+    private Long indexedAt(Document document) {
+        String value = metadataText(document, GrievanceVectorDocumentFactory.INDEXED_AT_METADATA_KEY);
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
     }
 
     private Long grievanceId(Document document) {
@@ -219,6 +344,10 @@ public class RagService {
         }
     }
 
+    private static double millis(long fromNanos, long toNanos) {
+        return Math.round((toNanos - fromNanos) / 10_000d) / 100d;
+    }
+
     private String formatScore(Double score) {
         if (score == null) {
             return "n/a";
@@ -0,0 +1,98 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+/**
+ * Re-scores over-fetched retrieval candidates with the cross-encoder inside a strict time budget.
+ * When the budget runs out, scoring fails or the rerank executor is saturated, the incoming
+ * retrieval order is kept.
+ */
+@Component
+@Slf4j
+public class RerankStage {
+
+    private final OnnxCrossEncoder crossEncoder;
+    private final IcrsProperties properties;
+    private final Executor rerankExecutor;
+
+    public RerankStage(
+            OnnxCrossEncoder crossEncoder,
+            IcrsProperties properties,
+            @Qualifier("rerankExecutor") Executor rerankExecutor
+    ) {
+        this.crossEncoder = crossEncoder;
+        this.properties = properties;
+        this.rerankExecutor = rerankExecutor;
+    }
+
+    public boolean isEnabled() {
+        return properties.getAi().getRag().getRerank().isEnabled();
+    }
+
+    public int candidateCount(int limit) {
+        return isEnabled() ? limit * Math.max(properties.getAi().getRag().getRerank().getCandidateMultiplier(), 1) : limit;
+    }
+
+    public Reranked rerank(String query, List<Document> candidates) {
+        if (!isEnabled() || candidates.size() <= 1) {
+            return new Reranked(candidates, Outcome.SKIPPED);
+        }
+
+        long budgetMs = Math.max(properties.getAi().getRag().getRerank().getBudgetMs(), 1L);
+        CompletableFuture<float[]> scoring = null;
+        try {
+            scoring = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return crossEncoder.score(query, candidates.stream().map(Document::getText).toList());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Cross-encoder scoring failed", e);
+                }
+            }, rerankExecutor);
+            float[] scores = scoring.get(budgetMs, TimeUnit.MILLISECONDS);
+            List<Document> reordered = IntStream.range(0, candidates.size())
+                    .boxed()
+                    .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                    .map(candidates::get)
+                    .toList();
+            return new Reranked(reordered, Outcome.RERANKED);
+        } catch (TimeoutException e) {
+            scoring.cancel(true);
+            log.warn(IcrsLog.event("rag.rerank.budget-exceeded", "budgetMs", budgetMs, "candidates", candidates.size()));
+            return new Reranked(candidates, Outcome.TIMED_OUT);
+        } catch (RejectedExecutionException e) {
+            log.warn(IcrsLog.event("rag.rerank.rejected", "candidates", candidates.size()));
+            return new Reranked(candidates, Outcome.REJECTED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Reranked(candidates, Outcome.FAILED);
+        } catch (Exception e) {
+            log.warn(IcrsLog.event("rag.rerank.failed", "candidates", candidates.size()), e);
+            return new Reranked(candidates, Outcome.FAILED);
+        }
+    }
+
+    public enum Outcome {
+        SKIPPED,
+        RERANKED,
+        TIMED_OUT,
+        REJECTED,
+        FAILED
+    }
+
+    public record Reranked(List<Document> documents, Outcome outcome) {
+    }
+}
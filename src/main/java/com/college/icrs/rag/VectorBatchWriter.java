@@ -0,0 +1,47 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.logging.IcrsLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VectorBatchWriter {
+
+    private final VectorStore vectorStore;
+    private final IcrsProperties properties;
+
+    public int write(List<Document> documents) {
+        return write(documents, batchSize());
+    }
+
+    public int batchSize() {
+        return Math.max(properties.getAi().getRag().getWriteBatchSize(), 1);
+    }
+
+    public int write(List<Document> documents, int batchSize) {
+        if (documents == null || documents.isEmpty()) {
+            return 0;
+        }
+
+        int size = Math.max(batchSize, 1);
+        int batches = 0;
+        for (int from = 0; from < documents.size(); from += size) {
+            List<Document> batch = documents.subList(from, Math.min(from + size, documents.size()));
+            long startedAt = System.nanoTime();
+            vectorStore.add(List.copyOf(batch));
+            batches++;
+            log.debug(IcrsLog.event("rag.vector.batch.written",
+                    "documents", batch.size(),
+                    "elapsedMs", (System.nanoTime() - startedAt) / 1_000_000L));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,23 @@
+package com.college.icrs.repository;
+
+import com.college.icrs.model.Priority;
+import com.college.icrs.model.Sentiment;
+
+public interface GrievanceReferenceView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getCategoryName();
+
+    String getSubcategoryName();
+
+    Priority getPriority();
+
+    Sentiment getSentiment();
+
+    String getAiResolutionText();
+}
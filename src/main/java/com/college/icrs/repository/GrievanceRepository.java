@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -27,6 +29,20 @@ public interface GrievanceRepository extends JpaRepository<Grievance, Long> {
     @EntityGraph(attributePaths = {"category", "subcategory", "student", "assignedTo", "statusHistory", "statusHistory.actor"})
     java.util.Optional<Grievance> findById(Long id);
 
+    @EntityGraph(attributePaths = {"category", "subcategory"})
+    List<Grievance> findByIdIn(java.util.Collection<Long> ids);
+
+    @Query("""
+            select g.id as id, g.title as title, g.description as description,
+                   c.name as categoryName, s.name as subcategoryName,
+                   g.priority as priority, g.sentiment as sentiment, g.aiResolutionText as aiResolutionText
+            from Grievance g
+            left join g.category c
+            left join g.subcategory s
+            where g.id in :ids
+            """)
+    List<GrievanceReferenceView> findReferenceViewsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
     long countByStatus(Status status);
 
     long countByAiResolvedTrue();
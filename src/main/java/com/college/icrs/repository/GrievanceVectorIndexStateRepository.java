@@ -0,0 +1,9 @@
+package com.college.icrs.repository;
+
+import com.college.icrs.model.GrievanceVectorIndexState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GrievanceVectorIndexStateRepository extends JpaRepository<GrievanceVectorIndexState, Long> {
+}
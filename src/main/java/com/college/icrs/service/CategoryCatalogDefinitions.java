@@ -58,6 +58,22 @@ public class CategoryCatalogDefinitions {
                 .findFirst();
     }
 
+    /** Prompt-ready listing of the catalog; the output is identical for every call. */
+    public String describe() {
+        StringBuilder builder = new StringBuilder();
+        for (CatalogCategoryDefinition category : CATALOG) {
+            builder.append("- ").append(category.name()).append(": ").append(category.description());
+            if (category.sensitive()) {
+                builder.append(" (sensitive").append(category.hideIdentity() ? ", identity hidden" : "").append(')');
+            }
+            builder.append('\n');
+            for (CatalogSubcategoryDefinition subcategory : category.subcategories()) {
+                builder.append("  - ").append(subcategory.name()).append(": ").append(subcategory.description()).append('\n');
+            }
+        }
+        return builder.toString().trim();
+    }
+
     public Optional<CatalogSubcategoryDefinition> findSubcategory(
             CatalogCategoryDefinition category,
             Long subcategoryId,
@@ -1,5 +1,6 @@
 package com.college.icrs.service;
 
+import com.college.icrs.ai.agent.GrievanceDecisionCache;
 import com.college.icrs.dto.CommentResponseDTO;
 import com.college.icrs.exception.ForbiddenOperationException;
 import com.college.icrs.exception.InvalidRequestException;
@@ -10,7 +11,7 @@ import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Role;
 import com.college.icrs.model.Status;
 import com.college.icrs.model.User;
-import com.college.icrs.rag.EmbeddingService;
+import com.college.icrs.rag.GrievanceIndexingQueue;
 import com.college.icrs.repository.CommentRepository;
 import com.college.icrs.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +30,8 @@ public class GrievanceCommentService {
     private final CommentRepository commentRepository;
     private final PasswordEncoder passwordEncoder;
     private final GrievanceNotificationService grievanceNotificationService;
-    private final EmbeddingService embeddingService;
+    private final GrievanceIndexingQueue grievanceIndexingQueue;
+    private final GrievanceDecisionCache grievanceDecisionCache;
 
     public CommentResponseDTO addSystemComment(Grievance grievance, String systemAuthorEmail, String body) {
         log.info(IcrsLog.event("grievance.system-comment.start", "grievanceId", grievance.getId(), "authorEmail", systemAuthorEmail));
@@ -100,12 +102,14 @@ public class GrievanceCommentService {
         comment.setGrievance(grievance);
         comment.setAuthor(author);
         comment.setBody(body);
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        grievanceDecisionCache.invalidate(grievance.getId());
+        return saved;
     }
 
     private void refreshResolvedGrievanceEmbedding(Grievance grievance) {
         if (grievance != null && grievance.getStatus() == Status.RESOLVED) {
-            embeddingService.indexGrievance(grievance);
+            grievanceIndexingQueue.enqueue(grievance);
         }
     }
 
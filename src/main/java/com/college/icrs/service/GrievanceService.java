@@ -1,5 +1,6 @@
 package com.college.icrs.service;
 
+import com.college.icrs.ai.agent.GrievanceDecisionCache;
 import com.college.icrs.exception.ResourceNotFoundException;
 import com.college.icrs.logging.IcrsLog;
 import com.college.icrs.dto.CommentResponseDTO;
@@ -9,6 +10,7 @@ import com.college.icrs.model.Sentiment;
 import com.college.icrs.model.Status;
 import com.college.icrs.model.User;
 import com.college.icrs.rag.EmbeddingService;
+import com.college.icrs.rag.GrievanceIndexingQueue;
 import com.college.icrs.repository.GrievanceRepository;
 import com.college.icrs.repository.UserRepository;
 import org.springframework.data.domain.Page;
@@ -31,9 +33,11 @@ public class GrievanceService {
     private final GrievanceRepository grievanceRepository;
     private final UserRepository userRepository;
     private final EmbeddingService embeddingService;
+    private final GrievanceIndexingQueue grievanceIndexingQueue;
     private final GrievanceStatusAuditService grievanceStatusAuditService;
     private final GrievanceNotificationService grievanceNotificationService;
     private final GrievanceCommentService grievanceCommentService;
+    private final GrievanceDecisionCache grievanceDecisionCache;
 
     public Grievance createGrievance(Grievance grievance, Long studentId) {
         log.info(IcrsLog.event("grievance.create.start", "studentId", studentId, "title", grievance.getTitle()));
@@ -44,7 +48,7 @@ public class GrievanceService {
         prepareNewGrievance(grievance);
 
         Grievance saved = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(saved);
+        grievanceIndexingQueue.enqueue(saved);
         log.info(IcrsLog.event("grievance.create.completed",
                 "grievanceId", saved.getId(),
                 "status", saved.getStatus(),
@@ -72,7 +76,8 @@ public class GrievanceService {
         }
 
         Grievance saved = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(saved);
+        grievanceIndexingQueue.enqueue(saved);
+        grievanceDecisionCache.invalidate(saved.getId());
         grievanceStatusAuditService.appendStatusHistory(saved, fromStatus, targetStatus, null);
         if (fromStatus != targetStatus) {
             grievanceNotificationService.sendStatusChangeEmail(grievance.getStudent(), saved, fromStatus, targetStatus);
@@ -83,6 +88,7 @@ public class GrievanceService {
     public void deleteGrievance(Long id) {
         Grievance grievance = getGrievanceById(id);
         embeddingService.removeGrievance(grievance.getId());
+        grievanceDecisionCache.invalidate(grievance.getId());
         grievanceRepository.delete(grievance);
     }
 
@@ -110,7 +116,8 @@ public class GrievanceService {
         grievance.setAssignedTo(faculty);
         grievance.setStatus(Status.IN_PROGRESS);
         Grievance updated = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(updated);
+        grievanceIndexingQueue.enqueue(updated);
+        grievanceDecisionCache.invalidate(updated.getId());
         grievanceNotificationService.sendAssignmentEmail(grievance.getStudent(), faculty, updated);
         return updated;
     }
@@ -122,7 +129,8 @@ public class GrievanceService {
         reconcileAiFlagsForManualStatusChange(grievance, status);
         grievance.setStatus(status);
         Grievance saved = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(saved);
+        grievanceIndexingQueue.enqueue(saved);
+        grievanceDecisionCache.invalidate(saved.getId());
         grievanceStatusAuditService.appendStatusHistory(saved, fromStatus, status, null);
 
         grievanceNotificationService.sendStatusChangeEmail(grievance.getStudent(), saved, fromStatus, status);
@@ -169,7 +177,7 @@ public class GrievanceService {
         Status currentStatus = grievance.getStatus();
         applyAiRecommendation(grievance, aiResolutionText, aiResolutionComment, aiConfidence, aiModelName, aiDecisionSource, aiDecisionAt);
         Grievance saved = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(saved);
+        grievanceIndexingQueue.enqueue(saved);
         grievanceStatusAuditService.appendStatusHistory(saved, currentStatus, currentStatus, "Redirected to the corresponding faculty by AI");
         log.info(IcrsLog.event("grievance.ai.manual-review.completed",
                 "grievanceId", grievanceId,
@@ -193,7 +201,7 @@ public class GrievanceService {
         applyResolvedByAi(grievance, aiResolutionText, aiResolutionComment, aiConfidence, aiModelName, aiDecisionSource);
 
         Grievance saved = grievanceRepository.save(grievance);
-        embeddingService.indexGrievance(saved);
+        grievanceIndexingQueue.enqueue(saved);
         grievanceStatusAuditService.appendStatusHistory(saved, fromStatus, Status.RESOLVED, "Resolved by AI");
         grievanceNotificationService.sendStatusChangeEmail(grievance.getStudent(), saved, fromStatus, Status.RESOLVED);
         log.info(IcrsLog.event("grievance.ai.resolve.completed",
@@ -21,6 +21,7 @@ public final class GrievanceVectorImportMain {
         boolean replaceExisting = Boolean.parseBoolean(
                 System.getProperty("grievanceImportReplaceExisting", "false")
         );
+        int parallelism = Integer.parseInt(System.getProperty("grievanceImportParallelism", "1"));
 
         try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IcrsApplication.class)
                 .properties(
@@ -30,7 +31,16 @@ public final class GrievanceVectorImportMain {
                 )
                 .run(args)) {
             GrievanceVectorImportService importer = context.getBean(GrievanceVectorImportService.class);
-            importer.importFile(Path.of(importFile), replaceExisting);
+            GrievanceVectorImportService.ImportSummary summary = importer.importFile(Path.of(importFile), replaceExisting, parallelism);
+            System.out.printf(
+                    "Grievance vector import finished. Processed=%d, Written=%d, ResumedFrom=%d, Parallelism=%d, ElapsedMs=%d, DocsPerSecond=%.1f%n",
+                    summary.processed(),
+                    summary.written(),
+                    summary.resumedFrom(),
+                    parallelism,
+                    summary.elapsedMs(),
+                    summary.documentsPerSecond()
+            );
             SpringApplication.exit(context);
         }
     }
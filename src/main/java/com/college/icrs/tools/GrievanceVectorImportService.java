@@ -5,21 +5,30 @@ import com.college.icrs.model.Priority;
 import com.college.icrs.model.Sentiment;
 import com.college.icrs.rag.GrievanceVectorDocumentFactory;
 import com.college.icrs.rag.GrievanceVectorDocumentFactory.ImportedGrievanceRecord;
+import com.college.icrs.rag.PgVectorDocumentWriter;
+import com.college.icrs.rag.VectorBatchWriter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.BiConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -29,52 +38,232 @@ public class GrievanceVectorImportService {
     private final ObjectMapper objectMapper;
     private final VectorStore vectorStore;
     private final GrievanceVectorDocumentFactory documentFactory;
+    private final VectorBatchWriter vectorBatchWriter;
+    private final EmbeddingModel embeddingModel;
+    private final PgVectorDocumentWriter pgVectorDocumentWriter;
 
-    public void importFile(Path file, boolean replaceExisting) {
-        if (file == null || !Files.exists(file) || !Files.isRegularFile(file)) {
-            throw new IllegalArgumentException("Import file not found: " + file);
+    public ImportSummary importFile(Path file, boolean replaceExisting) {
+        return importFile(file, replaceExisting, 1);
+    }
+
+    public ImportSummary importFile(Path file, boolean replaceExisting, int parallelism) {
+        requireFile(file);
+        Path checkpointFile = checkpointPath(file);
+        long resumeFrom = readCheckpoint(checkpointFile, file);
+        if (resumeFrom > 0) {
+            log.info(IcrsLog.event("rag.import.resumed", "file", file.toAbsolutePath(), "processed", resumeFrom));
         }
 
-        List<Document> documents = parseDocuments(file);
-        if (documents.isEmpty()) {
-            log.warn(IcrsLog.event("rag.import.skipped", "reason", "no-documents", "file", file.toAbsolutePath()));
-            return;
+        int chunkSize = vectorBatchWriter.batchSize();
+        ImportRun run = new ImportRun(file, checkpointFile, replaceExisting, resumeFrom);
+        if (parallelism > 1) {
+            run.pipeline = new ParallelEmbeddingImportPipeline(
+                    parallelism,
+                    parallelism * 2,
+                    embeddingModel::embed,
+                    (documents, embeddings) -> {
+                        if (replaceExisting) {
+                            vectorStore.delete(documents.stream().map(Document::getId).toList());
+                        }
+                        pgVectorDocumentWriter.upsert(documents, embeddings);
+                    },
+                    position -> writeCheckpoint(checkpointFile, file, position)
+            );
+            log.info(IcrsLog.event("rag.import.parallel", "workers", parallelism, "chunkSize", chunkSize));
         }
 
-        if (replaceExisting) {
-            vectorStore.delete(documents.stream().map(Document::getId).toList());
+        List<Document> chunk = new ArrayList<>(chunkSize);
+        try {
+            readDocuments(file, resumeFrom, (position, document) -> {
+                chunk.add(document);
+                run.processed = position;
+                if (chunk.size() >= chunkSize) {
+                    dispatch(run, chunk);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                dispatch(run, chunk);
+            }
+            if (run.pipeline != null) {
+                try {
+                    run.pipeline.finish();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for import workers", e);
+                }
+                run.written = run.pipeline.written();
+                run.batches = run.pipeline.batches();
+            }
+        } finally {
+            // A read or write failure must not leave embedding workers or the writer running behind the caller.
+            if (run.pipeline != null) {
+                run.pipeline.shutdownNow();
+            }
         }
+        deleteCheckpoint(checkpointFile);
 
-        vectorStore.add(documents);
+        ImportSummary summary = ImportSummary.of(run.processed, run.written, resumeFrom, run.batches, System.nanoTime() - run.startedAt);
+        if (summary.processed() == 0L) {
+            log.warn(IcrsLog.event("rag.import.skipped", "reason", "no-documents", "file", file.toAbsolutePath()));
+            return summary;
+        }
         log.info(IcrsLog.event(
                 "rag.import.completed",
                 "file", file.toAbsolutePath(),
-                "documents", documents.size(),
+                "documents", summary.written(),
+                "resumedFrom", resumeFrom,
+                "batches", summary.batches(),
+                "parallelism", Math.max(parallelism, 1),
+                "elapsedMs", summary.elapsedMs(),
+                "documentsPerSecond", String.format(Locale.ROOT, "%.1f", summary.documentsPerSecond()),
                 "replaceExisting", replaceExisting
         ));
+        return summary;
     }
 
-    private List<Document> parseDocuments(Path file) {
-        try {
-            JsonNode root = objectMapper.readTree(file.toFile());
-            JsonNode grievances = root.isArray() ? root : root.path("grievances");
-            if (!grievances.isArray()) {
-                throw new IllegalArgumentException("Expected a JSON array or an object with a grievances array");
-            }
+    public List<Document> readDocuments(Path file) {
+        requireFile(file);
+        List<Document> documents = new ArrayList<>();
+        readDocuments(file, 0L, (position, document) -> documents.add(document));
+        return documents;
+    }
 
-            List<Document> documents = new ArrayList<>();
-            int index = 0;
-            for (JsonNode node : grievances) {
+    private void readDocuments(Path file, long skip, BiConsumer<Long, Document> consumer) {
+        long index = 0L;
+        try (JsonParser parser = openGrievanceArray(file)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw truncatedFile(file, index, null);
+                }
+                if (index < skip) {
+                    parser.skipChildren();
+                    index++;
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(parser);
                 ImportedGrievanceRecord record = toRecord(node, index++);
-                documents.add(documentFactory.fromImportedRecord(record));
+                consumer.accept(index, documentFactory.fromImportedRecord(record));
             }
-            return documents;
+        } catch (JsonEOFException e) {
+            throw truncatedFile(file, index, e);
         } catch (IOException e) {
             throw new IllegalArgumentException("Failed to read import file: " + file, e);
         }
     }
 
-    private ImportedGrievanceRecord toRecord(JsonNode node, int index) {
+    private IllegalArgumentException truncatedFile(Path file, long recordsRead, Throwable cause) {
+        return new IllegalArgumentException("Import file is truncated: " + file
+                + " ends after " + recordsRead + " grievance records without closing the grievances array."
+                + " Documents imported before this point are recorded in checkpoint " + checkpointPath(file) + ".", cause);
+    }
+
+    private JsonParser openGrievanceArray(Path file) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(file.toFile());
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_ARRAY) {
+            return parser;
+        }
+        if (first == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("grievances".equals(fieldName) && value == JsonToken.START_ARRAY) {
+                    return parser;
+                }
+                parser.skipChildren();
+            }
+        }
+        parser.close();
+        throw new IllegalArgumentException("Expected a JSON array or an object with a grievances array");
+    }
+
+    private void dispatch(ImportRun run, List<Document> chunk) {
+        if (run.pipeline != null) {
+            try {
+                run.pipeline.submit(run.sequence++, run.processed, chunk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing import chunk", e);
+            }
+            chunk.clear();
+            logProgress(run.file, run.processed, run.pipeline.written(), run.startedAt);
+            return;
+        }
+
+        if (run.replaceExisting) {
+            vectorStore.delete(chunk.stream().map(Document::getId).toList());
+        }
+        vectorBatchWriter.write(chunk, chunk.size());
+        run.written += chunk.size();
+        run.batches++;
+        chunk.clear();
+        writeCheckpoint(run.checkpointFile, run.file, run.processed);
+        logProgress(run.file, run.processed, run.written, run.startedAt);
+    }
+
+    private void logProgress(Path file, long processed, long written, long startedAt) {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000d;
+        log.info(IcrsLog.event(
+                "rag.import.progress",
+                "file", file.getFileName(),
+                "processed", processed,
+                "written", written,
+                "documentsPerSecond", String.format(Locale.ROOT, "%.1f", seconds > 0d ? written / seconds : 0d)
+        ));
+    }
+
+    private void requireFile(Path file) {
+        if (file == null || !Files.exists(file) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + file);
+        }
+    }
+
+    static Path checkpointPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    private long readCheckpoint(Path checkpointFile, Path file) {
+        if (!Files.isRegularFile(checkpointFile)) {
+            return 0L;
+        }
+        try {
+            ImportCheckpoint checkpoint = objectMapper.readValue(checkpointFile.toFile(), ImportCheckpoint.class);
+            if (checkpoint.fileSize() != Files.size(file)
+                    || checkpoint.lastModified() != Files.getLastModifiedTime(file).toMillis()) {
+                log.warn(IcrsLog.event("rag.import.checkpoint.ignored", "reason", "file-changed", "checkpoint", checkpointFile));
+                return 0L;
+            }
+            return Math.max(checkpoint.processed(), 0L);
+        } catch (IOException e) {
+            log.warn(IcrsLog.event("rag.import.checkpoint.ignored", "reason", "unreadable", "checkpoint", checkpointFile), e);
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpointFile, Path file, long processed) {
+        try {
+            Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), new ImportCheckpoint(
+                    Files.size(file),
+                    Files.getLastModifiedTime(file).toMillis(),
+                    processed
+            ));
+            Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import checkpoint: " + checkpointFile, e);
+        }
+    }
+
+    private void deleteCheckpoint(Path checkpointFile) {
+        try {
+            Files.deleteIfExists(checkpointFile);
+        } catch (IOException e) {
+            log.warn(IcrsLog.event("rag.import.checkpoint.delete.failed", "checkpoint", checkpointFile), e);
+        }
+    }
+
+    private ImportedGrievanceRecord toRecord(JsonNode node, long index) {
         String title = requiredText(node, "title");
         String description = requiredText(node, "description");
 
@@ -201,4 +390,47 @@ public class GrievanceVectorImportService {
             return null;
         }
     }
+
+    private static final class ImportRun {
+        private final Path file;
+        private final Path checkpointFile;
+        private final boolean replaceExisting;
+        private final long startedAt = System.nanoTime();
+        private ParallelEmbeddingImportPipeline pipeline;
+        private long processed;
+        private long written;
+        private int batches;
+        private long sequence;
+
+        private ImportRun(Path file, Path checkpointFile, boolean replaceExisting, long processed) {
+            this.file = file;
+            this.checkpointFile = checkpointFile;
+            this.replaceExisting = replaceExisting;
+            this.processed = processed;
+        }
+    }
+
+    record ImportCheckpoint(long fileSize, long lastModified, long processed) {
+    }
+
+    public record ImportSummary(
+            long processed,
+            long written,
+            long resumedFrom,
+            int batches,
+            long elapsedMs,
+            double documentsPerSecond
+    ) {
+        static ImportSummary of(long processed, long written, long resumedFrom, int batches, long elapsedNanos) {
+            double seconds = elapsedNanos / 1_000_000_000d;
+            return new ImportSummary(
+                    processed,
+                    written,
+                    resumedFrom,
+                    batches,
+                    elapsedNanos / 1_000_000L,
+                    seconds > 0d ? written / seconds : 0d
+            );
+        }
+    }
 }
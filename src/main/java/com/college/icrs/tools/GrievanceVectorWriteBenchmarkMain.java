@@ -0,0 +1,83 @@
+package com.college.icrs.tools;
+
+import com.college.icrs.IcrsApplication;
+import com.college.icrs.rag.VectorBatchWriter;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+public final class GrievanceVectorWriteBenchmarkMain {
+
+    private GrievanceVectorWriteBenchmarkMain() {
+    }
+
+    public static void main(String[] args) {
+        String benchmarkFile = System.getProperty("grievanceBenchmarkFile");
+        if (benchmarkFile == null || benchmarkFile.isBlank()) {
+            throw new IllegalArgumentException("Missing system property: grievanceBenchmarkFile");
+        }
+        int batchSize = Integer.parseInt(System.getProperty("grievanceBenchmarkBatchSize", "32"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IcrsApplication.class)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "icrs.ai.sentiment.auto-start=false",
+                        "icrs.ai.rag.embedding-cache.enabled=false"
+                )
+                .run(args)) {
+            GrievanceVectorImportService importer = context.getBean(GrievanceVectorImportService.class);
+            VectorStore vectorStore = context.getBean(VectorStore.class);
+            VectorBatchWriter writer = context.getBean(VectorBatchWriter.class);
+            List<Document> documents = importer.readDocuments(Path.of(benchmarkFile));
+
+            String rewriteBatchedInserts = context.getEnvironment()
+                    .getProperty("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "false");
+
+            System.out.printf("Vector write benchmark: documents=%d, batchSize=%d, reWriteBatchedInserts=%s%n",
+                    documents.size(), batchSize, rewriteBatchedInserts);
+            report("single", documents.size(), run(vectorStore, documents, "single", docs -> writer.write(docs, 1)));
+            report("whole-file", documents.size(), run(vectorStore, documents, "whole-file", vectorStore::add));
+            report("batched", documents.size(), run(vectorStore, documents, "batched", docs -> writer.write(docs, batchSize)));
+            SpringApplication.exit(context);
+        }
+    }
+
+    private static long run(
+            VectorStore vectorStore,
+            List<Document> documents,
+            String mode,
+            Consumer<List<Document>> write
+    ) {
+        List<Document> copies = documents.stream()
+                .map(document -> Document.builder()
+                        .id("bench-" + mode + "-" + document.getId())
+                        .text(document.getText())
+                        .metadata(document.getMetadata())
+                        .build())
+                .toList();
+        long startedAt = System.nanoTime();
+        try {
+            write.accept(copies);
+            return System.nanoTime() - startedAt;
+        } finally {
+            vectorStore.delete(copies.stream().map(Document::getId).toList());
+        }
+    }
+
+    private static void report(String mode, int documents, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000d;
+        System.out.printf(
+                "mode=%s elapsedMs=%d docsPerSecond=%.1f%n",
+                mode,
+                elapsedNanos / 1_000_000L,
+                seconds > 0d ? documents / seconds : 0d
+        );
+    }
+}
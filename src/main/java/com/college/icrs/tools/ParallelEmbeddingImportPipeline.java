@@ -0,0 +1,171 @@
+package com.college.icrs.tools;
+
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+final class ParallelEmbeddingImportPipeline {
+
+    private static final EmbeddedChunk END = new EmbeddedChunk(-1L, -1L, List.of(), List.of());
+
+    private final Function<List<String>, List<float[]>> embedder;
+    private final BiConsumer<List<Document>, List<float[]>> writer;
+    private final LongConsumer checkpoint;
+    private final ExecutorService workers;
+    private final BlockingQueue<EmbeddedChunk> writeQueue;
+    private final Semaphore inFlight;
+    private final Thread writerThread;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicInteger batches = new AtomicInteger();
+    private long nextSequence;
+
+    ParallelEmbeddingImportPipeline(
+            int parallelism,
+            int queueCapacity,
+            Function<List<String>, List<float[]>> embedder,
+            BiConsumer<List<Document>, List<float[]>> writer,
+            LongConsumer checkpoint
+    ) {
+        int workerCount = Math.max(parallelism, 1);
+        int capacity = Math.max(queueCapacity, 1);
+        this.embedder = embedder;
+        this.writer = writer;
+        this.checkpoint = checkpoint;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "import-embed-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeQueue = new ArrayBlockingQueue<>(capacity + 1);
+        this.inFlight = new Semaphore(workerCount + capacity);
+        this.writerThread = new Thread(this::writeLoop, "import-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    void submit(long sequence, long position, List<Document> documents) throws InterruptedException {
+        rethrowFailure();
+        inFlight.acquire();
+        List<Document> chunk = List.copyOf(documents);
+        workers.execute(() -> {
+            List<float[]> embeddings = List.of();
+            try {
+                if (failure.get() == null) {
+                    embeddings = embedder.apply(chunk.stream().map(Document::getText).toList());
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+            try {
+                // Failed chunks are queued too, so the writer never waits on a sequence number that will not arrive.
+                writeQueue.put(new EmbeddedChunk(sequence, position, chunk, embeddings));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                inFlight.release();
+            }
+        });
+    }
+
+    long written() {
+        return written.get();
+    }
+
+    int batches() {
+        return batches.get();
+    }
+
+    /** Stops the embedding workers and the writer without draining them; a no-op once {@link #finish()} returned. */
+    void shutdownNow() {
+        workers.shutdownNow();
+        if (writerThread.isAlive()) {
+            writerThread.interrupt();
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void finish() throws InterruptedException {
+        workers.shutdown();
+        while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+            rethrowFailureIfWriterStopped();
+        }
+        writeQueue.put(END);
+        writerThread.join();
+        rethrowFailure();
+    }
+
+    /** Writes chunks in submission order, so every write also advances the checkpoint past it. */
+    private void writeLoop() {
+        TreeMap<Long, EmbeddedChunk> embedded = new TreeMap<>();
+        while (true) {
+            EmbeddedChunk chunk;
+            try {
+                chunk = writeQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                return;
+            }
+            if (chunk == END) {
+                return;
+            }
+            embedded.put(chunk.sequence(), chunk);
+            while (!embedded.isEmpty() && embedded.firstKey() == nextSequence) {
+                EmbeddedChunk next = embedded.pollFirstEntry().getValue();
+                nextSequence++;
+                try {
+                    if (failure.get() == null) {
+                        writer.accept(next.documents(), next.embeddings());
+                        written.addAndGet(next.documents().size());
+                        batches.incrementAndGet();
+                        checkpoint.accept(next.position());
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            }
+        }
+    }
+
+    private void rethrowFailureIfWriterStopped() {
+        if (!writerThread.isAlive()) {
+            rethrowFailure();
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable error = failure.get();
+        if (error == null) {
+            return;
+        }
+        workers.shutdownNow();
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException("Parallel import failed", error);
+    }
+
+    private record EmbeddedChunk(long sequence, long position, List<Document> documents, List<float[]> embeddings) {
+    }
+}
@@ -0,0 +1,299 @@
+package com.college.icrs.tools;
+
+import com.college.icrs.IcrsApplication;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.evaluation.OperationalEvaluationDatasetValidator;
+import com.college.icrs.evaluation.OperationalEvaluationDatasets;
+import com.college.icrs.evaluation.OperationalEvaluationLiveCase;
+import com.college.icrs.rag.GrievanceVectorDocumentFactory;
+import com.college.icrs.rag.PgVectorDocumentWriter;
+import com.college.icrs.rag.PgVectorSimilaritySearch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures recall@k and query latency of the float32 and halfvec pgvector indexes against an exact
+ * scan, using the operational evaluation datasets: historical cases are loaded as the corpus and
+ * live cases are the queries. The corpus can be scaled with jittered copies so the planner actually
+ * uses the HNSW indexes; every row the report writes is deleted again when it finishes.
+ */
+public final class VectorQuantizationReportMain {
+
+    private static final int DIMENSIONS = 384;
+    private static final String ID_PREFIX = "quantization-report-";
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private VectorQuantizationReportMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path historicalFile = Path.of(System.getProperty("quantizationReportHistoricalFile", "evaluation/operational/historical-rag-100.json"));
+        Path liveFile = Path.of(System.getProperty("quantizationReportLiveFile", "evaluation/operational/live-grievances-100.json"));
+        Path outputDir = Path.of(System.getProperty("quantizationReportOutputDir", "build/reports/vector-quantization"));
+        int k = Integer.parseInt(System.getProperty("quantizationReportK", "5"));
+        int candidateMultiplier = Integer.parseInt(System.getProperty("quantizationReportCandidateMultiplier", "4"));
+        int corpusCopies = Math.max(1, Integer.parseInt(System.getProperty("quantizationReportCorpusCopies", "100")));
+        double jitter = Double.parseDouble(System.getProperty("quantizationReportJitter", "0.05"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IcrsApplication.class)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "icrs.ai.sentiment.auto-start=false"
+                )
+                .run(args)) {
+            OperationalEvaluationDatasets datasets = context.getBean(OperationalEvaluationDatasetValidator.class).validate(historicalFile, liveFile);
+            GrievanceVectorDocumentFactory documentFactory = context.getBean(GrievanceVectorDocumentFactory.class);
+            EmbeddingModel embeddingModel = context.getBean(EmbeddingModel.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            List<Document> corpus = context.getBean(GrievanceVectorImportService.class).readDocuments(historicalFile);
+            List<float[]> corpusVectors = embeddingModel.embed(corpus.stream().map(Document::getText).toList());
+            List<float[]> queries = embeddingModel.embed(datasets.liveCases().stream()
+                    .map(liveCase -> queryText(documentFactory, liveCase))
+                    .toList());
+
+            try {
+                long corpusSize = writeCorpus(context.getBean(PgVectorDocumentWriter.class), corpus, corpusVectors, corpusCopies, jitter);
+                jdbcTemplate.execute("ANALYZE vector_store");
+
+                TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+                List<Set<String>> exact = queries.stream()
+                        .map(query -> exactNeighbours(jdbcTemplate, transactionTemplate, query, k))
+                        .toList();
+
+                PgVectorSimilaritySearch search = context.getBean(PgVectorSimilaritySearch.class);
+                float[] probe = queries.isEmpty() ? new float[DIMENSIONS] : queries.getFirst();
+                List<ModeResult> results = List.of(
+                        measure("float32", search, queries, exact, k, IcrsProperties.Ai.Rag.Quantization.Mode.NONE, 1,
+                                indexBytes(jdbcTemplate, "spring_ai_vector_index"), DIMENSIONS * Float.BYTES,
+                                usesIndex(jdbcTemplate, "embedding <=> ?::vector", probe, k)),
+                        measure("halfvec", search, queries, exact, k, IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC, 1,
+                                indexBytes(jdbcTemplate, "idx_vector_store_embedding_halfvec"), DIMENSIONS * 2,
+                                usesIndex(jdbcTemplate, "embedding::halfvec(384) <=> ?::halfvec(384)", probe, k)),
+                        measure("halfvec-rerank-x" + candidateMultiplier, search, queries, exact, k,
+                                IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC, candidateMultiplier,
+                                indexBytes(jdbcTemplate, "idx_vector_store_embedding_halfvec"), DIMENSIONS * 2,
+                                usesIndex(jdbcTemplate, "embedding::halfvec(384) <=> ?::halfvec(384)", probe, k * candidateMultiplier))
+                );
+
+                Report report = new Report(corpusSize, corpusCopies, jitter, queries.size(), k, results);
+                Files.createDirectories(outputDir);
+                context.getBean(ObjectMapper.class).copy()
+                        .enable(SerializationFeature.INDENT_OUTPUT)
+                        .writeValue(outputDir.resolve("report.json").toFile(), report);
+                Files.writeString(outputDir.resolve("report.md"), markdown(report));
+                System.out.print(markdown(report));
+                System.out.printf("Vector quantization report written to %s%n", outputDir.toAbsolutePath());
+            } finally {
+                int deleted = jdbcTemplate.update("DELETE FROM vector_store WHERE id LIKE ?", ID_PREFIX + "%");
+                System.out.printf("Removed %d report vectors from vector_store%n", deleted);
+            }
+            SpringApplication.exit(context);
+        }
+    }
+
+    /**
+     * Writes {@code copies} versions of the corpus under report-only ids. The first copy keeps the
+     * original vectors; later copies add gaussian noise of standard deviation {@code jitter} per
+     * component and are re-normalised, so they are near but not identical neighbours.
+     */
+    private static long writeCorpus(
+            PgVectorDocumentWriter writer,
+            List<Document> corpus,
+            List<float[]> vectors,
+            int copies,
+            double jitter
+    ) {
+        Random random = new Random(42L);
+        List<Document> documents = new ArrayList<>(WRITE_BATCH_SIZE);
+        List<float[]> embeddings = new ArrayList<>(WRITE_BATCH_SIZE);
+        long written = 0L;
+        for (int copy = 0; copy < copies; copy++) {
+            for (int i = 0; i < corpus.size(); i++) {
+                Document original = corpus.get(i);
+                documents.add(Document.builder()
+                        .id(ID_PREFIX + copy + "-" + original.getId())
+                        .text(original.getText())
+                        .metadata(original.getMetadata())
+                        .build());
+                embeddings.add(copy == 0 ? vectors.get(i) : jittered(vectors.get(i), jitter, random));
+                if (documents.size() >= WRITE_BATCH_SIZE) {
+                    writer.upsert(documents, embeddings);
+                    written += documents.size();
+                    documents.clear();
+                    embeddings.clear();
+                }
+            }
+        }
+        if (!documents.isEmpty()) {
+            writer.upsert(documents, embeddings);
+            written += documents.size();
+        }
+        return written;
+    }
+
+    private static float[] jittered(float[] vector, double jitter, Random random) {
+        float[] copy = new float[vector.length];
+        double norm = 0d;
+        for (int i = 0; i < vector.length; i++) {
+            copy[i] = (float) (vector[i] + random.nextGaussian() * jitter);
+            norm += copy[i] * copy[i];
+        }
+        float scale = norm > 0d ? (float) (1d / Math.sqrt(norm)) : 1f;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] *= scale;
+        }
+        return copy;
+    }
+
+    /** Whether the planner answers a top-k query ordered by {@code distance} with an index scan rather than a sort. */
+    private static boolean usesIndex(JdbcTemplate jdbcTemplate, String distance, float[] probe, int limit) {
+        String vector = PgVectorDocumentWriter.vectorLiteral(probe);
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM vector_store ORDER BY " + distance + " LIMIT ?",
+                String.class,
+                vector,
+                limit
+        );
+        return plan.stream().anyMatch(line -> line.contains("Index Scan"));
+    }
+
+    private static String queryText(GrievanceVectorDocumentFactory documentFactory, OperationalEvaluationLiveCase liveCase) {
+        return documentFactory.buildContent(
+                liveCase.title(),
+                liveCase.description(),
+                liveCase.category(),
+                liveCase.subcategory(),
+                liveCase.registrationNumber()
+        );
+    }
+
+    private static Set<String> exactNeighbours(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            float[] query,
+            int k
+    ) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+            return new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT id FROM vector_store ORDER BY embedding <=> ?::vector LIMIT ?",
+                    String.class,
+                    PgVectorDocumentWriter.vectorLiteral(query),
+                    k
+            ));
+        });
+    }
+
+    private static ModeResult measure(
+            String name,
+            PgVectorSimilaritySearch search,
+            List<float[]> queries,
+            List<Set<String>> exact,
+            int k,
+            IcrsProperties.Ai.Rag.Quantization.Mode mode,
+            int candidateMultiplier,
+            long indexBytes,
+            int bytesPerVector,
+            boolean indexScan
+    ) {
+        SearchRequest request = SearchRequest.builder().query("report").topK(k).build();
+        for (float[] query : queries.subList(0, Math.min(queries.size(), 10))) {
+            search.search(query, request, mode, candidateMultiplier);
+        }
+
+        long[] latencies = new long[queries.size()];
+        double recallSum = 0d;
+        for (int i = 0; i < queries.size(); i++) {
+            long startedAt = System.nanoTime();
+            List<Document> hits = search.search(queries.get(i), request, mode, candidateMultiplier);
+            latencies[i] = System.nanoTime() - startedAt;
+            Set<String> expected = exact.get(i);
+            long found = hits.stream().map(Document::getId).filter(expected::contains).count();
+            recallSum += expected.isEmpty() ? 1d : (double) found / expected.size();
+        }
+        Arrays.sort(latencies);
+        return new ModeResult(
+                name,
+                queries.isEmpty() ? 0d : recallSum / queries.size(),
+                percentileMillis(latencies, 0.50d),
+                percentileMillis(latencies, 0.95d),
+                indexBytes,
+                bytesPerVector,
+                indexScan
+        );
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0d;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000d;
+    }
+
+    private static long indexBytes(JdbcTemplate jdbcTemplate, String indexName) {
+        Long bytes = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(pg_relation_size(to_regclass(?)), 0)",
+                Long.class,
+                indexName
+        );
+        return bytes != null ? bytes : 0L;
+    }
+
+    private static String markdown(Report report) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Vector quantization report");
+        lines.add("");
+        lines.add(String.format(Locale.ROOT, "Corpus: %d report vectors (%d copies, jitter %.3f), queries: %d, k=%d",
+                report.corpusSize(), report.corpusCopies(), report.jitter(), report.queries(), report.k()));
+        lines.add("");
+        lines.add("| Mode | Recall@k | p50 ms | p95 ms | Index MB | Bytes/vector | Index scan |");
+        lines.add("|---|---|---|---|---|---|---|");
+        for (ModeResult result : report.modes()) {
+            lines.add(String.format(Locale.ROOT, "| %s | %.3f | %.2f | %.2f | %.1f | %d | %s |",
+                    result.mode(),
+                    result.recallAtK(),
+                    result.p50Millis(),
+                    result.p95Millis(),
+                    result.indexBytes() / (1024d * 1024d),
+                    result.bytesPerVector(),
+                    result.indexScan() ? "yes" : "no"));
+        }
+        return String.join("\n", lines) + "\n";
+    }
+
+    record Report(long corpusSize, int corpusCopies, double jitter, int queries, int k, List<ModeResult> modes) {
+    }
+
+    record ModeResult(
+            String mode,
+            double recallAtK,
+            double p50Millis,
+            double p95Millis,
+            long indexBytes,
+            int bytesPerVector,
+            boolean indexScan
+    ) {
+    }
+}
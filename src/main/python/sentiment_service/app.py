@@ -1,8 +1,11 @@
+from typing import Annotated
+
 from fastapi import FastAPI
 from pydantic import BaseModel, Field
 from transformers import pipeline
 
 MODEL_NAME = "siebert/sentiment-roberta-large-english"
+MAX_BATCH_SIZE = 64
 
 app = FastAPI(title="ICRS Sentiment Service", version="1.0.0")
 classifier = pipeline("sentiment-analysis", model=MODEL_NAME)
@@ -18,6 +21,16 @@ class SentimentResponse(BaseModel):
     model: str
 
 
+class SentimentBatchRequest(BaseModel):
+    texts: list[Annotated[str, Field(min_length=1, max_length=4000)]] = Field(
+        ..., min_length=1, max_length=MAX_BATCH_SIZE
+    )
+
+
+class SentimentBatchResponse(BaseModel):
+    results: list[SentimentResponse]
+
+
 @app.get("/health")
 def health() -> dict[str, str]:
     return {"status": "ok"}
@@ -26,6 +39,21 @@ def health() -> dict[str, str]:
 @app.post("/analyze", response_model=SentimentResponse)
 def analyze(payload: SentimentRequest) -> SentimentResponse:
     result = classifier(payload.text, truncation=True, max_length=512)[0]
+    return to_response(result)
+
+
+@app.post("/analyze/batch", response_model=SentimentBatchResponse)
+def analyze_batch(payload: SentimentBatchRequest) -> SentimentBatchResponse:
+    results = classifier(
+        payload.texts,
+        truncation=True,
+        max_length=512,
+        batch_size=len(payload.texts),
+    )
+    return SentimentBatchResponse(results=[to_response(result) for result in results])
+
+
+def to_response(result: dict) -> SentimentResponse:
     return SentimentResponse(
         label=str(result.get("label", "")),
         score=float(result.get("score", 0.0)),
@@ -0,0 +1,3 @@
+-- Prompt tokens the provider served from its prompt cache, as reported in prompt_tokens_details.cached_tokens.
+ALTER TABLE ai_decision_usage
+    ADD COLUMN IF NOT EXISTS cached_input_tokens INTEGER;
@@ -0,0 +1,40 @@
+-- A fingerprint in grievance_vector_index_state only means "unchanged" while the grievance's
+-- vector_store row is still the one the application wrote. Drop it when that row is deleted,
+-- truncated away or overwritten by another source such as an import, so the next index call rewrites it.
+CREATE OR REPLACE FUNCTION grievance_vector_index_state_clear_row() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.id ~ '^[0-9]{1,18}$' THEN
+            DELETE FROM grievance_vector_index_state WHERE grievance_id = OLD.id::BIGINT;
+        END IF;
+        RETURN OLD;
+    END IF;
+    IF NEW.id ~ '^[0-9]{1,18}$' AND (NEW.metadata ->> 'source') IS DISTINCT FROM 'application-grievance' THEN
+        DELETE FROM grievance_vector_index_state WHERE grievance_id = NEW.id::BIGINT;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION grievance_vector_index_state_clear_all() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM grievance_vector_index_state;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_grievance_vector_index_state_clear_row ON vector_store;
+CREATE TRIGGER trg_grievance_vector_index_state_clear_row
+    AFTER INSERT OR UPDATE OR DELETE ON vector_store
+    FOR EACH ROW EXECUTE FUNCTION grievance_vector_index_state_clear_row();
+
+DROP TRIGGER IF EXISTS trg_grievance_vector_index_state_clear_all ON vector_store;
+CREATE TRIGGER trg_grievance_vector_index_state_clear_all
+    AFTER TRUNCATE ON vector_store
+    FOR EACH STATEMENT EXECUTE FUNCTION grievance_vector_index_state_clear_all();
+
+-- Rows already missing from vector_store can never be matched by the triggers above.
+DELETE FROM grievance_vector_index_state state
+WHERE NOT EXISTS (
+    SELECT 1 FROM vector_store vs WHERE vs.id = state.grievance_id::TEXT
+);
@@ -0,0 +1,27 @@
+-- Documents written before the 'resolved' metadata flag existed, including imports that are never
+-- re-indexed, would otherwise be excluded whenever icrs.ai.rag.filter.resolved-only is on.
+-- The flag is derived the same way GrievanceVectorDocumentFactory sets it for new documents.
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM information_schema.tables
+        WHERE table_schema = 'public'
+          AND table_name = 'grievances'
+    ) THEN
+        -- Application grievances: resolved when the grievance status is RESOLVED.
+        UPDATE vector_store vs
+        SET metadata = (vs.metadata::jsonb || jsonb_build_object('resolved', g.status = 'RESOLVED'))::json
+        FROM grievances g
+        WHERE vs.id ~ '^[0-9]{1,18}$'
+          AND g.id = vs.id::BIGINT
+          AND NOT (vs.metadata::jsonb ? 'resolved')
+          AND (vs.metadata ->> 'source') IS DISTINCT FROM 'manual-import';
+    END IF;
+END $$;
+
+-- Imported and orphaned documents: resolved when they carry a resolution text.
+UPDATE vector_store
+SET metadata = (metadata::jsonb || jsonb_build_object(
+        'resolved', COALESCE(btrim(metadata ->> 'resolutionText'), '') <> ''))::json
+WHERE NOT (metadata::jsonb ? 'resolved');
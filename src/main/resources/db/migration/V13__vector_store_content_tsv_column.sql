@@ -0,0 +1,11 @@
+-- Stores the lexical tsvector instead of recomputing to_tsvector for every matched row when ranking.
+-- Generated columns are filled for existing rows when the column is added; new writes keep it current.
+ALTER TABLE vector_store
+    ADD COLUMN IF NOT EXISTS content_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_vector_store_content_tsv_stored
+    ON vector_store USING GIN (content_tsv);
+
+-- Replaced by idx_vector_store_content_tsv_stored; lexical search no longer uses the expression.
+DROP INDEX IF EXISTS idx_vector_store_content_tsv;
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS grievance_vector_index_state (
+    grievance_id BIGINT PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    indexed_at TIMESTAMP NOT NULL
+);
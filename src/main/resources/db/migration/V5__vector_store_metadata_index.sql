@@ -0,0 +1,3 @@
+-- PgVectorStore renders filter expressions as metadata::jsonb @@ '<jsonpath>'::jsonpath.
+CREATE INDEX IF NOT EXISTS idx_vector_store_metadata_path
+    ON vector_store USING GIN ((metadata::jsonb) jsonb_path_ops);
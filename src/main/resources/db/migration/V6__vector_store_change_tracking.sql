@@ -0,0 +1,40 @@
+-- Lets the in-process vector index replay only rows changed since its last snapshot.
+ALTER TABLE vector_store
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp();
+
+CREATE INDEX IF NOT EXISTS idx_vector_store_updated_at
+    ON vector_store (updated_at);
+
+CREATE TABLE IF NOT EXISTS vector_store_deletions (
+    id TEXT PRIMARY KEY,
+    deleted_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_vector_store_deletions_deleted_at
+    ON vector_store_deletions (deleted_at);
+
+CREATE OR REPLACE FUNCTION vector_store_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION vector_store_record_deletion() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO vector_store_deletions (id, deleted_at)
+    VALUES (OLD.id, clock_timestamp())
+    ON CONFLICT (id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_vector_store_touch_updated_at ON vector_store;
+CREATE TRIGGER trg_vector_store_touch_updated_at
+    BEFORE UPDATE ON vector_store
+    FOR EACH ROW EXECUTE FUNCTION vector_store_touch_updated_at();
+
+DROP TRIGGER IF EXISTS trg_vector_store_record_deletion ON vector_store;
+CREATE TRIGGER trg_vector_store_record_deletion
+    AFTER DELETE ON vector_store
+    FOR EACH ROW EXECUTE FUNCTION vector_store_record_deletion();
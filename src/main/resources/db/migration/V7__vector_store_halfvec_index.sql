@@ -0,0 +1,5 @@
+-- Half-precision HNSW index used by icrs.ai.rag.quantization.mode=halfvec (pgvector 0.7+).
+-- Queries must order by the same expression, embedding::halfvec(384), for the planner to use it.
+-- Once the quantized mode is in use, spring_ai_vector_index can be dropped to reclaim its memory.
+CREATE INDEX IF NOT EXISTS idx_vector_store_embedding_halfvec
+    ON vector_store USING HNSW ((embedding::halfvec(384)) halfvec_cosine_ops);
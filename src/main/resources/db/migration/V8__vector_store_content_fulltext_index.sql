@@ -0,0 +1,3 @@
+-- Lexical side of hybrid retrieval; covers application grievances and imported documents alike.
+CREATE INDEX IF NOT EXISTS idx_vector_store_content_tsv
+    ON vector_store USING GIN (to_tsvector('english', coalesce(content, '')));
@@ -0,0 +1,14 @@
+-- One row per decision LLM call, so evaluation runs can compare decision modes on tokens and latency.
+CREATE TABLE IF NOT EXISTS ai_decision_usage (
+    id BIGSERIAL PRIMARY KEY,
+    grievance_id BIGINT NOT NULL,
+    decision_mode VARCHAR(16) NOT NULL,
+    stage VARCHAR(32) NOT NULL,
+    input_tokens INTEGER,
+    output_tokens INTEGER,
+    latency_ms BIGINT NOT NULL,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_ai_decision_usage_grievance_id
+    ON ai_decision_usage (grievance_id);
@@ -74,7 +74,8 @@ class GrievanceAgentActionServiceTest {
                 true,
                 "Please reconnect to campus WiFi.",
                 "Known campus WiFi issue.",
-                0.90d
+                0.90d,
+                null
         );
 
         ArgumentCaptor<Double> confidenceCaptor = ArgumentCaptor.forClass(Double.class);
@@ -134,7 +135,8 @@ class GrievanceAgentActionServiceTest {
                 true,
                 "Auto response from AI",
                 "LLM suggested auto resolution",
-                0.97d
+                0.97d,
+                null
         );
 
         ArgumentCaptor<Double> confidenceCaptor = ArgumentCaptor.forClass(Double.class);
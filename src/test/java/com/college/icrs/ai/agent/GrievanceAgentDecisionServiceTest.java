@@ -0,0 +1,191 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Sentiment;
+import com.college.icrs.model.Status;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.service.TokenStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GrievanceAgentDecisionServiceTest {
+
+    private final GrievanceSnapshot grievance = new GrievanceSnapshot(31L, "Hostel WiFi down", "WiFi is down in block C",
+            "IT Support", "WiFi / Network", false, false, null, Status.SUBMITTED, null, null, "Title: Hostel WiFi down");
+
+    private GrievanceClassifierAiService classifierAiService;
+    private GrievanceResolverAiService resolverAiService;
+    private DecisionUsageRecorder usageRecorder;
+    private StreamingHandle streamingHandle;
+    private GrievanceAgentDecisionService service;
+    private final AtomicReference<BiConsumer<PartialResponse, PartialResponseContext>> onPartial = new AtomicReference<>();
+    private final AtomicReference<Consumer<ChatResponse>> onComplete = new AtomicReference<>();
+    private final AtomicReference<Consumer<Throwable>> onError = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        classifierAiService = mock(GrievanceClassifierAiService.class);
+        resolverAiService = mock(GrievanceResolverAiService.class);
+        usageRecorder = mock(DecisionUsageRecorder.class);
+        streamingHandle = mock(StreamingHandle.class);
+        PromptContextAssembler contextAssembler = mock(PromptContextAssembler.class);
+        when(contextAssembler.assemble(any(), any(), any())).thenReturn(Map.of());
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getDecisionStreaming().setEnabled(true);
+        service = new GrievanceAgentDecisionService(
+                properties,
+                classifierAiService,
+                resolverAiService,
+                mock(GrievanceCombinedDecisionAiService.class),
+                contextAssembler,
+                mock(PromptReferenceMaterial.class),
+                usageRecorder
+        );
+    }
+
+    @Test
+    void shouldReturnClassificationBeforeStreamCompletesAndRecordUsageAfterwards() throws Exception {
+        TokenStream tokenStream = stubStream(List.of("{\"priority\":\"LOW\",\"aiTitle\":\"Hostel WiFi outage\",", "\"confidence\":0.81,"));
+        when(classifierAiService.classifyStreaming(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(tokenStream);
+
+        ClassificationDecision decision = service.classify(grievance, Sentiment.NEGATIVE, "", "", "", "");
+
+        assertThat(decision.getPriority()).isEqualTo("LOW");
+        assertThat(decision.getAiTitle()).isEqualTo("Hostel WiFi outage");
+        assertThat(decision.getConfidence()).isEqualTo(0.81d);
+        verify(usageRecorder, never()).record(any(), any(), any(), anyLong());
+
+        TokenUsage usage = new TokenUsage(120, 18);
+        onComplete.get().accept(ChatResponse.builder().aiMessage(AiMessage.from("done")).tokenUsage(usage).build());
+
+        verify(streamingHandle, never()).cancel();
+        verify(usageRecorder).record(eq(31L), eq("classification"), eq(usage), anyLong());
+    }
+
+    @Test
+    void shouldReturnResolutionBeforeStreamCompletes() throws Exception {
+        TokenStream tokenStream = stubStream(List.of(
+                "{\"autoResolve\":true,\"confidence\":0.9,",
+                "\"resolutionText\":\"Restart the block C access point.\",",
+                "\"internalComment\":\"Routine network fix\"",
+                "}"
+        ));
+        when(resolverAiService.resolveStreaming(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(tokenStream);
+
+        ResolutionDecision decision = service.resolve(grievance, Sentiment.NEGATIVE, "", "", "", "", "");
+
+        assertThat(decision.getAutoResolve()).isTrue();
+        assertThat(decision.getResolutionText()).isEqualTo("Restart the block C access point.");
+        assertThat(decision.getInternalComment()).isEqualTo("Routine network fix");
+        assertThat(onComplete.get()).isNotNull();
+        verify(usageRecorder, never()).record(any(), any(), any(), anyLong());
+        verify(streamingHandle, never()).cancel();
+    }
+
+    @Test
+    void shouldWaitForTextFieldsAndRecordUsage() throws Exception {
+        TokenUsage usage = new TokenUsage(120, 18);
+        stubStream(List.of("{\"priority\":\"LOW\",\"confidence\":0.8", "1,\"aiTitle\":\"Hostel WiFi", " outage\"}"), usage, null);
+
+        ClassificationDecision decision = service.classify(grievance, Sentiment.NEGATIVE, "", "", "", "");
+
+        assertThat(decision.getPriority()).isEqualTo("LOW");
+        assertThat(decision.getConfidence()).isEqualTo(0.81d);
+        assertThat(decision.getAiTitle()).isEqualTo("Hostel WiFi outage");
+        verify(streamingHandle, never()).cancel();
+        verify(usageRecorder).record(eq(31L), eq("classification"), eq(usage), anyLong());
+    }
+
+    @Test
+    void shouldNotRecordNullUsageForCompletedStream() throws Exception {
+        stubStream(List.of("{\"priority\":\"MEDIUM\",\"aiTitle\":\"WiFi outage\",\"confidence\":0.7}"), null, null);
+
+        ClassificationDecision decision = service.classify(grievance, Sentiment.NEGATIVE, "", "", "", "");
+
+        assertThat(decision.getPriority()).isEqualTo("MEDIUM");
+        verify(usageRecorder, never()).record(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void shouldCancelStreamAndFallBackWhenGenerationFails() throws Exception {
+        stubStream(List.of("{\"priority\":\"HIGH\","), null, new IllegalStateException("connection reset"));
+
+        ClassificationDecision decision = service.classify(grievance, Sentiment.NEGATIVE, "", "", "", "");
+
+        assertThat(decision.getPriority()).isEqualTo("MEDIUM");
+        assertThat(decision.getConfidence()).isEqualTo(0.35d);
+        verify(streamingHandle).cancel();
+        verify(usageRecorder, never()).record(any(), any(), any(), anyLong());
+    }
+
+    /** Replays {@code chunks}, then completes with {@code usage} or fails with {@code error}. */
+    private void stubStream(List<String> chunks, TokenUsage usage, Throwable error) {
+        TokenStream tokenStream = stubStream(chunks);
+        doAnswer(invocation -> {
+            replay(chunks);
+            if (error != null) {
+                onError.get().accept(error);
+            } else {
+                onComplete.get().accept(ChatResponse.builder().aiMessage(AiMessage.from("done")).tokenUsage(usage).build());
+            }
+            return null;
+        }).when(tokenStream).start();
+        when(classifierAiService.classifyStreaming(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(tokenStream);
+    }
+
+    /** A stream whose {@code start()} replays {@code chunks} and leaves the completion to the test. */
+    private TokenStream stubStream(List<String> chunks) {
+        TokenStream tokenStream = mock(TokenStream.class);
+        when(tokenStream.onPartialResponseWithContext(any())).thenAnswer(invocation -> {
+            onPartial.set(invocation.getArgument(0));
+            return tokenStream;
+        });
+        when(tokenStream.onCompleteResponse(any())).thenAnswer(invocation -> {
+            onComplete.set(invocation.getArgument(0));
+            return tokenStream;
+        });
+        when(tokenStream.onError(any())).thenAnswer(invocation -> {
+            onError.set(invocation.getArgument(0));
+            return tokenStream;
+        });
+        doAnswer(invocation -> {
+            replay(chunks);
+            return null;
+        }).when(tokenStream).start();
+        return tokenStream;
+    }
+
+    private void replay(List<String> chunks) {
+        PartialResponseContext context = mock(PartialResponseContext.class);
+        when(context.streamingHandle()).thenReturn(streamingHandle);
+        for (String chunk : chunks) {
+            PartialResponse partial = mock(PartialResponse.class);
+            when(partial.text()).thenReturn(chunk);
+            onPartial.get().accept(partial, context);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Sentiment;
+import com.college.icrs.model.Status;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GrievanceContextPlannerAgentTest {
+
+    @Test
+    void shouldAnswerRepeatedToolCallsWithoutRunningThemAgain() {
+        ChatModel chatModel = mock(ChatModel.class);
+        GrievanceAgentContextService contextService = mock(GrievanceAgentContextService.class);
+        GrievanceSnapshot grievance = new GrievanceSnapshot(31L, "Hostel WiFi down", "WiFi is down in block C",
+                "IT Support", "WiFi / Network", false, false, null, Status.SUBMITTED, null, null, "Title: Hostel WiFi down");
+        when(contextService.buildPolicyContext(grievance)).thenReturn("Policy: WiFi issues go to the IT Help Desk.");
+        List<List<ChatMessage>> sentMessages = new ArrayList<>();
+        AiMessage toolCalls = AiMessage.from(List.of(
+                toolCall("call-1", "loadPolicyContext"),
+                toolCall("call-2", "loadPolicyContext")
+        ));
+        when(chatModel.chat(any(ChatRequest.class))).thenAnswer(invocation -> {
+            sentMessages.add(List.copyOf(invocation.<ChatRequest>getArgument(0).messages()));
+            AiMessage reply = sentMessages.size() == 1 ? toolCalls : AiMessage.from("Enough context.");
+            return ChatResponse.builder().aiMessage(reply).build();
+        });
+        GrievanceContextPlannerAgent agent = new GrievanceContextPlannerAgent(
+                chatModel, new IcrsProperties(), contextService, mock(PromptReferenceMaterial.class));
+
+        ContextCollectionResult result = agent.collectContext(grievance, Sentiment.NEGATIVE, "");
+
+        verify(contextService, times(1)).buildPolicyContext(grievance);
+        assertThat(result.policyFetched()).isTrue();
+        assertThat(sentMessages).hasSize(2);
+        List<ToolExecutionResultMessage> answers = sentMessages.get(1).stream()
+                .filter(ToolExecutionResultMessage.class::isInstance)
+                .map(ToolExecutionResultMessage.class::cast)
+                .toList();
+        assertThat(answers).extracting(ToolExecutionResultMessage::id).containsExactly("call-1", "call-2");
+        assertThat(answers.get(1).text()).isEqualTo(GrievanceContextPlannerAgent.ALREADY_FETCHED_RESULT);
+    }
+
+    private static ToolExecutionRequest toolCall(String id, String name) {
+        return ToolExecutionRequest.builder().id(id).name(name).arguments("{}").build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Status;
+import com.college.icrs.rag.QueryVectorCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GrievanceDecisionCacheTest {
+
+    private QueryVectorCache queryVectorCache;
+    private GrievanceDecisionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        queryVectorCache = mock(QueryVectorCache.class);
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getDecisionCache().setEnabled(true);
+        cache = new GrievanceDecisionCache(queryVectorCache, properties);
+    }
+
+    @Test
+    void shouldReuseDecisionForNearDuplicateInSameSubcategory() {
+        GrievanceSnapshot source = snapshot(1L, "Hostel", "WiFi", "Title: WiFi down in Block C");
+        GrievanceSnapshot duplicate = snapshot(2L, "Hostel", "WiFi", "Title: WiFi not working in Block C");
+        when(queryVectorCache.vectorFor(1L, source.embeddingText())).thenReturn(new float[]{0.6f, 0.8f});
+        when(queryVectorCache.vectorFor(2L, duplicate.embeddingText())).thenReturn(new float[]{0.61f, 0.79f});
+
+        CombinedDecision decision = decision(0.92d);
+        cache.put(source, decision);
+        Optional<CachedDecisionMatch> match = cache.find(duplicate);
+
+        assertThat(match).isPresent();
+        assertThat(match.get().sourceGrievanceId()).isEqualTo(1L);
+        assertThat(match.get().similarity()).isGreaterThan(0.95d);
+        assertThat(match.get().decision()).isSameAs(decision);
+    }
+
+    @Test
+    void shouldMissAcrossSubcategoriesAndAfterInvalidation() {
+        GrievanceSnapshot source = snapshot(1L, "Hostel", "WiFi", "Title: WiFi down");
+        GrievanceSnapshot otherSubcategory = snapshot(2L, "Hostel", "Mess", "Title: WiFi down");
+        GrievanceSnapshot duplicate = snapshot(3L, "Hostel", "WiFi", "Title: WiFi down");
+        when(queryVectorCache.vectorFor(1L, source.embeddingText())).thenReturn(new float[]{1.0f, 0.0f});
+        when(queryVectorCache.vectorFor(3L, duplicate.embeddingText())).thenReturn(new float[]{1.0f, 0.0f});
+        when(queryVectorCache.vectorFor(2L, otherSubcategory.embeddingText())).thenReturn(new float[]{1.0f, 0.0f});
+
+        cache.put(source, decision(0.92d));
+
+        assertThat(cache.find(otherSubcategory)).isEmpty();
+        assertThat(cache.find(duplicate)).isPresent();
+
+        cache.invalidate(1L);
+
+        assertThat(cache.find(duplicate)).isEmpty();
+    }
+
+    @Test
+    void shouldNotStoreLowConfidenceDecisions() {
+        GrievanceSnapshot source = snapshot(1L, "Hostel", "WiFi", "Title: WiFi down");
+        GrievanceSnapshot duplicate = snapshot(2L, "Hostel", "WiFi", "Title: WiFi down");
+        when(queryVectorCache.vectorFor(2L, duplicate.embeddingText())).thenReturn(new float[]{1.0f, 0.0f});
+
+        cache.put(source, decision(0.40d));
+
+        assertThat(cache.find(duplicate)).isEmpty();
+    }
+
+    private GrievanceSnapshot snapshot(Long id, String category, String subcategory, String embeddingText) {
+        return new GrievanceSnapshot(id, "WiFi down", "WiFi is down", category, subcategory,
+                false, false, null, Status.SUBMITTED, null, null, embeddingText);
+    }
+
+    private CombinedDecision decision(double confidence) {
+        CombinedDecision decision = new CombinedDecision();
+        decision.setPriority("MEDIUM");
+        decision.setAiTitle("Hostel WiFi outage");
+        decision.setClassificationConfidence(confidence);
+        decision.setAutoResolve(true);
+        decision.setResolutionText("Please contact the IT Help Desk.");
+        decision.setResolutionConfidence(confidence);
+        return decision;
+    }
+}
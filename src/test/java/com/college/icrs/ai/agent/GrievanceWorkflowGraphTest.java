@@ -0,0 +1,246 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.ai.knowledge.ResolutionGuidanceEntry;
+import com.college.icrs.ai.knowledge.ResolutionGuidanceService;
+import com.college.icrs.ai.policy.AutoResolutionPolicyService;
+import com.college.icrs.ai.policy.RoutineAutoResolveRule;
+import com.college.icrs.ai.service.SentimentAnalysisService;
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Category;
+import com.college.icrs.model.Grievance;
+import com.college.icrs.model.Priority;
+import com.college.icrs.model.Status;
+import com.college.icrs.model.Subcategory;
+import com.college.icrs.rag.EmbeddingService;
+import com.college.icrs.rag.QueryVectorCache;
+import com.college.icrs.rag.RagService;
+import com.college.icrs.repository.CommentRepository;
+import com.college.icrs.repository.StatusHistoryRepository;
+import com.college.icrs.service.GrievanceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrievanceWorkflowGraphTest {
+
+    @Mock
+    private GrievanceService grievanceService;
+
+    @Mock
+    private SentimentAnalysisService sentimentAnalysisService;
+
+    @Mock
+    private RagService ragService;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private StatusHistoryRepository statusHistoryRepository;
+
+    @Mock
+    private ResolutionGuidanceService resolutionGuidanceService;
+
+    @Mock
+    private GrievanceContextPlannerAgent contextPlannerAgent;
+
+    @Mock
+    private GrievanceAgentDecisionService decisionService;
+
+    @Mock
+    private AutoResolutionPolicyService autoResolutionPolicyService;
+
+    @Mock
+    private QueryVectorCache queryVectorCache;
+
+    private IcrsProperties properties;
+
+    private GrievanceAgentTools tools;
+
+    private GrievanceWorkflowGraph workflowGraph;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IcrsProperties();
+        properties.getAi().getFastPath().setEnabled(true);
+        GrievanceAgentContextService contextService = new GrievanceAgentContextService(
+                grievanceService,
+                sentimentAnalysisService,
+                ragService,
+                embeddingService,
+                commentRepository,
+                statusHistoryRepository,
+                resolutionGuidanceService
+        );
+        GrievanceAgentActionService actionService = new GrievanceAgentActionService(
+                grievanceService,
+                properties,
+                autoResolutionPolicyService
+        );
+        GrievanceFastPathService fastPathService = new GrievanceFastPathService(
+                properties,
+                autoResolutionPolicyService,
+                resolutionGuidanceService
+        );
+        GrievanceDecisionCache decisionCache = new GrievanceDecisionCache(queryVectorCache, new IcrsProperties());
+        tools = new GrievanceAgentTools(contextService, contextPlannerAgent, decisionService, actionService, fastPathService, decisionCache);
+        workflowGraph = new GrievanceWorkflowGraph(tools, new GrievanceWorkflowNodeHandler(tools), new IcrsProperties(), Runnable::run);
+    }
+
+    @Test
+    void shouldLoadGrievanceOnceBeforeWritesAndReuseSnapshotAcrossReadNodes() throws Exception {
+        Grievance grievance = grievance();
+        Grievance classified = grievance();
+        classified.setAiTitle("WiFi outage in hostel block C");
+
+        when(grievanceService.getGrievanceById(31L)).thenReturn(grievance);
+        when(embeddingService.buildEmbeddingText(any(Grievance.class))).thenReturn("Title: Hostel WiFi down");
+        when(sentimentAnalysisService.analyze(grievance.getDescription())).thenReturn(SentimentAnalysisService.SentimentDecision.unavailable());
+        when(ragService.retrieveSimilar(31L, "Title: Hostel WiFi down", "IT Support")).thenReturn(List.of());
+        when(ragService.buildContextSection(List.of())).thenReturn("");
+        when(contextPlannerAgent.collectContext(any(GrievanceSnapshot.class), any(), eq(""))).thenReturn(ContextCollectionResult.empty());
+        when(grievanceService.applyAiDecisionMetadata(eq(31L), any(), any(), any(), any(), any(), any(), any())).thenReturn(classified);
+
+        workflowGraph.process(31L);
+
+        // One snapshot load, one fresh read for the finalize guard, one reload for the returned result.
+        verify(grievanceService, times(3)).getGrievanceById(anyLong());
+
+        ArgumentCaptor<GrievanceSnapshot> resolvedSnapshot = ArgumentCaptor.forClass(GrievanceSnapshot.class);
+        verify(decisionService).resolve(resolvedSnapshot.capture(), any(), any(), any(), any(), any(), any());
+        assertThat(resolvedSnapshot.getValue().aiTitle()).isEqualTo("WiFi outage in hostel block C");
+        assertThat(resolvedSnapshot.getValue().categoryName()).isEqualTo("IT Support");
+    }
+
+    @Test
+    void shouldMakeOneCombinedDecisionCallInCombinedMode() throws Exception {
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().setDecisionMode(IcrsProperties.Ai.DecisionMode.COMBINED);
+        GrievanceWorkflowGraph combinedGraph = new GrievanceWorkflowGraph(tools, new GrievanceWorkflowNodeHandler(tools), properties, Runnable::run);
+        Grievance grievance = grievance();
+        CombinedDecision decision = new CombinedDecision();
+        decision.setPriority("LOW");
+        decision.setAiTitle("WiFi outage in hostel block C");
+        decision.setClassificationConfidence(0.82d);
+        decision.setAutoResolve(false);
+        decision.setResolutionText("Forwarded to the IT help desk.");
+        decision.setResolutionConfidence(0.64d);
+
+        when(grievanceService.getGrievanceById(31L)).thenReturn(grievance);
+        when(embeddingService.buildEmbeddingText(any(Grievance.class))).thenReturn("Title: Hostel WiFi down");
+        when(sentimentAnalysisService.analyze(grievance.getDescription())).thenReturn(SentimentAnalysisService.SentimentDecision.unavailable());
+        when(ragService.retrieveSimilar(31L, "Title: Hostel WiFi down", "IT Support")).thenReturn(List.of());
+        when(ragService.buildContextSection(List.of())).thenReturn("");
+        when(contextPlannerAgent.collectContext(any(GrievanceSnapshot.class), any(), eq(""))).thenReturn(ContextCollectionResult.empty());
+        when(decisionService.decide(any(), any(), any(), any(), any(), any(), any())).thenReturn(decision);
+        when(grievanceService.applyAiDecisionMetadata(eq(31L), any(), any(), any(), any(), any(), any(), any())).thenReturn(grievance);
+
+        combinedGraph.process(31L);
+
+        verify(decisionService).decide(any(), any(), any(), any(), any(), any(), any());
+        verify(decisionService, never()).classify(any(), any(), any(), any(), any(), any());
+        verify(decisionService, never()).resolve(any(), any(), any(), any(), any(), any(), any());
+        verify(grievanceService).applyAiDecisionMetadata(eq(31L), eq(Priority.LOW), any(), eq("WiFi outage in hostel block C"), eq(0.82d), any(), any(), any());
+    }
+
+    @Test
+    void shouldSkipPlannerAndDecisionCallsForRoutineFastPathMatch() throws Exception {
+        properties.getAi().getFastPath().setAutoResolve(true);
+        Grievance grievance = grievance();
+        stubFastPathMatch(grievance);
+
+        workflowGraph.process(31L);
+
+        verify(sentimentAnalysisService, never()).analyze(any());
+        verify(ragService, never()).retrieveSimilar(any(), any(), any());
+        verify(contextPlannerAgent, never()).collectContext(any(), any(), any());
+        verify(decisionService, never()).classify(any(), any(), any(), any(), any(), any());
+        verify(decisionService, never()).resolve(any(), any(), any(), any(), any(), any(), any());
+        verify(grievanceService).applyAiDecisionMetadata(
+                eq(31L), eq(Priority.LOW), any(), eq("Hostel WiFi reconnect request"), eq(0.90d), eq("rule-fast-path:wifi-reconnect"), any(), any());
+        verify(grievanceService).markResolvedByAi(
+                eq(31L),
+                eq("Your request is handled by the IT Help Desk. Contact: it.helpdesk@college.edu."),
+                anyString(),
+                eq(0.90d),
+                eq("rule-fast-path:wifi-reconnect"),
+                anyString()
+        );
+    }
+
+    @Test
+    void shouldRouteFastPathMatchToManualReviewUnlessAutoResolveIsEnabled() throws Exception {
+        Grievance grievance = grievance();
+        stubFastPathMatch(grievance);
+
+        workflowGraph.process(31L);
+
+        verify(decisionService, never()).resolve(any(), any(), any(), any(), any(), any(), any());
+        verify(grievanceService, never()).markResolvedByAi(any(), any(), any(), any(), any(), any());
+        verify(grievanceService).updateAiRecommendation(
+                eq(31L),
+                eq("Your request is handled by the IT Help Desk. Contact: it.helpdesk@college.edu."),
+                anyString(),
+                eq(0.90d),
+                eq("rule-fast-path:wifi-reconnect"),
+                any(),
+                any()
+        );
+    }
+
+    private void stubFastPathMatch(Grievance grievance) throws Exception {
+        RoutineAutoResolveRule rule = new RoutineAutoResolveRule();
+        rule.setName("wifi-reconnect");
+        rule.setFastPathPriority("LOW");
+        rule.setFastPathTitle("Hostel WiFi reconnect request");
+        ResolutionGuidanceEntry guidance = new ResolutionGuidanceEntry();
+        guidance.setFacultyOrDesk("IT Help Desk");
+        guidance.setOpenHours("09:00-17:00");
+        guidance.setContactEmail("it.helpdesk@college.edu");
+
+        when(grievanceService.getGrievanceById(31L)).thenReturn(grievance);
+        when(embeddingService.buildEmbeddingText(any(Grievance.class))).thenReturn("Title: Hostel WiFi down");
+        when(autoResolutionPolicyService.findFastPathRule("IT Support", "WiFi / Network", grievance.getTitle(), grievance.getDescription()))
+                .thenReturn(Optional.of(rule));
+        when(resolutionGuidanceService.findGuidance("IT Support", "WiFi / Network")).thenReturn(Optional.of(guidance));
+        when(grievanceService.applyAiDecisionMetadata(eq(31L), any(), any(), any(), any(), any(), any(), any())).thenReturn(grievance);
+    }
+
+    private Grievance grievance() {
+        Category category = new Category();
+        category.setName("IT Support");
+
+        Subcategory subcategory = new Subcategory();
+        subcategory.setName("WiFi / Network");
+        subcategory.setCategory(category);
+
+        Grievance grievance = new Grievance();
+        grievance.setId(31L);
+        grievance.setTitle("Hostel WiFi down");
+        grievance.setDescription("WiFi has been down in block C since last night.");
+        grievance.setCategory(category);
+        grievance.setSubcategory(subcategory);
+        grievance.setStatus(Status.IN_PROGRESS);
+        return grievance;
+    }
+}
@@ -0,0 +1,67 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.config.IcrsProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptContextAssemblerTest {
+
+    private static final String POLICY = "- currentStatus: SUBMITTED\n- sensitiveCategory: false";
+    private static final String CASES = """
+            - Reference 12 (similarity=0.912): title=Hostel WiFi down in Block C; priorResolution=Router replaced by IT
+            - Reference 14 (similarity=0.801): title=Library AC not working; priorResolution=Facilities serviced the unit
+            - Reference 19 (similarity=0.640): title=Mess food cold; priorResolution=Warmers installed at counters""";
+    private static final String COMMENTS = "- student: first follow-up\n- staff: checking with IT\n- student: still down today";
+
+    @Test
+    void shouldKeepEverySectionIntactWhenBudgetIsLargeEnough() {
+        PromptContextAssembler assembler = new PromptContextAssembler(properties(1200, 48));
+
+        Map<String, String> context = assembler.assemble("classification", 31L, List.of(
+                PromptContextAssembler.Section.head("Policy signals", POLICY),
+                PromptContextAssembler.Section.head("Retrieved cases", CASES),
+                PromptContextAssembler.Section.tail("Comment thread", COMMENTS),
+                PromptContextAssembler.Section.head("Status history", "")
+        ));
+
+        assertThat(context.get("Policy signals")).isEqualTo("Policy signals:\n" + POLICY);
+        assertThat(context.get("Retrieved cases")).isEqualTo("Retrieved cases:\n" + CASES);
+        assertThat(context.get("Status history")).isEmpty();
+    }
+
+    @Test
+    void shouldDropLowestRankedReferencesAndOldestCommentsFirstUnderTightBudget() {
+        int policy = PromptContextAssembler.estimateTokens("Policy signals:\n" + POLICY);
+        int twoCases = PromptContextAssembler.estimateTokens("Retrieved cases:\n" + CASES.substring(0, CASES.lastIndexOf('\n')));
+        int lastComment = PromptContextAssembler.estimateTokens("Comment thread:\n- student: still down today");
+        PromptContextAssembler assembler = new PromptContextAssembler(properties(policy + twoCases + lastComment, lastComment));
+
+        Map<String, String> context = assembler.assemble("classification", 31L, List.of(
+                PromptContextAssembler.Section.head("Policy signals", POLICY),
+                PromptContextAssembler.Section.head("Retrieved cases", CASES),
+                PromptContextAssembler.Section.tail("Comment thread", COMMENTS)
+        ));
+
+        assertThat(context.get("Policy signals")).isEqualTo("Policy signals:\n" + POLICY);
+        assertThat(context.get("Retrieved cases")).contains("Reference 12", "Reference 14").doesNotContain("Reference 19");
+        assertThat(context.get("Comment thread")).isEqualTo("Comment thread:\n- student: still down today");
+    }
+
+    @Test
+    void shouldReserveMinimumShareForLowerPrioritySections() {
+        assertThat(PromptContextAssembler.allocate(new int[]{500, 80, 30}, 300, 48))
+                .containsExactly(222, 48, 30);
+        assertThat(PromptContextAssembler.estimateTokens("Hostel WiFi down, Block-C")).isEqualTo(7);
+    }
+
+    private static IcrsProperties properties(int tokenBudget, int minSectionTokens) {
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getPromptContext().setTokenBudget(tokenBudget);
+        properties.getAi().getPromptContext().setMinSectionTokens(minSectionTokens);
+        return properties;
+    }
+}
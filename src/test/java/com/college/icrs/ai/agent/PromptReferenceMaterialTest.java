@@ -0,0 +1,30 @@
+package com.college.icrs.ai.agent;
+
+import com.college.icrs.service.CategoryCatalogDefinitions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptReferenceMaterialTest {
+
+    @Test
+    void shouldRenderIdenticalReferenceTextAcrossInstances() {
+        PromptReferenceMaterial first = referenceMaterial();
+        PromptReferenceMaterial second = referenceMaterial();
+
+        assertThat(first.getCatalog()).isEqualTo(second.getCatalog());
+    }
+
+    @Test
+    void shouldHoldOnlyTheCatalog() {
+        PromptReferenceMaterial material = referenceMaterial();
+
+        assertThat(material.getCatalog())
+                .startsWith("Grievance category catalog:\n- ")
+                .doesNotContain("guidance");
+    }
+
+    private PromptReferenceMaterial referenceMaterial() {
+        return new PromptReferenceMaterial(new CategoryCatalogDefinitions());
+    }
+}
@@ -0,0 +1,37 @@
+package com.college.icrs.ai.agent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonFieldParserTest {
+
+    @Test
+    void shouldReportEachFieldAsSoonAsItsValueIsComplete() {
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+
+        assertThat(parser.feed("{\"autoRes")).isEmpty();
+        assertThat(parser.feed("olve\": tr")).isEmpty();
+        assertThat(parser.feed("ue, \"confidence\":0.8")).containsExactly(Map.entry("autoResolve", true));
+        assertThat(parser.feed("4,\"resolutionText\":\"Visit the \\\"IT\\\" desk")).containsExactly(Map.entry("confidence", 0.84d));
+        assertThat(parser.feed(".\\nRoom 2\\u0031\"")).containsExactly(Map.entry("resolutionText", "Visit the \"IT\" desk.\nRoom 21"));
+
+        assertThat(parser.hasAll(List.of("autoResolve", "confidence", "resolutionText"))).isTrue();
+        assertThat(parser.hasAll(List.of("internalComment"))).isFalse();
+    }
+
+    @Test
+    void shouldSkipNestedValuesAndIgnoreTextAfterTheObject() {
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+
+        parser.feed("```json\n{\"evidence\":{\"cases\":[\"a}\",2]},\"priority\":\"LOW\",\"internalComment\":null}");
+        parser.feed(",\"aiTitle\":\"ignored\"}");
+
+        assertThat(parser.fields()).containsOnlyKeys("priority", "internalComment");
+        assertThat(parser.fields().get("priority")).isEqualTo("LOW");
+        assertThat(parser.fields().get("internalComment")).isNull();
+    }
+}
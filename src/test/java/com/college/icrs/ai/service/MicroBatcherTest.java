@@ -0,0 +1,125 @@
+package com.college.icrs.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatcherTest {
+
+    @Test
+    void shouldGroupConcurrentSubmissionsAndReturnResultsInSubmissionOrder() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(
+                "test-batcher",
+                4,
+                Duration.ofMillis(200),
+                16,
+                1,
+                texts -> {
+                    batchSizes.add(texts.size());
+                    return texts.stream().map(String::toUpperCase).toList();
+                }
+        )) {
+            List<CompletableFuture<String>> futures = IntStream.range(0, 8)
+                    .mapToObj(index -> batcher.submit("text-" + index))
+                    .toList();
+
+            for (int index = 0; index < futures.size(); index++) {
+                assertThat(futures.get(index).get(2, TimeUnit.SECONDS)).isEqualTo("TEXT-" + index);
+            }
+        }
+
+        assertThat(batchSizes).containsExactly(4, 4);
+    }
+
+    @Test
+    void shouldFailEveryCallerInBatchWhenHandlerFails() {
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(
+                "failing-batcher",
+                8,
+                Duration.ofMillis(50),
+                16,
+                1,
+                texts -> {
+                    throw new IllegalStateException("model service unavailable");
+                }
+        )) {
+            CompletableFuture<String> first = batcher.submit("first");
+            CompletableFuture<String> second = batcher.submit("second");
+
+            assertThatThrownBy(() -> first.get(2, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+            assertThatThrownBy(() -> second.get(2, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        }
+    }
+
+    @Test
+    void shouldRunBatchesConcurrentlyUpToMaxInFlight() throws Exception {
+        CountDownLatch bothDispatched = new CountDownLatch(2);
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(
+                "concurrent-batcher",
+                1,
+                Duration.ZERO,
+                16,
+                2,
+                texts -> {
+                    bothDispatched.countDown();
+                    try {
+                        // Only returns early if the other batch is dispatched while this one is still running.
+                        assertThat(bothDispatched.await(2, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return texts;
+                }
+        )) {
+            CompletableFuture<String> first = batcher.submit("first");
+            CompletableFuture<String> second = batcher.submit("second");
+
+            assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(second.get(2, TimeUnit.SECONDS)).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void shouldNotDispatchItemsWhoseCallerGaveUp() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> dispatched = new CopyOnWriteArrayList<>();
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(
+                "abandoning-batcher",
+                1,
+                Duration.ZERO,
+                16,
+                1,
+                texts -> {
+                    dispatched.addAll(texts);
+                    try {
+                        release.await(2, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return texts;
+                }
+        )) {
+            CompletableFuture<String> first = batcher.submit("first");
+            CompletableFuture<String> abandoned = batcher.submit("abandoned");
+            CompletableFuture<String> last = batcher.submit("last");
+            abandoned.cancel(false);
+            release.countDown();
+
+            assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(last.get(2, TimeUnit.SECONDS)).isEqualTo("last");
+        }
+
+        assertThat(dispatched).containsExactly("first", "last");
+    }
+}
@@ -0,0 +1,112 @@
+package com.college.icrs.ai.service;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Sentiment;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentimentAnalysisServiceTest {
+
+    private static final long BATCH_LATENCY_MILLIS = 600L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger batchedTexts = new AtomicInteger();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SentimentAnalysisService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.createContext("/analyze/batch", exchange -> {
+            JsonNode texts = objectMapper.readTree(exchange.getRequestBody()).get("texts");
+            batchedTexts.addAndGet(texts.size());
+            sleep(BATCH_LATENCY_MILLIS);
+            List<Map<String, Object>> results = new ArrayList<>();
+            texts.forEach(text -> results.add(result()));
+            respond(exchange, Map.of("results", results));
+        });
+        server.createContext("/analyze", exchange -> {
+            singleCalls.incrementAndGet();
+            respond(exchange, result());
+        });
+        server.start();
+
+        IcrsProperties properties = new IcrsProperties();
+        IcrsProperties.Sentiment sentiment = properties.getAi().getSentiment();
+        sentiment.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        sentiment.setTimeoutMs(1000);
+        sentiment.getBatch().setEnabled(true);
+        service = new SentimentAnalysisService(objectMapper, properties);
+        // Warm the HTTP client so connection setup does not eat into the burst's budget.
+        service.analyze("warm-up");
+        batchedTexts.set(0);
+        singleCalls.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepEverySentimentWhenBurstOutlastsTheBatchBudget() {
+        ExecutorService callers = Executors.newFixedThreadPool(64);
+        try {
+            // 64 texts make four batches of 16; with two in flight the last two finish after the callers' budget.
+            List<CompletableFuture<SentimentAnalysisService.SentimentDecision>> decisions = IntStream.range(0, 64)
+                    .mapToObj(index -> CompletableFuture.supplyAsync(() -> service.analyze("WiFi is down in block C, room " + index), callers))
+                    .toList();
+
+            assertThat(decisions).allSatisfy(decision -> assertThat(decision.join().sentiment()).isEqualTo(Sentiment.NEGATIVE));
+            assertThat(singleCalls.get()).isPositive();
+            assertThat(batchedTexts.get() + singleCalls.get()).isLessThan(128);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> result() {
+        return Map.of("label", "NEGATIVE", "score", 0.93d, "model", "siebert/sentiment-roberta-large-english");
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
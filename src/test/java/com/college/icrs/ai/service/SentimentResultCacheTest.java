@@ -0,0 +1,50 @@
+package com.college.icrs.ai.service;
+
+import com.college.icrs.ai.service.SentimentAnalysisService.SentimentDecision;
+import com.college.icrs.model.Sentiment;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentimentResultCacheTest {
+
+    private static final String MODEL = "siebert/sentiment-roberta-large-english";
+
+    @Test
+    void shouldShareEntryAcrossWhitespaceVariantsButNotCaseVariantsOfSameText() {
+        SentimentResultCache cache = new SentimentResultCache(10, Duration.ofMinutes(5), () -> 0L);
+        SentimentDecision decision = new SentimentDecision(Sentiment.NEGATIVE, 0.97d, MODEL);
+
+        cache.put(SentimentResultCache.key("Hostel Wi-Fi is down in Block C", MODEL, 0.60d), decision);
+
+        assertThat(cache.get(SentimentResultCache.key("  Hostel Wi-Fi is   down\nin Block C ", MODEL, 0.60d))).contains(decision);
+        assertThat(cache.get(SentimentResultCache.key("HOSTEL WI-FI IS DOWN IN BLOCK C", MODEL, 0.60d))).isEmpty();
+        assertThat(cache.get(SentimentResultCache.key("Hostel Wi-Fi is down in Block C", MODEL, 0.75d))).isEmpty();
+        assertThat(cache.stats().hits()).isEqualTo(1L);
+        assertThat(cache.stats().misses()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFullAndExpiredEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong(0L);
+        SentimentResultCache cache = new SentimentResultCache(2, Duration.ofSeconds(10), now::get);
+        SentimentDecision decision = new SentimentDecision(Sentiment.NEUTRAL, 0.55d, MODEL);
+
+        cache.put("first", decision);
+        cache.put("second", decision);
+        cache.get("first");
+        cache.put("third", decision);
+
+        assertThat(cache.get("second")).isEmpty();
+        assertThat(cache.get("first")).contains(decision);
+
+        now.set(10_000L);
+
+        assertThat(cache.get("third")).isEmpty();
+        assertThat(cache.stats().evictions()).isEqualTo(2L);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+}
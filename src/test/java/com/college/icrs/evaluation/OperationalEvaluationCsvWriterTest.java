@@ -44,6 +44,7 @@ class OperationalEvaluationCsvWriterTest {
                         "WiFi issue",
                         "Reset the profile and reconnect.",
                         "deepseek-chat",
+                        null,
                         List.of(
                                 new OperationalEvaluationRetrievedReference("hist-1", "manual-import", "IT Support", "WiFi / Network", 0.91d, true)
                         )
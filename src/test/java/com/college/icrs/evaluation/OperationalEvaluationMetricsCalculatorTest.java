@@ -37,6 +37,7 @@ class OperationalEvaluationMetricsCalculatorTest {
                         "WiFi issue",
                         "Reset the profile and reconnect.",
                         "deepseek-chat",
+                        null,
                         List.of(
                                 new OperationalEvaluationRetrievedReference("hist-1", "manual-import", "IT Support", "WiFi / Network", 0.91d, true),
                                 new OperationalEvaluationRetrievedReference("55", "application-grievance", "Finance & Scholarships", "Fee Payment", 0.71d, false)
@@ -64,6 +65,7 @@ class OperationalEvaluationMetricsCalculatorTest {
                         null,
                         null,
                         null,
+                        null,
                         List.of()
                 ),
                 new OperationalEvaluationResult(
@@ -88,6 +90,7 @@ class OperationalEvaluationMetricsCalculatorTest {
                         "Receipt issue",
                         null,
                         "deepseek-chat",
+                        null,
                         List.of(
                                 new OperationalEvaluationRetrievedReference("56", "application-grievance", "Finance & Scholarships", "Fee Payment", 0.63d, true)
                         )
@@ -131,4 +134,94 @@ class OperationalEvaluationMetricsCalculatorTest {
         assertThat(metrics.latencyDistribution().meanMillis()).isEqualTo(2000.0d, offset(0.0001d));
         assertThat(metrics.latencyDistribution().medianMillis()).isEqualTo(1000.0d, offset(0.0001d));
     }
+
+    @Test
+    void shouldCompareDecisionCostAndAgreementAgainstBaselineRun() {
+        List<OperationalEvaluationResult> separate = List.of(
+                completed("separate", "live-1", "LOW", true, new OperationalEvaluationDecisionUsage("SEPARATE", 2, 2400L, null, 260L, 3100L)),
+                completed("separate", "live-2", "MEDIUM", false, new OperationalEvaluationDecisionUsage("SEPARATE", 2, 2600L, null, 240L, 2900L)),
+                completed("separate", "live-3", "HIGH", false, new OperationalEvaluationDecisionUsage("SEPARATE", 2, 2500L, null, 250L, 3000L))
+        );
+        List<OperationalEvaluationResult> combined = List.of(
+                completed("combined", "live-1", "LOW", true, new OperationalEvaluationDecisionUsage("COMBINED", 1, 1300L, 1024L, 190L, 1800L)),
+                completed("combined", "live-2", "MEDIUM", true, new OperationalEvaluationDecisionUsage("COMBINED", 1, 1500L, 1024L, 210L, 2200L)),
+                completed("combined", "live-4", "LOW", false, null)
+        );
+
+        OperationalEvaluationMetrics metrics = calculator.calculate(combined, separate);
+
+        assertThat(metrics.decisionCost().casesWithUsage()).isEqualTo(2);
+        assertThat(metrics.decisionCost().decisionModeDistribution()).containsEntry("COMBINED", 2L);
+        assertThat(metrics.decisionCost().meanDecisionCalls()).isEqualTo(1.0d, offset(0.0001d));
+        assertThat(metrics.decisionCost().meanInputTokens()).isEqualTo(1400.0d, offset(0.0001d));
+        assertThat(metrics.decisionCost().cachedInputTokenRate()).isEqualTo(2048.0d / 2800.0d, offset(0.0001d));
+        assertThat(metrics.decisionCost().meanDecisionCallMillis()).isEqualTo(2000.0d, offset(0.0001d));
+        assertThat(metrics.decisionAgreement().baselineVariant()).isEqualTo("separate");
+        assertThat(metrics.decisionAgreement().comparedCases()).isEqualTo(2);
+        assertThat(metrics.decisionAgreement().priorityAgreementRate()).isEqualTo(1.0d, offset(0.0001d));
+        assertThat(metrics.decisionAgreement().autoResolveAgreementRate()).isEqualTo(0.5d, offset(0.0001d));
+        assertThat(metrics.decisionAgreement().fullAgreementRate()).isEqualTo(0.5d, offset(0.0001d));
+        assertThat(calculator.calculate(combined).decisionAgreement()).isNull();
+    }
+
+    @Test
+    void shouldReportShareOfCompletedCasesDecidedOnFastPath() {
+        List<OperationalEvaluationResult> results = List.of(
+                completed("rag_enabled", "live-1", "LOW", true, null, "rule-fast-path:id-card-follow-up + sentiment:mock"),
+                completed("rag_enabled", "live-2", "MEDIUM", false, new OperationalEvaluationDecisionUsage("SEPARATE", 2, 2400L, null, 260L, 3100L)),
+                completed("rag_enabled", "live-3", "MEDIUM", true, null, "rule-fast-path:fee-receipt-follow-up"),
+                completed("rag_enabled", "live-4", "HIGH", false, new OperationalEvaluationDecisionUsage("SEPARATE", 2, 2500L, null, 250L, 3000L))
+        );
+
+        OperationalEvaluationMetrics metrics = calculator.calculate(results);
+
+        assertThat(metrics.decisionCost().fastPathCases()).isEqualTo(2);
+        assertThat(metrics.decisionCost().fastPathRate()).isEqualTo(0.5d, offset(0.0001d));
+        assertThat(metrics.decisionCost().casesWithUsage()).isEqualTo(2);
+    }
+
+    private OperationalEvaluationResult completed(
+            String variant,
+            String caseId,
+            String priority,
+            boolean aiResolved,
+            OperationalEvaluationDecisionUsage usage
+    ) {
+        return completed(variant, caseId, priority, aiResolved, usage, "deepseek-chat");
+    }
+
+    private OperationalEvaluationResult completed(
+            String variant,
+            String caseId,
+            String priority,
+            boolean aiResolved,
+            OperationalEvaluationDecisionUsage usage,
+            String aiModelName
+    ) {
+        return new OperationalEvaluationResult(
+                variant,
+                caseId,
+                "WiFi disconnects",
+                "IT Support",
+                "WiFi / Network",
+                false,
+                101L,
+                "completed",
+                null,
+                LocalDateTime.parse("2026-04-10T10:00:00"),
+                LocalDateTime.parse("2026-04-10T10:00:03"),
+                3000L,
+                aiResolved ? "RESOLVED" : "IN_PROGRESS",
+                "it.support@college.edu",
+                priority,
+                "NEGATIVE",
+                aiResolved,
+                0.80d,
+                "WiFi issue",
+                null,
+                aiModelName,
+                usage,
+                List.of()
+        );
+    }
 }
@@ -0,0 +1,47 @@
+package com.college.icrs.rag;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingEmbeddingModelTest {
+
+    @Test
+    void shouldEmbedOnlyTextsNotSeenBeforeAndKeepResponseOrder() {
+        EmbeddingModel delegate = mock(EmbeddingModel.class);
+        when(delegate.call(any(EmbeddingRequest.class))).thenAnswer(invocation -> {
+            EmbeddingRequest request = invocation.getArgument(0);
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(new float[]{request.getInstructions().get(i).length()}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        });
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, 10);
+
+        model.call(new EmbeddingRequest(List.of("wifi down"), null));
+        EmbeddingResponse response = model.call(new EmbeddingRequest(List.of("mess food cold", "wifi down"), null));
+
+        ArgumentCaptor<EmbeddingRequest> requests = ArgumentCaptor.forClass(EmbeddingRequest.class);
+        verify(delegate, times(2)).call(requests.capture());
+        assertThat(requests.getAllValues().get(1).getInstructions()).containsExactly("mess food cold");
+        assertThat(response.getResults()).extracting(Embedding::getOutput)
+                .containsExactly(new float[]{14f}, new float[]{9f});
+        assertThat(model.stats().hits()).isEqualTo(1L);
+        assertThat(model.stats().misses()).isEqualTo(2L);
+        assertThat(model.stats().entries()).isEqualTo(2);
+    }
+}
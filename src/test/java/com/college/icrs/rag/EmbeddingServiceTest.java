@@ -3,8 +3,10 @@ package com.college.icrs.rag;
 import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.model.Category;
 import com.college.icrs.model.Grievance;
+import com.college.icrs.model.GrievanceVectorIndexState;
 import com.college.icrs.model.Status;
 import com.college.icrs.model.Subcategory;
+import com.college.icrs.repository.GrievanceVectorIndexStateRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.ai.document.Document;
@@ -13,7 +15,9 @@ import org.springframework.ai.vectorstore.VectorStore;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,7 +35,9 @@ class EmbeddingServiceTest {
                 vectorStore,
                 properties,
                 documentFactory,
-                commentSummaryService
+                commentSummaryService,
+                mock(GrievanceVectorIndexStateRepository.class),
+                new VectorBatchWriter(vectorStore, properties)
         );
 
         Grievance grievance = grievance();
@@ -52,6 +58,35 @@ class EmbeddingServiceTest {
         );
     }
 
+    @Test
+    void skipsVectorWriteWhenIndexedDocumentFingerprintIsUnchanged() {
+        VectorStore vectorStore = mock(VectorStore.class);
+        ResolvedGrievanceCommentSummaryService commentSummaryService = mock(ResolvedGrievanceCommentSummaryService.class);
+        GrievanceVectorIndexStateRepository indexStateRepository = mock(GrievanceVectorIndexStateRepository.class);
+        GrievanceVectorDocumentFactory documentFactory = new GrievanceVectorDocumentFactory();
+        IcrsProperties properties = new IcrsProperties();
+
+        EmbeddingService service = new EmbeddingService(
+                vectorStore,
+                properties,
+                documentFactory,
+                commentSummaryService,
+                indexStateRepository,
+                new VectorBatchWriter(vectorStore, properties)
+        );
+
+        Grievance grievance = grievance();
+        GrievanceVectorIndexState state = new GrievanceVectorIndexState();
+        state.setGrievanceId(grievance.getId());
+        state.setFingerprint(documentFactory.fingerprint(documentFactory.fromGrievance(grievance, null)));
+        when(indexStateRepository.findAllById(List.of(grievance.getId()))).thenReturn(List.of(state));
+
+        service.indexGrievance(grievance);
+
+        verify(vectorStore, never()).add(any());
+        verify(indexStateRepository, never()).saveAll(any());
+    }
+
     private Grievance grievance() {
         Category category = new Category();
         category.setName("IT Support");
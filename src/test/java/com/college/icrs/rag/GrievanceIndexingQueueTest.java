@@ -0,0 +1,152 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Grievance;
+import com.college.icrs.repository.GrievanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GrievanceIndexingQueueTest {
+
+    private final EmbeddingService embeddingService = mock(EmbeddingService.class);
+    private final GrievanceRepository grievanceRepository = mock(GrievanceRepository.class);
+    private final IcrsProperties properties = new IcrsProperties();
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private final GrievanceIndexingQueue queue = new GrievanceIndexingQueue(
+            embeddingService,
+            grievanceRepository,
+            properties,
+            scheduled::add,
+            mock(PlatformTransactionManager.class)
+    );
+
+    @Test
+    void shouldCoalescePendingUpdatesForSameGrievanceIntoOneUpsert() {
+        Grievance grievance = grievance(12L);
+        when(grievanceRepository.findByIdIn(List.of(12L))).thenReturn(List.of(grievance));
+
+        queue.enqueue(grievance);
+        queue.enqueue(grievance);
+        queue.enqueue(grievance);
+
+        assertThat(scheduled).hasSize(1);
+        assertThat(queue.stats().pending()).isEqualTo(1);
+        assertThat(queue.stats().coalesced()).isEqualTo(2L);
+        verify(embeddingService, never()).indexGrievances(any());
+
+        scheduled.getFirst().run();
+
+        verify(embeddingService, times(1)).indexGrievances(List.of(grievance));
+        assertThat(queue.stats().pending()).isZero();
+    }
+
+    @Test
+    void shouldDrainPendingGrievancesInWriteBatches() {
+        properties.getAi().getRag().setWriteBatchSize(2);
+        Grievance first = grievance(1L);
+        Grievance second = grievance(2L);
+        Grievance third = grievance(3L);
+        when(grievanceRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(grievanceRepository.findByIdIn(List.of(3L))).thenReturn(List.of(third));
+
+        queue.enqueue(first);
+        queue.enqueue(second);
+        queue.enqueue(third);
+
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.getFirst().run();
+
+        verify(embeddingService).indexGrievances(List.of(first, second));
+        verify(embeddingService).indexGrievances(List.of(third));
+        assertThat(queue.stats().completed()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldScheduleNewDrainAfterErrorEscapesIndexing() {
+        Grievance first = grievance(1L);
+        Grievance second = grievance(2L);
+        when(grievanceRepository.findByIdIn(List.of(1L))).thenThrow(new NoClassDefFoundError("ai/onnxruntime/OrtEnvironment"));
+        when(grievanceRepository.findByIdIn(List.of(2L))).thenReturn(List.of(second));
+
+        queue.enqueue(first);
+        assertThatThrownBy(() -> scheduled.getFirst().run()).isInstanceOf(NoClassDefFoundError.class);
+
+        queue.enqueue(second);
+
+        assertThat(scheduled).hasSize(2);
+        scheduled.get(1).run();
+        verify(embeddingService).indexGrievances(List.of(second));
+    }
+
+    @Test
+    void shouldApplyBackpressurePolicyWhenQueueIsFull() {
+        properties.getAi().getRag().getIndexQueue().setCapacity(1);
+        Grievance first = grievance(1L);
+        Grievance second = grievance(2L);
+        when(grievanceRepository.findByIdIn(List.of(2L))).thenReturn(List.of(second));
+
+        queue.enqueue(first);
+        queue.enqueue(second);
+
+        assertThat(scheduled).hasSize(1);
+        assertThat(queue.stats().callerRuns()).isEqualTo(1L);
+        verify(embeddingService).indexGrievances(List.of(second));
+
+        properties.getAi().getRag().getIndexQueue().setBackpressure(IcrsProperties.Ai.Rag.IndexQueue.Backpressure.DROP);
+        queue.enqueue(grievance(3L));
+
+        assertThat(queue.stats().dropped()).isEqualTo(1L);
+        assertThat(queue.stats().highWatermark()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportDroppedAndFailedReindexesUntilOneSucceeds() {
+        properties.getAi().getRag().getIndexQueue().setCapacity(1);
+        properties.getAi().getRag().getIndexQueue().setBackpressure(IcrsProperties.Ai.Rag.IndexQueue.Backpressure.DROP);
+        Grievance first = grievance(1L);
+        Grievance second = grievance(2L);
+        when(grievanceRepository.findByIdIn(List.of(1L))).thenReturn(List.of(first));
+        when(grievanceRepository.findByIdIn(List.of(2L))).thenReturn(List.of(second));
+        when(embeddingService.indexGrievances(List.of(first))).thenReturn(false);
+        when(embeddingService.indexGrievances(List.of(second))).thenReturn(true);
+
+        queue.enqueue(first);
+        queue.enqueue(second);
+
+        assertThat(queue.needsReindex(1L)).isTrue();
+        assertThat(queue.needsReindex(2L)).isTrue();
+
+        scheduled.getFirst().run();
+
+        assertThat(queue.needsReindex(1L)).isTrue();
+        assertThat(queue.stats().unindexed()).isEqualTo(2);
+
+        queue.enqueue(second);
+        scheduled.get(1).run();
+
+        assertThat(queue.needsReindex(2L)).isFalse();
+        assertThat(queue.needsReindex(1L)).isTrue();
+    }
+
+    private Grievance grievance(long id) {
+        Grievance grievance = new Grievance();
+        grievance.setId(id);
+        grievance.setTitle("Hostel WiFi down");
+        grievance.setDescription("No connectivity in Block C.");
+        return grievance;
+    }
+}
@@ -0,0 +1,110 @@
+package com.college.icrs.rag;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswVectorIndexTest {
+
+    @Test
+    void shouldMatchExactSearchForMostNeighbours() {
+        Random random = new Random(7L);
+        HnswVectorIndex index = new HnswVectorIndex(16, 100, 11L);
+        for (int i = 0; i < 2_000; i++) {
+            index.upsert("doc-" + i, randomVector(random, 32));
+        }
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random, 32);
+            Set<Integer> approximate = ordinals(index.search(query, 10, 64, ordinal -> true));
+            Set<Integer> exact = ordinals(index.exactSearch(normalized(query), 10, ordinal -> true));
+            approximate.retainAll(exact);
+            found += approximate.size();
+            expected += exact.size();
+        }
+
+        assertThat((double) found / expected).isGreaterThan(0.9d);
+    }
+
+    @Test
+    void shouldReplaceUpsertedVectorsAndHideRemovedOnes() {
+        HnswVectorIndex index = new HnswVectorIndex(4, 16, 3L);
+        index.upsert("a", new float[]{1f, 0f});
+        index.upsert("b", new float[]{0f, 1f});
+        index.upsert("a", new float[]{-1f, 0f});
+        index.remove("b");
+
+        List<HnswVectorIndex.Hit> hits = index.search(new float[]{1f, 0f}, 2, 8, ordinal -> true);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.tombstones()).isEqualTo(2);
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(index.id(hit.ordinal())).isEqualTo("a");
+            assertThat(hit.score()).isEqualTo(-1f);
+        });
+        assertThat(index.compacted().tombstones()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToExactScanWhenFilterIsRestrictive() {
+        Random random = new Random(5L);
+        HnswVectorIndex index = new HnswVectorIndex(8, 32, 9L);
+        for (int i = 0; i < 500; i++) {
+            index.upsert("doc-" + i, randomVector(random, 16));
+        }
+
+        List<HnswVectorIndex.Hit> hits = index.search(randomVector(random, 16), 3, 8, ordinal -> index.id(ordinal).endsWith("7"));
+
+        assertThat(hits).hasSize(3).allSatisfy(hit -> assertThat(index.id(hit.ordinal())).endsWith("7"));
+    }
+
+    @Test
+    void shouldNotScanLargeIndexWhenFilterMatchesAlmostNothing() {
+        Random random = new Random(13L);
+        HnswVectorIndex index = new HnswVectorIndex(8, 32, 17L);
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert("doc-" + i, randomVector(random, 16));
+        }
+        AtomicInteger checked = new AtomicInteger();
+
+        List<HnswVectorIndex.Hit> hits = index.search(randomVector(random, 16), 3, 8, ordinal -> {
+            checked.incrementAndGet();
+            return index.id(ordinal).equals("doc-42");
+        });
+
+        assertThat(hits.size()).isLessThanOrEqualTo(1);
+        assertThat(checked.get()).isLessThan(index.size() / 2);
+    }
+
+    private static Set<Integer> ordinals(List<HnswVectorIndex.Hit> hits) {
+        return hits.stream().map(HnswVectorIndex.Hit::ordinal).collect(Collectors.toSet());
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] normalized(float[] vector) {
+        double norm = 0d;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) (vector[i] / Math.sqrt(norm));
+        }
+        return result;
+    }
+}
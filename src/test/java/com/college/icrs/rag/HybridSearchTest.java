@@ -0,0 +1,64 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HybridSearchTest {
+
+    @Test
+    void shouldPromoteDocumentsRankedHighByBothLists() {
+        List<Document> semantic = List.of(hit("a", 0.92d), hit("b", 0.90d), hit("c", 0.81d));
+        List<Document> lexical = List.of(hit("c", 0.81d), hit("d", 0.40d), hit("b", 0.90d));
+
+        List<Document> fused = HybridSearch.fuse(semantic, lexical, 60, 3);
+
+        assertThat(fused).extracting(Document::getId).containsExactly("c", "b", "a");
+        assertThat(fused.getFirst().getScore()).isEqualTo(0.81d);
+    }
+
+    @Test
+    void shouldRunLexicalSearchWithWidenedRequestAndKeepExactTokens() {
+        PgVectorSimilaritySearch vectorSearch = mock(PgVectorSimilaritySearch.class);
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getRag().getHybrid().setEnabled(true);
+        HybridSearch hybridSearch = new HybridSearch(vectorSearch, properties, Runnable::run);
+        float[] queryVector = {0.1f, 0.2f};
+        when(vectorSearch.lexicalSearch(eq(queryVector), any(), any(SearchRequest.class)))
+                .thenReturn(List.of(hit("hist-7", 0.35d)));
+
+        List<Document> results = hybridSearch.search(
+                queryVector,
+                SearchRequest.builder().query("Title: WiFi down in Block C\nRegistration Number: 2022BIT052").topK(2).build(),
+                request -> {
+                    assertThat(request.getTopK()).isEqualTo(10);
+                    return List.of(hit("12", 0.88d), hit("14", 0.70d));
+                }
+        );
+
+        verify(vectorSearch).lexicalSearch(eq(queryVector), eq("wifi | down | block | 2022bit052"), any(SearchRequest.class));
+        assertThat(results).extracting(Document::getId).containsExactly("12", "hist-7");
+    }
+
+    @Test
+    void shouldDropStopwordsAndCommonGrievanceWordsFromLexicalQuery() {
+        String query = HybridSearch.lexicalQuery("Title: The student has an issue with the WiFi in Block C, please help");
+
+        assertThat(query).isEqualTo("wifi | block");
+    }
+
+    private static Document hit(String id, double score) {
+        return Document.builder().id(id).text("content").metadata(Map.of()).score(score).build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.college.icrs.rag;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalVectorIndexSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRestoreGraphAndDocumentsWithoutRebuilding() throws Exception {
+        Random random = new Random(3L);
+        HnswVectorIndex index = new HnswVectorIndex(8, 32, 5L);
+        for (int i = 0; i < 300; i++) {
+            float[] vector = new float[24];
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            index.upsert("doc-" + i, vector);
+        }
+        index.remove("doc-4");
+        Map<String, LocalVectorStore.StoredDocument> documents = Map.of(
+                "doc-1", new LocalVectorStore.StoredDocument("Hostel WiFi down", "{\"category\":\"Hostel\"}", null)
+        );
+        Path file = tempDir.resolve("index.snapshot");
+
+        LocalVectorIndexSnapshot.write(file, 1_700_000_000_000L, index, documents);
+        LocalVectorIndexSnapshot.Loaded loaded = LocalVectorIndexSnapshot.read(file);
+
+        float[] query = new float[24];
+        query[0] = 1f;
+        List<HnswVectorIndex.Hit> expected = index.search(query, 5, 32, ordinal -> true);
+        assertThat(loaded.watermarkMillis()).isEqualTo(1_700_000_000_000L);
+        assertThat(loaded.index().size()).isEqualTo(299);
+        assertThat(loaded.index().search(query, 5, 32, ordinal -> true)).isEqualTo(expected);
+        assertThat(loaded.documents().get("doc-1").text()).isEqualTo("Hostel WiFi down");
+        assertThat(loaded.documents().get("doc-1").metadataJson()).isEqualTo("{\"category\":\"Hostel\"}");
+    }
+}
@@ -0,0 +1,103 @@
+package com.college.icrs.rag;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalVectorStoreTest {
+
+    private final VectorStore pgVectorStore = mock(VectorStore.class);
+    private final EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LocalVectorStore store = new LocalVectorStore(
+            pgVectorStore,
+            embeddingModel,
+            jdbcTemplate,
+            new ObjectMapper(),
+            "vector_store",
+            8,
+            32,
+            16,
+            null
+    );
+
+    @Test
+    void shouldWriteThroughAndSearchLocallyWithFilters() {
+        List<Document> documents = List.of(
+                document("11", "Hostel WiFi down", "Hostel & Accommodation"),
+                document("12", "Library WiFi slow", "Library"),
+                document("13", "Mess food cold", "Hostel & Accommodation")
+        );
+        when(embeddingModel.embed(documents.stream().map(Document::getText).toList())).thenReturn(List.of(
+                new float[]{1f, 0f, 0f},
+                new float[]{0.9f, 0.1f, 0f},
+                new float[]{0f, 0f, 1f}
+        ));
+        store.add(documents);
+
+        SearchRequest request = SearchRequest.builder()
+                .query("WiFi")
+                .topK(2)
+                .filterExpression(new FilterExpressionBuilder().eq(GrievanceVectorDocumentFactory.CATEGORY_METADATA_KEY, "Hostel & Accommodation").build())
+                .build();
+        List<Document> hits = store.similaritySearch(new float[]{1f, 0.1f, 0f}, request);
+
+        verify(pgVectorStore).add(documents);
+        assertThat(hits).extracting(Document::getId).containsExactly("11", "13");
+        assertThat(hits.getFirst().getScore()).isGreaterThan(0.99d);
+    }
+
+    @Test
+    void shouldDeleteFromBothStores() {
+        List<Document> documents = List.of(document("21", "Projector broken", "Academics"));
+        when(embeddingModel.embed(List.of("Projector broken"))).thenReturn(List.of(new float[]{0f, 1f}));
+        store.add(documents);
+
+        store.delete(List.of("21"));
+
+        verify(pgVectorStore).delete(List.of("21"));
+        assertThat(store.similaritySearch(new float[]{0f, 1f}, SearchRequest.builder().query("projector").topK(3).build())).isEmpty();
+    }
+
+    @Test
+    void shouldPruneExpiredDeletionsOnRefresh() {
+        long now = System.currentTimeMillis();
+        when(jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class)).thenReturn(new Timestamp(now));
+        store.warm();
+
+        store.refresh();
+
+        verify(jdbcTemplate).update(
+                "DELETE FROM vector_store_deletions WHERE deleted_at < ?",
+                new Timestamp(now - Duration.ofDays(7).toMillis())
+        );
+    }
+
+    @Test
+    void shouldParsePgVectorTextLiterals() {
+        assertThat(LocalVectorStore.parseVector("[0.5,-1,2.25]")).containsExactly(0.5f, -1f, 2.25f);
+    }
+
+    private static Document document(String id, String text, String category) {
+        return Document.builder()
+                .id(id)
+                .text(text)
+                .metadata(Map.of(GrievanceVectorDocumentFactory.CATEGORY_METADATA_KEY, category))
+                .build();
+    }
+}
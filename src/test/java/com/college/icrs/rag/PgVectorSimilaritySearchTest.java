@@ -0,0 +1,109 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PgVectorSimilaritySearchTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PgVectorSimilaritySearch search;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        search = new PgVectorSimilaritySearch(jdbcTemplate, new ObjectMapper(), new IcrsProperties());
+        ReflectionTestUtils.setField(search, "tableName", "vector_store");
+        ReflectionTestUtils.setField(search, "dimensions", 384);
+    }
+
+    @Test
+    void shouldBindMetadataFilterInsteadOfInliningIt() {
+        SearchRequest request = SearchRequest.builder()
+                .query("wifi")
+                .topK(3)
+                .similarityThreshold(0.6d)
+                .filterExpression(new FilterExpressionBuilder().eq("category", "Hostel' OR '1'='1").build())
+                .build();
+
+        search.search(new float[]{0.5f, 0.5f}, request, IcrsProperties.Ai.Rag.Quantization.Mode.NONE, 1);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("metadata::jsonb @@ ?::jsonpath")
+                .doesNotContain("Hostel");
+        assertThat(args.getValue()).hasSize(5);
+        assertThat((String) args.getValue()[3]).contains("Hostel' OR '1'='1");
+        assertThat(args.getValue()[4]).isEqualTo(3);
+    }
+
+    @Test
+    void shouldOrderHalfvecCandidatesByIndexExpressionAndRerankByFullPrecision() {
+        SearchRequest request = SearchRequest.builder().query("wifi").topK(3).similarityThreshold(0.5d).build();
+
+        search.search(new float[]{0.5f, 0.5f}, request, IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC, 4);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("ORDER BY embedding::halfvec(384) <=> ?::halfvec(384) LIMIT ?")
+                .contains("embedding <=> ?::vector AS distance")
+                .endsWith(") candidates WHERE distance < ? ORDER BY distance LIMIT ?");
+        assertThat(args.getValue()).containsExactly("[0.5,0.5]", "[0.5,0.5]", 12, 0.5d, 3);
+    }
+
+    @Test
+    void shouldRejectHalfvecWhenDimensionsDifferFromTheIndex() {
+        ReflectionTestUtils.setField(search, "dimensions", 768);
+        SearchRequest request = SearchRequest.builder().query("wifi").topK(3).build();
+
+        assertThatThrownBy(() -> search.search(new float[]{0.5f}, request, IcrsProperties.Ai.Rag.Quantization.Mode.HALFVEC, 4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("idx_vector_store_embedding_halfvec");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldBindLexicalFilterWithoutCuttingHitsBySimilarity() {
+        SearchRequest request = SearchRequest.builder()
+                .query("wifi")
+                .topK(4)
+                .filterExpression(new FilterExpressionBuilder().eq("resolved", true).build())
+                .build();
+
+        search.lexicalSearch(new float[]{0.5f, 0.5f}, "wifi | down", request);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue().substring(sql.getValue().indexOf(" WHERE "))).doesNotContain("<=>");
+        assertThat(sql.getValue())
+                .contains("WHERE content_tsv @@ to_tsquery('english', ?)")
+                .contains(" LIMIT 200) candidates ORDER BY ts_rank_cd(content_tsv, to_tsquery('english', ?)) DESC LIMIT ?");
+        List<Object> bound = List.of(args.getValue());
+        assertThat(bound).hasSize(5);
+        assertThat(bound.get(1)).isEqualTo("wifi | down");
+        assertThat((String) bound.get(bound.size() - 3)).contains("resolved");
+        assertThat(bound.get(bound.size() - 2)).isEqualTo("wifi | down");
+        assertThat(bound.getLast()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,31 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryVectorCacheTest {
+
+    @Test
+    void shouldEmbedEachGrievanceQueryOnceUntilItsTextChanges() {
+        EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embed("Title: Hostel WiFi down")).thenReturn(new float[]{0.1f, 0.2f});
+        when(embeddingModel.embed("Title: Hostel WiFi down in Block C")).thenReturn(new float[]{0.3f, 0.4f});
+        QueryVectorCache cache = new QueryVectorCache(embeddingModel, new IcrsProperties());
+
+        float[] first = cache.vectorFor(31L, "Title: Hostel WiFi down");
+        float[] second = cache.vectorFor(31L, "Title: Hostel WiFi down");
+        float[] updated = cache.vectorFor(31L, "Title: Hostel WiFi down in Block C");
+
+        assertThat(second).isSameAs(first);
+        assertThat(updated).containsExactly(0.3f, 0.4f);
+        verify(embeddingModel, times(1)).embed("Title: Hostel WiFi down");
+        verify(embeddingModel, times(1)).embed("Title: Hostel WiFi down in Block C");
+    }
+}
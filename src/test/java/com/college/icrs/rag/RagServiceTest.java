@@ -0,0 +1,135 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import com.college.icrs.model.Priority;
+import com.college.icrs.repository.GrievanceReferenceView;
+import com.college.icrs.repository.GrievanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RagServiceTest {
+
+    @Test
+    void resolvesAllApplicationHitsWithOneReferenceQuery() {
+        VectorStore vectorStore = mock(VectorStore.class);
+        GrievanceRepository grievanceRepository = mock(GrievanceRepository.class);
+        PgVectorSimilaritySearch vectorSearch = mock(PgVectorSimilaritySearch.class);
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getRag().setTopK(3);
+        RagService service = new RagService(
+                vectorStore,
+                properties,
+                mock(EmbeddingService.class),
+                grievanceRepository,
+                mock(GrievanceIndexingQueue.class),
+                mock(QueryVectorCache.class),
+                vectorSearch,
+                new HybridSearch(vectorSearch, properties, Runnable::run),
+                new RerankStage(mock(OnnxCrossEncoder.class), properties, Runnable::run)
+        );
+
+        when(vectorSearch.search(any(), any(SearchRequest.class))).thenReturn(List.of(
+                hit("12", 0.91d, Map.of("grievanceId", 12L, "title", "Stale title")),
+                hit("31", 0.99d, Map.of("grievanceId", 31L)),
+                hit("hist-001", 0.80d, Map.of("title", "Hostel WiFi outage", "source", "manual-import")),
+                hit("14", 0.75d, Map.of("grievanceId", 14L, "title", "Mess food cold"))
+        ));
+        GrievanceReferenceView reference = mock(GrievanceReferenceView.class);
+        when(reference.getId()).thenReturn(12L);
+        when(reference.getTitle()).thenReturn("Library AC not working");
+        when(reference.getCategoryName()).thenReturn("Infrastructure");
+        when(reference.getPriority()).thenReturn(Priority.HIGH);
+        when(grievanceRepository.findReferenceViewsByIdIn(List.of(12L, 14L))).thenReturn(List.of(reference));
+
+        List<RagService.GrievanceContext> contexts = service.retrieveSimilar(31L, "Title: Library AC");
+
+        assertThat(contexts).extracting(RagService.GrievanceContext::getReferenceId)
+                .containsExactly("12", "hist-001", "14");
+        assertThat(contexts.getFirst().getTitle()).isEqualTo("Library AC not working");
+        assertThat(contexts.getFirst().getCategory()).isEqualTo("Infrastructure");
+        assertThat(contexts.getFirst().getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(contexts.get(2).getTitle()).isEqualTo("Mess food cold");
+        verify(grievanceRepository, never()).findById(any());
+    }
+
+    @Test
+    void buildsContextsFromFreshMetadataAndReadsDatabaseOnlyForStaleHits() {
+        VectorStore vectorStore = mock(VectorStore.class);
+        GrievanceRepository grievanceRepository = mock(GrievanceRepository.class);
+        PgVectorSimilaritySearch vectorSearch = mock(PgVectorSimilaritySearch.class);
+        GrievanceIndexingQueue indexingQueue = mock(GrievanceIndexingQueue.class);
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getRag().setContextSource(IcrsProperties.Ai.Rag.ContextSource.METADATA);
+        RagService service = new RagService(
+                vectorStore,
+                properties,
+                mock(EmbeddingService.class),
+                grievanceRepository,
+                indexingQueue,
+                mock(QueryVectorCache.class),
+                vectorSearch,
+                new HybridSearch(vectorSearch, properties, Runnable::run),
+                new RerankStage(mock(OnnxCrossEncoder.class), properties, Runnable::run)
+        );
+
+        long now = System.currentTimeMillis();
+        when(vectorSearch.search(any(), any(SearchRequest.class))).thenReturn(List.of(
+                hit("12", 0.91d, Map.of("grievanceId", 12L, "title", "Library AC not working", "indexedAt", now)),
+                hit("14", 0.85d, Map.of("grievanceId", 14L, "title", "Old title", "indexedAt", now)),
+                hit("15", 0.80d, Map.of("grievanceId", 15L, "title", "Indexed before indexedAt existed"))
+        ));
+        when(indexingQueue.needsReindex(14L)).thenReturn(true);
+        GrievanceReferenceView reference = mock(GrievanceReferenceView.class);
+        when(reference.getId()).thenReturn(14L);
+        when(reference.getTitle()).thenReturn("Updated title");
+        when(grievanceRepository.findReferenceViewsByIdIn(List.of(14L, 15L))).thenReturn(List.of(reference));
+
+        List<RagService.GrievanceContext> contexts = service.retrieveSimilar(31L, "Title: Library AC");
+
+        assertThat(contexts).extracting(RagService.GrievanceContext::getTitle)
+                .containsExactly("Library AC not working", "Updated title", "Indexed before indexedAt existed");
+    }
+
+    @Test
+    void appliesConfiguredMetadataFiltersAndSimilarityThreshold() {
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getRag().getFilter().setSameCategory(true);
+        properties.getAi().getRag().getFilter().setResolvedOnly(true);
+        properties.getAi().getRag().getFilter().setSimilarityThreshold(0.55d);
+        RagService service = new RagService(
+                mock(VectorStore.class),
+                properties,
+                mock(EmbeddingService.class),
+                mock(GrievanceRepository.class),
+                mock(GrievanceIndexingQueue.class),
+                mock(QueryVectorCache.class),
+                mock(PgVectorSimilaritySearch.class),
+                mock(HybridSearch.class),
+                mock(RerankStage.class)
+        );
+
+        SearchRequest request = service.searchRequest("Title: Hostel WiFi down", 4, "IT Support");
+
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        assertThat(request.getSimilarityThreshold()).isEqualTo(0.55d);
+        assertThat(request.getFilterExpression()).isEqualTo(
+                b.and(b.eq("category", "IT Support"), b.eq("resolved", true)).build());
+    }
+
+    private Document hit(String id, double score, Map<String, Object> metadata) {
+        return Document.builder().id(id).text("content").metadata(metadata).score(score).build();
+    }
+}
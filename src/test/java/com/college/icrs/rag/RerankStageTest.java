@@ -0,0 +1,77 @@
+package com.college.icrs.rag;
+
+import com.college.icrs.config.IcrsProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RerankStageTest {
+
+    private final List<Document> candidates = List.of(
+            Document.builder().id("12").text("Library AC not working").build(),
+            Document.builder().id("14").text("Hostel WiFi down in Block C").build(),
+            Document.builder().id("hist-3").text("WiFi outage in Block C hostel").build()
+    );
+
+    @Test
+    void shouldReorderCandidatesByCrossEncoderScore() throws Exception {
+        OnnxCrossEncoder crossEncoder = mock(OnnxCrossEncoder.class);
+        when(crossEncoder.score(eq("Block C WiFi"), any())).thenReturn(new float[]{-4.1f, 6.3f, 7.8f});
+        RerankStage stage = new RerankStage(crossEncoder, enabled(150L), Runnable::run);
+
+        RerankStage.Reranked reranked = stage.rerank("Block C WiFi", candidates);
+
+        assertThat(reranked.outcome()).isEqualTo(RerankStage.Outcome.RERANKED);
+        assertThat(reranked.documents()).extracting(Document::getId).containsExactly("hist-3", "14", "12");
+        assertThat(stage.candidateCount(3)).isEqualTo(12);
+    }
+
+    @Test
+    void shouldKeepRetrievalOrderWhenBudgetIsExceeded() throws Exception {
+        OnnxCrossEncoder crossEncoder = mock(OnnxCrossEncoder.class);
+        when(crossEncoder.score(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(500L);
+            return new float[]{0f, 1f, 2f};
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RerankStage stage = new RerankStage(crossEncoder, enabled(20L), executor);
+
+            RerankStage.Reranked reranked = stage.rerank("Block C WiFi", candidates);
+
+            assertThat(reranked.outcome()).isEqualTo(RerankStage.Outcome.TIMED_OUT);
+            assertThat(reranked.documents()).isSameAs(candidates);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldKeepRetrievalOrderWhenRerankExecutorIsSaturated() {
+        RerankStage stage = new RerankStage(mock(OnnxCrossEncoder.class), enabled(150L), task -> {
+            throw new RejectedExecutionException("rerank queue full");
+        });
+
+        RerankStage.Reranked reranked = stage.rerank("Block C WiFi", candidates);
+
+        assertThat(reranked.outcome()).isEqualTo(RerankStage.Outcome.REJECTED);
+        assertThat(reranked.documents()).isSameAs(candidates);
+    }
+
+    private static IcrsProperties enabled(long budgetMs) {
+        IcrsProperties properties = new IcrsProperties();
+        properties.getAi().getRag().getRerank().setEnabled(true);
+        properties.getAi().getRag().getRerank().setBudgetMs(budgetMs);
+        return properties;
+    }
+}
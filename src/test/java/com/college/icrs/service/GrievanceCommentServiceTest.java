@@ -1,12 +1,13 @@
 package com.college.icrs.service;
 
+import com.college.icrs.ai.agent.GrievanceDecisionCache;
 import com.college.icrs.exception.ResourceNotFoundException;
 import com.college.icrs.model.Comment;
 import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Role;
 import com.college.icrs.model.Status;
 import com.college.icrs.model.User;
-import com.college.icrs.rag.EmbeddingService;
+import com.college.icrs.rag.GrievanceIndexingQueue;
 import com.college.icrs.repository.CommentRepository;
 import com.college.icrs.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -30,14 +31,16 @@ class GrievanceCommentServiceTest {
     private final CommentRepository commentRepository = mock(CommentRepository.class);
     private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
     private final GrievanceNotificationService grievanceNotificationService = mock(GrievanceNotificationService.class);
-    private final EmbeddingService embeddingService = mock(EmbeddingService.class);
+    private final GrievanceIndexingQueue grievanceIndexingQueue = mock(GrievanceIndexingQueue.class);
+    private final GrievanceDecisionCache grievanceDecisionCache = mock(GrievanceDecisionCache.class);
 
     private final GrievanceCommentService service = new GrievanceCommentService(
             userRepository,
             commentRepository,
             passwordEncoder,
             grievanceNotificationService,
-            embeddingService
+            grievanceIndexingQueue,
+            grievanceDecisionCache
     );
 
     @Test
@@ -55,7 +58,7 @@ class GrievanceCommentServiceTest {
 
         service.addComment(grievance, student.getEmail(), "Issue is resolved now.");
 
-        verify(embeddingService).indexGrievance(grievance);
+        verify(grievanceIndexingQueue).enqueue(grievance);
     }
 
     @Test
@@ -69,7 +72,7 @@ class GrievanceCommentServiceTest {
 
         service.addComment(grievance, student.getEmail(), "Please review the attached screenshot.");
 
-        verify(embeddingService, never()).indexGrievance(any(Grievance.class));
+        verify(grievanceIndexingQueue, never()).enqueue(any(Grievance.class));
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.college.icrs.service;
 
+import com.college.icrs.ai.agent.GrievanceDecisionCache;
 import com.college.icrs.model.Category;
 import com.college.icrs.model.Grievance;
 import com.college.icrs.model.Role;
@@ -8,6 +9,7 @@ import com.college.icrs.model.Status;
 import com.college.icrs.model.Subcategory;
 import com.college.icrs.model.User;
 import com.college.icrs.rag.EmbeddingService;
+import com.college.icrs.rag.GrievanceIndexingQueue;
 import com.college.icrs.repository.GrievanceRepository;
 import com.college.icrs.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -36,6 +38,9 @@ class GrievanceServiceTest {
     @Mock
     private EmbeddingService embeddingService;
 
+    @Mock
+    private GrievanceIndexingQueue grievanceIndexingQueue;
+
     @Mock
     private GrievanceStatusAuditService grievanceStatusAuditService;
 
@@ -45,6 +50,9 @@ class GrievanceServiceTest {
     @Mock
     private GrievanceCommentService grievanceCommentService;
 
+    @Mock
+    private GrievanceDecisionCache grievanceDecisionCache;
+
     @InjectMocks
     private GrievanceService grievanceService;
 
@@ -92,7 +100,7 @@ class GrievanceServiceTest {
         assertThat(created.getAiConfidence()).isNull();
         assertThat(created.getAiDecisionAt()).isNull();
 
-        verify(embeddingService).indexGrievance(created);
+        verify(grievanceIndexingQueue).enqueue(created);
         verify(grievanceNotificationService).sendSubmissionEmail(student, created);
     }
 
@@ -115,13 +123,36 @@ class GrievanceServiceTest {
         assertThat(updated.getStatus()).isEqualTo(Status.IN_PROGRESS);
         assertThat(updated.isAiResolved()).isFalse();
 
-        verify(embeddingService).indexGrievance(updated);
+        verify(grievanceIndexingQueue).enqueue(updated);
         verify(grievanceStatusAuditService)
                 .appendStatusHistory(updated, Status.RESOLVED, Status.IN_PROGRESS, null);
         verify(grievanceNotificationService)
                 .sendStatusChangeEmail(student, updated, Status.RESOLVED, Status.IN_PROGRESS);
     }
 
+    @Test
+    void shouldInvalidateCachedDecisionWhenAssignedToFaculty() {
+        User student = user(10L, "student@college.edu", Role.STUDENT);
+        User faculty = user(20L, "faculty@college.edu", Role.FACULTY);
+        Grievance grievance = new Grievance();
+        grievance.setId(50L);
+        grievance.setTitle("Projector broken");
+        grievance.setDescription("Room 204 projector does not turn on");
+        grievance.setStudent(student);
+        grievance.setStatus(Status.SUBMITTED);
+
+        when(grievanceRepository.findById(50L)).thenReturn(Optional.of(grievance));
+        when(userRepository.findById(20L)).thenReturn(Optional.of(faculty));
+        when(grievanceRepository.save(grievance)).thenReturn(grievance);
+
+        Grievance assigned = grievanceService.assignGrievanceToFaculty(50L, 20L);
+
+        assertThat(assigned.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(assigned.getAssignedTo()).isSameAs(faculty);
+        verify(grievanceIndexingQueue).enqueue(assigned);
+        verify(grievanceDecisionCache).invalidate(50L);
+    }
+
     @Test
     void shouldPersistAiResolutionMetadataWhenMarkedResolvedByAi() {
         User student = user(10L, "student@college.edu", Role.STUDENT);
@@ -153,7 +184,7 @@ class GrievanceServiceTest {
         assertThat(resolved.getAiDecisionSource()).isEqualTo("DEEPSEEK_AGENTIC_V1");
         assertThat(resolved.getAiDecisionAt()).isNotNull();
 
-        verify(embeddingService).indexGrievance(resolved);
+        verify(grievanceIndexingQueue).enqueue(resolved);
         verify(grievanceStatusAuditService)
                 .appendStatusHistory(resolved, Status.IN_PROGRESS, Status.RESOLVED, "Resolved by AI");
         verify(grievanceNotificationService)
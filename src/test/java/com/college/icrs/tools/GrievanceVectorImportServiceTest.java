@@ -1,16 +1,21 @@
 package com.college.icrs.tools;
 
+import com.college.icrs.config.IcrsProperties;
 import com.college.icrs.rag.GrievanceVectorDocumentFactory;
+import com.college.icrs.rag.PgVectorDocumentWriter;
+import com.college.icrs.rag.VectorBatchWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.VectorStore;
 
 import java.nio.file.Path;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -25,7 +30,10 @@ class GrievanceVectorImportServiceTest {
         GrievanceVectorImportService service = new GrievanceVectorImportService(
                 new ObjectMapper(),
                 vectorStore,
-                new GrievanceVectorDocumentFactory()
+                new GrievanceVectorDocumentFactory(),
+                new VectorBatchWriter(vectorStore, new IcrsProperties()),
+                mock(EmbeddingModel.class),
+                mock(PgVectorDocumentWriter.class)
         );
 
         Path file = tempDir.resolve("historical.json");
@@ -51,4 +59,67 @@ class GrievanceVectorImportServiceTest {
                 .containsEntry("commentSummary",
                         "Student: The issue affected assignment uploads for the whole floor. | IT Helpdesk: Gateway sessions were reset and the access point was checked after the complaint.");
     }
+
+    @Test
+    void failsWithFileAndCheckpointWhenImportFileIsTruncated() throws Exception {
+        VectorStore vectorStore = mock(VectorStore.class);
+        GrievanceVectorImportService service = new GrievanceVectorImportService(
+                new ObjectMapper(),
+                vectorStore,
+                new GrievanceVectorDocumentFactory(),
+                new VectorBatchWriter(vectorStore, new IcrsProperties()),
+                mock(EmbeddingModel.class),
+                mock(PgVectorDocumentWriter.class)
+        );
+
+        Path file = tempDir.resolve("truncated.json");
+        java.nio.file.Files.writeString(file, """
+                [
+                {"documentId":"hist-001","title":"Mess food quality","description":"Food served cold at dinner."},
+                {"documentId":"hist-002","title":"Library AC""");
+
+        assertThatThrownBy(() -> service.importFile(file, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Import file is truncated: " + file)
+                .hasMessageContaining("after 1 grievance records")
+                .hasMessageContaining(GrievanceVectorImportService.checkpointPath(file).toString());
+    }
+
+    @Test
+    void resumesFromCheckpointAndRemovesItAfterCompletion() throws Exception {
+        VectorStore vectorStore = mock(VectorStore.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        GrievanceVectorImportService service = new GrievanceVectorImportService(
+                objectMapper,
+                vectorStore,
+                new GrievanceVectorDocumentFactory(),
+                new VectorBatchWriter(vectorStore, new IcrsProperties()),
+                mock(EmbeddingModel.class),
+                mock(PgVectorDocumentWriter.class)
+        );
+
+        Path file = tempDir.resolve("archive.json");
+        java.nio.file.Files.writeString(file, """
+                {"source":"archive","grievances":[
+                {"documentId":"hist-001","title":"Mess food quality","description":"Food served cold at dinner."},
+                {"documentId":"hist-002","title":"Library AC failure","description":"Reading hall AC not working."}
+                ]}
+                """);
+        Path checkpoint = GrievanceVectorImportService.checkpointPath(file);
+        objectMapper.writeValue(checkpoint.toFile(), new GrievanceVectorImportService.ImportCheckpoint(
+                java.nio.file.Files.size(file),
+                java.nio.file.Files.getLastModifiedTime(file).toMillis(),
+                1L
+        ));
+
+        GrievanceVectorImportService.ImportSummary summary = service.importFile(file, false);
+
+        org.mockito.ArgumentCaptor<List<Document>> documentsCaptor = org.mockito.ArgumentCaptor.forClass(List.class);
+        verify(vectorStore).add(documentsCaptor.capture());
+        assertThat(documentsCaptor.getValue()).extracting(Document::getId).containsExactly("hist-002");
+        assertThat(summary.resumedFrom()).isEqualTo(1L);
+        assertThat(summary.processed()).isEqualTo(2L);
+        assertThat(summary.written()).isEqualTo(1L);
+        assertThat(checkpoint).doesNotExist();
+    }
 }
@@ -0,0 +1,125 @@
+package com.college.icrs.tools;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelEmbeddingImportPipelineTest {
+
+    @Test
+    void shouldWriteChunksInSubmissionOrderWhenEmbeddingsFinishOutOfOrder() throws Exception {
+        CountDownLatch releaseFirstChunk = new CountDownLatch(1);
+        CountDownLatch secondChunkEmbedded = new CountDownLatch(1);
+        List<String> writtenIds = Collections.synchronizedList(new ArrayList<>());
+        List<Long> checkpoints = Collections.synchronizedList(new ArrayList<>());
+
+        ParallelEmbeddingImportPipeline pipeline = new ParallelEmbeddingImportPipeline(
+                2,
+                4,
+                texts -> {
+                    if (texts.contains("first")) {
+                        await(releaseFirstChunk);
+                    } else {
+                        secondChunkEmbedded.countDown();
+                    }
+                    return texts.stream().map(text -> new float[]{text.length()}).toList();
+                },
+                (documents, embeddings) -> documents.forEach(document -> writtenIds.add(document.getId())),
+                checkpoints::add
+        );
+
+        pipeline.submit(0L, 1L, List.of(document("doc-1", "first")));
+        pipeline.submit(1L, 2L, List.of(document("doc-2", "second")));
+        await(secondChunkEmbedded);
+        Thread.sleep(50L);
+
+        assertThat(writtenIds).isEmpty();
+        assertThat(checkpoints).isEmpty();
+
+        releaseFirstChunk.countDown();
+        pipeline.finish();
+
+        assertThat(writtenIds).containsExactly("doc-1", "doc-2");
+        assertThat(checkpoints).containsExactly(1L, 2L);
+        assertThat(pipeline.written()).isEqualTo(2L);
+        assertThat(pipeline.batches()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailWithoutWritingPastAChunkWhoseEmbeddingFailed() throws Exception {
+        List<String> writtenIds = Collections.synchronizedList(new ArrayList<>());
+        List<Long> checkpoints = Collections.synchronizedList(new ArrayList<>());
+        ParallelEmbeddingImportPipeline pipeline = new ParallelEmbeddingImportPipeline(
+                2,
+                1,
+                texts -> {
+                    if (texts.contains("broken")) {
+                        throw new IllegalStateException("embedding failed");
+                    }
+                    return texts.stream().map(text -> new float[]{text.length()}).toList();
+                },
+                (documents, embeddings) -> documents.forEach(document -> writtenIds.add(document.getId())),
+                checkpoints::add
+        );
+
+        pipeline.submit(0L, 1L, List.of(document("doc-1", "first")));
+        pipeline.submit(1L, 2L, List.of(document("doc-2", "broken")));
+        assertThatThrownBy(() -> {
+            for (long sequence = 2L; sequence < 10L; sequence++) {
+                pipeline.submit(sequence, sequence + 1L, List.of(document("doc-" + (sequence + 1L), "later")));
+            }
+            pipeline.finish();
+        }).hasMessage("embedding failed");
+
+        pipeline.shutdownNow();
+        // doc-1 may or may not land before the failure is seen, but nothing after the failed chunk is written.
+        assertThat(writtenIds).isSubsetOf("doc-1");
+        assertThat(checkpoints).isSubsetOf(1L);
+    }
+
+    @Test
+    void shouldStopWorkersAndWriterOnShutdownNow() throws Exception {
+        CountDownLatch embedding = new CountDownLatch(1);
+        List<String> writtenIds = Collections.synchronizedList(new ArrayList<>());
+        ParallelEmbeddingImportPipeline pipeline = new ParallelEmbeddingImportPipeline(
+                1,
+                1,
+                texts -> {
+                    embedding.countDown();
+                    await(new CountDownLatch(1));
+                    return texts.stream().map(text -> new float[]{text.length()}).toList();
+                },
+                (documents, embeddings) -> documents.forEach(document -> writtenIds.add(document.getId())),
+                position -> {
+                }
+        );
+
+        pipeline.submit(0L, 1L, List.of(document("doc-1", "first")));
+        await(embedding);
+        pipeline.shutdownNow();
+
+        assertThat(writtenIds).isEmpty();
+        assertThatThrownBy(() -> pipeline.submit(1L, 2L, List.of(document("doc-2", "second"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Document document(String id, String text) {
+        return Document.builder().id(id).text(text).build();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
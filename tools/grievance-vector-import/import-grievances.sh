@@ -23,4 +23,5 @@ fi
 cd "${PROJECT_DIR}"
 ./gradlew importGrievanceVectors \
   -PgrievanceImportFile="${IMPORT_FILE}" \
-  -PgrievanceImportReplaceExisting="${REPLACE_EXISTING}"
+  -PgrievanceImportReplaceExisting="${REPLACE_EXISTING}" \
+  -PgrievanceImportParallelism="${GRIEVANCE_IMPORT_PARALLELISM:-1}"